@@ -0,0 +1,82 @@
+package io.github.bellxalli.centroidFinder.bench;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar.
+ *
+ * Runs the selected JMH benchmarks with the GC profiler attached and then prints a
+ * summary with the two numbers we compare engines on:
+ *  ns/pixel    – average time per operation divided by the frame's pixel count
+ *  bytes/frame – gc.alloc.rate.norm, the bytes allocated per operation
+ *
+ * Any regular JMH command-line option is accepted and passed through, for example:
+ *   java -jar benchmarks/target/benchmarks.jar GroupFinderBenchmark -p resolution=1080p
+ *
+ * Build:
+ *   mvn -f processor/pom.xml install -DskipTests
+ *   mvn -f benchmarks/pom.xml package
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        System.out.println();
+        System.out.println(String.format("%-45s %-50s %12s %16s",
+                "Benchmark", "Parameters", "ns/pixel", "bytes/frame"));
+        for (RunResult result : results) {
+            printRow(result);
+        }
+    }
+
+    private static void printRow(RunResult result) {
+        BenchmarkParams params = result.getParams();
+        String name = params.getBenchmark();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+
+        String resolution = params.getParam("resolution");
+        long pixels = 1; // benchmarks without a frame already report per pixel
+        if (resolution != null) {
+            int[] size = FrameFixtures.dimensions(resolution);
+            pixels = (long) size[0] * size[1];
+        }
+
+        double nanosPerOp = result.getPrimaryResult().getScore()
+                * TimeUnit.NANOSECONDS.convert(1, params.getTimeUnit());
+        double bytesPerOp = Double.NaN;
+        for (String label : result.getSecondaryResults().keySet()) {
+            if (label.endsWith("gc.alloc.rate.norm")) {
+                Result<?> allocation = result.getSecondaryResults().get(label);
+                bytesPerOp = allocation.getScore();
+            }
+        }
+
+        StringBuilder parameters = new StringBuilder();
+        for (String key : params.getParamsKeys()) {
+            if (parameters.length() > 0) parameters.append(' ');
+            parameters.append(key).append('=').append(params.getParam(key));
+        }
+
+        System.out.println(String.format("%-45s %-50s %12.3f %16.0f",
+                name,
+                parameters.length() == 0 ? "-" : parameters,
+                nanosPerOp / pixels,
+                bytesPerOp));
+    }
+}
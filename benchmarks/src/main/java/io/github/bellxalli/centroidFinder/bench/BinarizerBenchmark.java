@@ -0,0 +1,79 @@
+package io.github.bellxalli.centroidFinder.bench;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.bellxalli.centroidFinder.BinaryMask;
+import io.github.bellxalli.centroidFinder.DistanceImageBinarizer;
+import io.github.bellxalli.centroidFinder.EuclideanColorDistance;
+import io.github.bellxalli.centroidFinder.ImageBinarizer;
+import io.github.bellxalli.centroidFinder.LookupTableImageBinarizer;
+
+/**
+ * Measures ImageBinarizer.toBinaryArray on one synthetic frame for each binarizer engine.
+ * One operation is one frame; BenchmarkRunner divides by the pixel count to report ns/pixel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinarizerBenchmark {
+
+    @Param({"distance", "lookup"})
+    public String engine;
+
+    @Param({"480p", "720p", "1080p", "2160p"})
+    public String resolution;
+
+    @Param({"0.01", "0.1", "0.3", "0.6"})
+    public double density;
+
+    @Param({"1", "16", "256"})
+    public int blobs;
+
+    private ImageBinarizer binarizer;
+    private BufferedImage frame;
+
+    @Setup
+    public void setup() {
+        int[] size = FrameFixtures.dimensions(resolution);
+        frame = FrameFixtures.frame(size[0], size[1], density, blobs);
+        binarizer = createBinarizer(engine);
+    }
+
+    @Benchmark
+    public int[][] toBinaryArray() {
+        return binarizer.toBinaryArray(frame);
+    }
+
+    @Benchmark
+    public BinaryMask toBinaryMask() {
+        return binarizer.toBinaryMask(frame);
+    }
+
+    static ImageBinarizer createBinarizer(String engine) {
+        EuclideanColorDistance distance = new EuclideanColorDistance();
+        switch (engine) {
+            case "distance":
+                return new DistanceImageBinarizer(distance, FrameFixtures.TARGET_COLOR, FrameFixtures.THRESHOLD);
+            case "lookup":
+                return new LookupTableImageBinarizer(distance, FrameFixtures.TARGET_COLOR, FrameFixtures.THRESHOLD);
+            default:
+                throw new IllegalArgumentException("Unknown binarizer engine: " + engine);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.bellxalli.centroidFinder.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.bellxalli.centroidFinder.ColorDistanceFinder;
+import io.github.bellxalli.centroidFinder.ColorMatcher;
+import io.github.bellxalli.centroidFinder.EuclideanColorDistance;
+
+/**
+ * Measures a single EuclideanColorDistance.distance call and the equivalent
+ * ColorMatcher.matches call, i.e. the per-pixel cost paid by DistanceImageBinarizer. One operation is one pixel, so the reported
+ * score is already in ns/pixel and gc.alloc.rate.norm is bytes/pixel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorDistanceBenchmark {
+
+    private static final int PIXELS = 4096;
+
+    private final ColorDistanceFinder distanceFinder = new EuclideanColorDistance();
+    private final ColorMatcher matcher = distanceFinder.matcher(FrameFixtures.TARGET_COLOR, FrameFixtures.THRESHOLD);
+    private int[] colors;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(334L);
+        colors = new int[PIXELS];
+        for (int i = 0; i < PIXELS; i++) {
+            colors[i] = random.nextInt(0x1000000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIXELS)
+    public void distance(Blackhole blackhole) {
+        for (int color : colors) {
+            blackhole.consume(distanceFinder.distance(color, FrameFixtures.TARGET_COLOR));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIXELS)
+    public void matches(Blackhole blackhole) {
+        for (int color : colors) {
+            blackhole.consume(matcher.matches(color));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.bellxalli.centroidFinder.bench;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.bellxalli.centroidFinder.CsvResultWriter;
+
+/**
+ * Measures writing one CSV row of VideoProcessor's output, with String.format through a
+ * BufferedWriter (the old way) and with CsvResultWriter. One operation is one row, so the
+ * score is ns/row and gc.alloc.rate.norm is bytes/row.
+ *
+ * Rows go to /dev/null where it exists, so the file system doesn't fill up or dominate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvWriterBenchmark {
+
+    private static final int ROWS = 4096;
+    private static final double FPS = 30000.0 / 1001;
+
+    private File file;
+    private BufferedWriter bufferedWriter;
+    private CsvResultWriter resultWriter;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        file = new File("/dev/null");
+        if (!file.exists()) {
+            file = File.createTempFile("csv-bench", ".csv");
+            file.deleteOnExit();
+        }
+        bufferedWriter = new BufferedWriter(new FileWriter(file));
+        resultWriter = new CsvResultWriter(file);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        bufferedWriter.close();
+        resultWriter.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void stringFormat() throws IOException {
+        for (int frame = 0; frame < ROWS; frame++) {
+            bufferedWriter.write(String.format("%.3f,%d,%d\n", frame / FPS, frame % 1920, frame % 1080));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void resultWriter() throws IOException {
+        for (int frame = 0; frame < ROWS; frame++) {
+            resultWriter.writeRow(frame / FPS, frame % 1920, frame % 1080);
+        }
+    }
+}
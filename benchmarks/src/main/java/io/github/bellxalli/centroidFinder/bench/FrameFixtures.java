@@ -0,0 +1,146 @@
+package io.github.bellxalli.centroidFinder.bench;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.Random;
+
+import org.jcodec.common.model.ColorSpace;
+import org.jcodec.common.model.Picture;
+import org.jcodec.scale.AWTUtil;
+
+/**
+ * Builds deterministic synthetic frames for the benchmarks.
+ *
+ * A frame is split into a square grid with one cell per blob. Each blob is a filled
+ * rectangle of the target color centered in its cell, sized so that all blobs together
+ * cover the requested foreground density of the frame. Every other pixel is random
+ * background noise that is guaranteed to be far from the target color, so the binarized
+ * mask has exactly the requested number of groups.
+ *
+ * Blob counts must be perfect squares (1, 16, 256, ...) so the grid divides evenly.
+ */
+public final class FrameFixtures {
+
+    /** Target color used by every fixture (a salamander-ish orange). */
+    public static final int TARGET_COLOR = 0xFFA200;
+
+    /** Threshold used by every fixture; background noise is always further away than this. */
+    public static final int THRESHOLD = 60;
+
+    private static final long SEED = 334L;
+
+    private FrameFixtures() {}
+
+    /**
+     * Returns the width and height for a named resolution.
+     *
+     * @param resolution one of 480p, 720p, 1080p or 2160p
+     * @return an int[] of length 2 where index 0 = width and index 1 = height
+     */
+    public static int[] dimensions(String resolution) {
+        switch (resolution) {
+            case "480p":  return new int[]{640, 480};
+            case "720p":  return new int[]{1280, 720};
+            case "1080p": return new int[]{1920, 1080};
+            case "2160p": return new int[]{3840, 2160};
+            default: throw new IllegalArgumentException("Unknown resolution: " + resolution);
+        }
+    }
+
+    /**
+     * Builds a TYPE_3BYTE_BGR frame (the type AWTUtil.toBufferedImage produces) with
+     * the requested blobs painted in the target color over background noise.
+     *
+     * @param width frame width in pixels
+     * @param height frame height in pixels
+     * @param density fraction of the frame covered by blobs, between 0 and 1
+     * @param blobs number of blobs, must be a perfect square
+     * @return the synthetic frame
+     */
+    public static BufferedImage frame(int width, int height, double density, int blobs) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        byte[] bgr = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+
+        // background: dark blue-ish noise, always more than THRESHOLD away from orange
+        Random random = new Random(SEED);
+        for (int i = 0; i < bgr.length; i += 3) {
+            bgr[i] = (byte) (64 + random.nextInt(192)); // blue
+            bgr[i + 1] = (byte) random.nextInt(96);      // green
+            bgr[i + 2] = (byte) random.nextInt(96);      // red
+        }
+
+        boolean[][] mask = mask(width, height, density, blobs);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (mask[y][x]) {
+                    image.setRGB(x, y, TARGET_COLOR);
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Builds the same frame as {@link #frame} as a YUV420 Picture, the form the H.264
+     * decoder hands to VideoProcessor.
+     *
+     * @param width frame width in pixels, must be even
+     * @param height frame height in pixels, must be even
+     * @param density fraction of the frame covered by blobs, between 0 and 1
+     * @param blobs number of blobs, must be a perfect square
+     * @return the synthetic decoded frame
+     */
+    public static Picture picture(int width, int height, double density, int blobs) {
+        return AWTUtil.fromBufferedImage(frame(width, height, density, blobs), ColorSpace.YUV420);
+    }
+
+    /**
+     * Builds the binary mask matching {@link #frame}, as the int[][] the group finders consume.
+     *
+     * @param width frame width in pixels
+     * @param height frame height in pixels
+     * @param density fraction of the frame covered by blobs, between 0 and 1
+     * @param blobs number of blobs, must be a perfect square
+     * @return a rectangular array of 0s and 1s
+     */
+    public static int[][] binaryArray(int width, int height, double density, int blobs) {
+        boolean[][] mask = mask(width, height, density, blobs);
+        int[][] binary = new int[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                binary[y][x] = mask[y][x] ? 1 : 0;
+            }
+        }
+        return binary;
+    }
+
+    private static boolean[][] mask(int width, int height, double density, int blobs) {
+        int grid = (int) Math.round(Math.sqrt(blobs));
+        if (grid * grid != blobs) {
+            throw new IllegalArgumentException("Blob count must be a perfect square: " + blobs);
+        }
+        if (density <= 0 || density >= 1) {
+            throw new IllegalArgumentException("Density must be between 0 and 1: " + density);
+        }
+
+        int cellWidth = width / grid;
+        int cellHeight = height / grid;
+        // scale both sides by sqrt(density) so each blob covers `density` of its cell
+        int blobWidth = Math.max(1, (int) Math.round(cellWidth * Math.sqrt(density)));
+        int blobHeight = Math.max(1, (int) Math.round(cellHeight * Math.sqrt(density)));
+
+        boolean[][] mask = new boolean[height][width];
+        for (int gy = 0; gy < grid; gy++) {
+            for (int gx = 0; gx < grid; gx++) {
+                int left = gx * cellWidth + (cellWidth - blobWidth) / 2;
+                int top = gy * cellHeight + (cellHeight - blobHeight) / 2;
+                for (int y = top; y < top + blobHeight; y++) {
+                    for (int x = left; x < left + blobWidth; x++) {
+                        mask[y][x] = true;
+                    }
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.bellxalli.centroidFinder.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.bellxalli.centroidFinder.BinaryGroupFinder;
+import io.github.bellxalli.centroidFinder.BinaryMask;
+import io.github.bellxalli.centroidFinder.Group;
+import io.github.bellxalli.centroidFinder.GroupFinderFactory;
+
+/**
+ * Measures BinaryGroupFinder.findConnectedGroups and findLargestGroups on one synthetic binary mask for each
+ * labeling engine, selected by the same names as the --finder command-line option.
+ * One operation is one frame; BenchmarkRunner divides by the pixel count to report ns/pixel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupFinderBenchmark {
+
+    @Param({"dfs", "union-find", "runs", "parallel"})
+    public String engine;
+
+    @Param({"480p", "720p", "1080p", "2160p"})
+    public String resolution;
+
+    @Param({"0.01", "0.1", "0.3", "0.6"})
+    public double density;
+
+    @Param({"1", "16", "256"})
+    public int blobs;
+
+    private GroupFinderFactory factory;
+    private BinaryGroupFinder groupFinder;
+    private int[][] array;
+    private BinaryMask mask;
+
+    @Setup
+    public void setup() {
+        int[] size = FrameFixtures.dimensions(resolution);
+        array = FrameFixtures.binaryArray(size[0], size[1], density, blobs);
+        mask = BinaryMask.fromArray(array);
+        factory = new GroupFinderFactory();
+        groupFinder = factory.create(engine);
+    }
+
+    /** Shuts down the parallel engine's pool, so trials do not leave threads behind. */
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public List<Group> findConnectedGroups() {
+        return groupFinder.findConnectedGroups(array);
+    }
+
+    @Benchmark
+    public List<Group> findConnectedGroupsInMask() {
+        return groupFinder.findConnectedGroups(mask);
+    }
+
+    /** The video path: only the largest group of each frame is needed. */
+    @Benchmark
+    public List<Group> findLargestGroupInMask() {
+        return groupFinder.findLargestGroups(mask, 1);
+    }
+}
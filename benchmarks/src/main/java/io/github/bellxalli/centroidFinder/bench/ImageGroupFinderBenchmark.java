@@ -0,0 +1,85 @@
+package io.github.bellxalli.centroidFinder.bench;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.bellxalli.centroidFinder.EuclideanColorDistance;
+import io.github.bellxalli.centroidFinder.FrameContext;
+import io.github.bellxalli.centroidFinder.Group;
+import io.github.bellxalli.centroidFinder.GroupFinderFactory;
+import io.github.bellxalli.centroidFinder.ImageGroupFinder;
+
+/**
+ * Measures a whole frame going from pixels to groups (binarize + label), i.e. the per-frame
+ * analysis cost in VideoProcessor, for each engine accepted by the --finder option.
+ * One operation is one frame; BenchmarkRunner divides by the pixel count to report ns/pixel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageGroupFinderBenchmark {
+
+    @Param({"dfs", "runs", "fused", "tracking", "pyramid"})
+    public String engine;
+
+    @Param({"480p", "1080p", "2160p"})
+    public String resolution;
+
+    @Param({"0.01", "0.3"})
+    public double density;
+
+    @Param({"1", "256"})
+    public int blobs;
+
+    private ImageGroupFinder groupFinder;
+    private BufferedImage frame;
+    private FrameContext context;
+
+    @Setup
+    public void setup() {
+        int[] size = FrameFixtures.dimensions(resolution);
+        frame = FrameFixtures.frame(size[0], size[1], density, blobs);
+        groupFinder = new GroupFinderFactory().createImageFinder(
+                engine, new EuclideanColorDistance(), FrameFixtures.TARGET_COLOR, FrameFixtures.THRESHOLD);
+        context = new FrameContext();
+    }
+
+    @Benchmark
+    public List<Group> findConnectedGroups() {
+        return groupFinder.findConnectedGroups(frame);
+    }
+
+    /**
+     * The video path: only the largest group is needed. The frame never changes, so after
+     * the first call the tracking engine always answers from its window.
+     */
+    @Benchmark
+    public List<Group> findLargestGroup() {
+        return groupFinder.findLargestGroups(frame, 1);
+    }
+
+    /**
+     * The video path as VideoProcessor runs it: the largest group, with buffers recycled
+     * from frame to frame. Compare bytes/frame with findLargestGroup.
+     */
+    @Benchmark
+    public List<Group> findLargestGroupReusingContext() {
+        return groupFinder.findLargestGroups(frame, 1, context);
+    }
+}
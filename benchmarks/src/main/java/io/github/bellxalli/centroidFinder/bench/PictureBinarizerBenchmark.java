@@ -0,0 +1,65 @@
+package io.github.bellxalli.centroidFinder.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jcodec.common.model.Picture;
+import org.jcodec.scale.AWTUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.bellxalli.centroidFinder.BinaryMask;
+import io.github.bellxalli.centroidFinder.DistanceImageBinarizer;
+import io.github.bellxalli.centroidFinder.EuclideanColorDistance;
+import io.github.bellxalli.centroidFinder.YuvPictureBinarizer;
+
+/**
+ * Measures turning a decoded YUV420 frame into a BinaryMask: either the RGB path
+ * (AWTUtil.toBufferedImage, then DistanceImageBinarizer) or YuvPictureBinarizer on the planes.
+ * One operation is one frame; BenchmarkRunner divides by the pixel count to report ns/pixel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PictureBinarizerBenchmark {
+
+    @Param({"rgb", "yuv"})
+    public String engine;
+
+    @Param({"480p", "1080p", "2160p"})
+    public String resolution;
+
+    @Param({"0.01", "0.3"})
+    public double density;
+
+    private Picture picture;
+    private DistanceImageBinarizer rgb;
+    private YuvPictureBinarizer yuv;
+
+    @Setup
+    public void setup() {
+        int[] size = FrameFixtures.dimensions(resolution);
+        picture = FrameFixtures.picture(size[0], size[1], density, 16);
+        EuclideanColorDistance distance = new EuclideanColorDistance();
+        rgb = new DistanceImageBinarizer(distance, FrameFixtures.TARGET_COLOR, FrameFixtures.THRESHOLD);
+        yuv = new YuvPictureBinarizer(distance, FrameFixtures.TARGET_COLOR, FrameFixtures.THRESHOLD);
+        yuv.toBinaryMask(picture); // builds the luma ranges outside the measurement
+    }
+
+    @Benchmark
+    public BinaryMask toBinaryMask() {
+        if (engine.equals("yuv")) return yuv.toBinaryMask(picture);
+        return rgb.toBinaryMask(AWTUtil.toBufferedImage(picture));
+    }
+}
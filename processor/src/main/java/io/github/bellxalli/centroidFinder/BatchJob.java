@@ -0,0 +1,15 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.File;
+
+/**
+ * One video for a BatchProcessor to process: which video, what to look for, and where to
+ * write the results.
+ *
+ * @param video the video file to process
+ * @param targetColor the target color as 0xRRGGBB
+ * @param threshold the distance threshold
+ * @param output the CSV (or binary results) file to write
+ */
+public record BatchJob(File video, int targetColor, int threshold, File output) {
+}
@@ -0,0 +1,238 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Processes many videos in one JVM on a bounded pool of worker threads.
+ *
+ * Running VideoSummaryApp once per video pays for JVM startup, class loading and JIT
+ * warm-up every time, and each run uses one core. A BatchProcessor runs every job on one
+ * of a fixed number of workers, so the warm, compiled code is shared by all the videos,
+ * as many videos are processed at once as there are workers, and each worker recycles one
+ * FrameContext from video to video. Each job is processed exactly as VideoProcessor would
+ * process it alone, and a job that fails is reported without stopping the others.
+ *
+ * Jobs come from a manifest (see readManifest) or from every video in a directory (see
+ * directoryJobs).
+ */
+public class BatchProcessor {
+
+    /** The file extensions directoryJobs treats as videos. */
+    public static final List<String> VIDEO_EXTENSIONS = List.of(".mp4", ".m4v", ".mov");
+
+    private final GroupFinderFactory factory;
+    private final String finderName;
+    private final int threads;
+    private boolean binaryOutput;
+
+    /**
+     * Constructs a BatchProcessor.
+     *
+     * @param factory the factory that builds every job's group finder
+     * @param finderName the name of the group finder engine, as for VideoSummaryApp's --finder
+     * @param threads the number of videos processed at once, at least 1
+     * @throws IllegalArgumentException if threads is less than 1 or the finder name is unknown
+     */
+    public BatchProcessor(GroupFinderFactory factory, String finderName, int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Threads must be at least 1!");
+        if (!factory.isKnown(finderName))
+            throw new IllegalArgumentException("Unknown group finder: " + finderName + "!");
+        this.factory = factory;
+        this.finderName = finderName;
+        this.threads = threads;
+    }
+
+    /**
+     * @return the number of videos processed at once
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Chooses whether every job writes the compact binary format of BinaryResultWriter
+     * instead of a CSV, like VideoProcessor.setBinaryOutput.
+     *
+     * @param binaryOutput true to write binary results, false (the default) to write CSVs
+     */
+    public void setBinaryOutput(boolean binaryOutput) {
+        this.binaryOutput = binaryOutput;
+    }
+
+    /**
+     * Runs every job and waits for all of them to finish.
+     *
+     * @param jobs the jobs to run
+     * @return the result of every job, in the order the jobs were given
+     */
+    public List<BatchResult> run(List<BatchJob> jobs) {
+        return run(jobs, result -> {});
+    }
+
+    /**
+     * Runs every job and waits for all of them to finish, reporting each result as soon as
+     * its job finishes.
+     *
+     * @param jobs the jobs to run
+     * @param onFinished called with each job's result as it finishes, from the worker that
+     *                   ran it, so possibly from several threads at once
+     * @return the result of every job, in the order the jobs were given
+     */
+    public List<BatchResult> run(List<BatchJob> jobs, Consumer<BatchResult> onFinished) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // each worker recycles its buffers from one video to the next
+        ThreadLocal<FrameContext> contexts = ThreadLocal.withInitial(FrameContext::new);
+
+        try
+        {
+            List<Future<BatchResult>> pending = new ArrayList<>(jobs.size());
+            for (BatchJob job : jobs)
+            {
+                pending.add(pool.submit(() -> {
+                    BatchResult result = runJob(job, contexts.get(), null);
+                    onFinished.accept(result);
+                    return result;
+                }));
+            }
+
+            List<BatchResult> results = new ArrayList<>(jobs.size());
+            for (Future<BatchResult> result : pending)
+                results.add(result.get());
+            return results;
+        }
+        catch (ExecutionException e)
+        {
+            // runJob catches every job's own exception, so only an Error or onFinished can get here
+            Throwable cause = e.getCause();
+            if (cause instanceof Error error) throw error;
+            throw new RuntimeException("Error reporting batch result: " + cause.getMessage(), cause);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch processing was interrupted", e);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Processes one video with a sequential VideoProcessor, catching any exception. Errors
+     * such as OutOfMemoryError are not a failure of the job and propagate.
+     *
+     * @param job the job
+     * @param context the calling worker's recycled buffers
+     * @param progress receives the job's progress reports, or null for none
+     * @return the job's result
+     */
+    BatchResult runJob(BatchJob job, FrameContext context, ProgressListener progress) {
+        long start = System.nanoTime();
+        try
+        {
+            ImageGroupFinder finder = factory.createImageFinder(finderName, new EuclideanColorDistance(), job.targetColor(), job.threshold());
+            VideoProcessor processor = new VideoProcessor(finder);
+            processor.setBinaryOutput(binaryOutput);
+            processor.setFrameContext(context);
+            processor.setProgressListener(progress);
+
+            File parent = job.output().getAbsoluteFile().getParentFile();
+            if (parent != null) parent.mkdirs();
+            if (!job.video().isFile())
+                throw new IOException("Video not found: " + job.video().getPath());
+
+            processor.processVideo(job.video(), job.output());
+            return new BatchResult(job, processor.getFramesProcessed(), System.nanoTime() - start, null);
+        }
+        catch (Exception e)
+        {
+            return new BatchResult(job, 0, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Reads the jobs of a manifest: one job per line, as video,targetColor,threshold,output.
+     * The color may be written as for VideoSummaryApp (#RRGGBB, 0xRRGGBB or RRGGBB). Blank
+     * lines and lines starting with # are skipped, and relative paths are resolved against
+     * the manifest's directory.
+     *
+     * @param manifest the manifest file
+     * @return the jobs, in the order listed
+     * @throws IOException if the manifest can't be read
+     * @throws IllegalArgumentException if a line isn't a valid job
+     */
+    public static List<BatchJob> readManifest(File manifest) throws IOException {
+        File base = manifest.getAbsoluteFile().getParentFile();
+        List<String> lines = Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8);
+        List<BatchJob> jobs = new ArrayList<>();
+        ValidateVideo validate = new ValidateVideo();
+        for (int i = 0; i < lines.size(); i++)
+        {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] fields = line.split(",");
+            int[] colorAndThreshold = fields.length == 4 ? validate.validateColorAndThreshold(fields[1].trim(), fields[2].trim()) : null;
+            if (colorAndThreshold == null || fields[0].isBlank() || fields[3].isBlank())
+                throw new IllegalArgumentException("Manifest line " + (i + 1) + " must be video,targetColor,threshold,output!");
+
+            jobs.add(new BatchJob(resolve(base, fields[0].trim()), colorAndThreshold[0], colorAndThreshold[1],
+                resolve(base, fields[3].trim())));
+        }
+        return jobs;
+    }
+
+    /**
+     * Makes a job for every video in a directory, in name order, all looking for the same
+     * target. Each video's results go to outputDirectory, named after the video with .csv
+     * (or, for binary output, .bin) in place of its extension.
+     *
+     * @param directory the directory of videos
+     * @param outputDirectory where to write the results
+     * @param targetColor the target color as 0xRRGGBB
+     * @param threshold the distance threshold
+     * @param binary whether the outputs are binary results rather than CSVs
+     * @return the jobs
+     * @throws IOException if the directory can't be listed
+     */
+    public static List<BatchJob> directoryJobs(File directory, File outputDirectory, int targetColor, int threshold,
+                                               boolean binary) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) throw new IOException("Not a directory: " + directory.getPath());
+        Arrays.sort(files);
+
+        List<BatchJob> jobs = new ArrayList<>();
+        for (File file : files)
+        {
+            String name = file.getName();
+            int dot = name.lastIndexOf('.');
+            if (!file.isFile() || dot <= 0 || !VIDEO_EXTENSIONS.contains(name.substring(dot).toLowerCase(Locale.ROOT)))
+                continue;
+            File output = new File(outputDirectory, name.substring(0, dot) + (binary ? ".bin" : ".csv"));
+            jobs.add(new BatchJob(file, targetColor, threshold, output));
+        }
+        return jobs;
+    }
+
+    private static File resolve(File base, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(base, path);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * The outcome of one BatchJob.
+ *
+ * @param job the job
+ * @param frames the number of frames processed, 0 if the job failed
+ * @param elapsedNanos how long the job took, in nanoseconds
+ * @param error why the job failed, or null if it succeeded
+ */
+public record BatchResult(BatchJob job, int frames, long elapsedNanos, Throwable error) {
+
+    /** The first line of every batch report CSV. */
+    public static final String CSV_HEADER = "Video, Output, Status, Frames, Seconds, Frames per second, Error\n";
+
+    /**
+     * @return whether the job succeeded
+     */
+    public boolean succeeded() {
+        return error == null;
+    }
+
+    /**
+     * @return the frames processed per second of the job's own time
+     */
+    public double framesPerSecond() {
+        return elapsedNanos == 0 ? 0 : frames * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return the result as a row of the batch report CSV, without a line break
+     */
+    public String toCsvRow() {
+        String message = error == null ? "" : String.valueOf(error.getMessage());
+        return String.format("%s,%s,%s,%d,%.3f,%.1f,%s", quote(job.video().getPath()), quote(job.output().getPath()),
+            succeeded() ? "ok" : "failed", frames, elapsedNanos / 1e9, framesPerSecond(), quote(message));
+    }
+
+    // paths and messages may contain commas, quotes or line breaks
+    private static String quote(String text) {
+        return "\"" + text.replace("\"", "\"\"").replace('\n', ' ').replace('\r', ' ') + "\"";
+    }
+}
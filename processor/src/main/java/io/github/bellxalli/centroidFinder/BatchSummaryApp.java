@@ -0,0 +1,167 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line application for processing many videos in one run with BatchProcessor.
+ *
+ * The jobs come either from a manifest, one job per line as
+ * video,targetColor,threshold,output:
+ *  java -cp videoprocessor.jar io.github.bellxalli.centroidFinder.BatchSummaryApp jobs.txt
+ * or from every .mp4, .m4v and .mov video in a directory, all tracking the same target:
+ *  java -cp videoprocessor.jar io.github.bellxalli.centroidFinder.BatchSummaryApp videos/ results/ 0xFF0000 60
+ *
+ * Optional flags may follow either form:
+ *  --threads=N – videos processed at once (default: available processors)
+ *  --finder=NAME – group finder engine, as for VideoSummaryApp (default: dfs)
+ *  --format=binary – write the compact binary results format instead of CSVs
+ *  --report=FILE – also write every job's outcome to a CSV report
+ *
+ * Every job's outcome is printed as soon as it finishes, followed by a summary of how
+ * many jobs succeeded and the total throughput in frames per second.
+ */
+public class BatchSummaryApp {
+
+    /**
+     * Entry point for the batch application.
+     *
+     * If invalid arguments are supplied, an error or usage instructions are printed and
+     * the program exits without processing.
+     *
+     * Command-line arguments:
+     *   args[0] – manifest file, or directory of videos
+     *   args[1..3] – for a directory: output directory, target color and threshold
+     *   remaining – optional --name=value flags
+     */
+    public static void main(String[] args)
+    {
+        if(args.length < 1 || args[0].startsWith("--"))
+        {
+            printUsage();
+            return;
+        }
+
+        File source = new File(args[0]);
+        boolean directory = source.isDirectory();
+        int positional = directory ? 4 : 1;
+        if(args.length < positional)
+        {
+            printUsage();
+            return;
+        }
+        if(!directory && !source.isFile())
+        {
+            System.out.println("Manifest or video directory not found: " + source.getPath());
+            return;
+        }
+
+        //validating and getting optional flags
+        ValidateOptions validateOptions = new ValidateOptions();
+        Map<String, String> options = validateOptions.parseOptions(args, positional);
+        if(options == null) return;
+        Integer threads = validateOptions.positiveInt(options, "threads", Runtime.getRuntime().availableProcessors());
+        if(threads == null) return;
+        String format = options.getOrDefault("format", "csv");
+        if(!format.equals("csv") && !format.equals("binary"))
+        {
+            System.out.println("Unknown output format: " + format + ". Use csv or binary.");
+            return;
+        }
+        boolean binary = format.equals("binary");
+        String finderName = options.getOrDefault("finder", GroupFinderFactory.DEFAULT_FINDER);
+        GroupFinderFactory factory = new GroupFinderFactory();
+        if(!factory.isKnown(finderName))
+        {
+            System.out.println(GroupFinderFactory.unknownMessage(finderName));
+            return;
+        }
+
+        //reading the jobs
+        List<BatchJob> jobs;
+        try
+        {
+            if(directory)
+            {
+                int[] validIntInputs = new ValidateVideo().validateColorAndThreshold(args[2].trim(), args[3].trim());
+                if(validIntInputs == null) return;
+                jobs = BatchProcessor.directoryJobs(source, new File(args[1]), validIntInputs[0], validIntInputs[1], binary);
+            }
+            else
+            {
+                jobs = BatchProcessor.readManifest(source);
+            }
+        }
+        catch(IOException | IllegalArgumentException e)
+        {
+            System.out.println(e.getMessage());
+            return;
+        }
+        if(jobs.isEmpty())
+        {
+            System.out.println("No videos to process.");
+            return;
+        }
+
+        //running every job on the pool, reporting each as it finishes
+        long start = System.nanoTime();
+        List<BatchResult> results;
+        try(factory)
+        {
+            BatchProcessor processor = new BatchProcessor(factory, finderName, threads);
+            processor.setBinaryOutput(binary);
+            results = processor.run(jobs, BatchSummaryApp::printResult);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int succeeded = 0;
+        long frames = 0;
+        for(BatchResult result : results)
+        {
+            if(result.succeeded()) succeeded++;
+            frames += result.frames();
+        }
+        double seconds = elapsed / 1e9;
+
+        //tells me what's happened
+        System.out.println((succeeded == results.size() ? "✅" : "❌") + " Batch finished: " + succeeded + " of " + results.size() + " videos processed successfully");
+        System.out.println("   Threads: " + threads);
+        System.out.println("   Frames: " + frames);
+        System.out.println(String.format("   Time: %.1f s (%.1f frames per second)", seconds, seconds == 0 ? 0 : frames / seconds));
+
+        if(options.containsKey("report"))
+        {
+            File report = new File(options.get("report"));
+            try(CsvResultWriter writer = new CsvResultWriter(report))
+            {
+                writer.write(BatchResult.CSV_HEADER);
+                for(BatchResult result : results)
+                    writer.write(result.toCsvRow() + "\n");
+                System.out.println("   Report: " + report.getAbsolutePath());
+            }
+            catch(IOException e)
+            {
+                System.out.println("Could not write report: " + e.getMessage());
+            }
+        }
+    }
+
+    // called from the workers, so one line per call keeps the output readable
+    private static synchronized void printResult(BatchResult result)
+    {
+        if(result.succeeded())
+            System.out.println(String.format("✅ %s -> %s (%d frames, %.1f s)", result.job().video().getName(),
+                result.job().output().getPath(), result.frames(), result.elapsedNanos() / 1e9));
+        else
+            System.out.println("❌ " + result.job().video().getName() + ": " + result.error().getMessage());
+    }
+
+    private static void printUsage()
+    {
+        System.out.println("Usage: BatchSummaryApp <manifest> [--threads=N] [--finder=NAME] [--format=csv|binary] [--report=FILE]");
+        System.out.println("   or: BatchSummaryApp <videoDir> <outputDir> <targetColor> <threshold> [flags]");
+        System.out.println("Manifest lines: video,targetColor,threshold,output");
+    }
+}
@@ -7,8 +7,8 @@ import java.util.List;
  * An implementation of the ImageGroupFinder interface that first binarizes a given image and then finds
  * connected groups of white pixels using a BinaryGroupFinder.
  * 
- * This class uses an ImageBinarizer to convert an RGB image into a binary 2D array (where each pixel is either 0 or 1).
- * The BinaryGroupFinder is then applied to the binary array to locate connected groups of white pixels.
+ * This class uses an ImageBinarizer to convert an RGB image into a BinaryMask (where each pixel is either 0 or 1).
+ * The BinaryGroupFinder is then applied to the mask to locate connected groups of white pixels.
  * The connected groups are returned sorted in descending order based on the criteria defined in the Group record.
  */
 public class BinarizingImageGroupFinder implements ImageGroupFinder {
@@ -29,9 +29,9 @@ public class BinarizingImageGroupFinder implements ImageGroupFinder {
     /**
      * Finds connected groups of white pixels in the given image.
      * 
-     * The method first converts the input BufferedImage into a binary array using the ImageBinarizer.
+     * The method first converts the input BufferedImage into a BinaryMask using the ImageBinarizer.
      * White pixels are represented by 1 and black pixels by 0. It then uses the BinaryGroupFinder to
-     * locate connected groups (neighbors connected vertically and horizontally) within the binary array.
+     * locate connected groups (neighbors connected vertically and horizontally) within the mask.
      * The identified groups are returned in descending order, according to the sorting defined in the Group record.
      *
      * @param image the input BufferedImage to process
@@ -40,9 +40,50 @@ public class BinarizingImageGroupFinder implements ImageGroupFinder {
     @Override
     public List<Group> findConnectedGroups(BufferedImage image) {
         
-        int[][] binaryArray = binarizer.toBinaryArray(image);
-        List<Group> groups = groupFinder.findConnectedGroups(binaryArray);
+        BinaryMask mask = binarizer.toBinaryMask(image);
+        List<Group> groups = groupFinder.findConnectedGroups(mask);
         
         return groups;
     }
+
+    /**
+     * Finds only the k greatest groups of white pixels in the given image, letting the
+     * BinaryGroupFinder skip building and sorting the full list of groups.
+     *
+     * @param image the input BufferedImage to process
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups sorted in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BufferedImage image, int k) {
+        return groupFinder.findLargestGroups(binarizer.toBinaryMask(image), k);
+    }
+
+    /**
+     * Finds only the k greatest groups of white pixels in the given image, binarizing and
+     * labeling it in buffers recycled from the context.
+     *
+     * @param image the input BufferedImage to process
+     * @param k the maximum number of groups to return, at least 0
+     * @param context the caller's reusable buffers
+     * @return at most k groups sorted in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BufferedImage image, int k, FrameContext context) {
+        return groupFinder.findLargestGroups(binarizer.toBinaryMask(image, context), k, context);
+    }
+
+    /**
+     * @return the binarizer, for timing it apart from the group finder
+     */
+    ImageBinarizer binarizer() {
+        return binarizer;
+    }
+
+    /**
+     * @return the group finder, for timing it apart from the binarizer
+     */
+    BinaryGroupFinder groupFinder() {
+        return groupFinder;
+    }
 }
@@ -0,0 +1,68 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.List;
+
+import org.jcodec.common.model.Picture;
+
+/**
+ * A PictureGroupFinder that binarizes a decoded frame straight from its YUV planes with a
+ * YuvPictureBinarizer and then finds connected groups of white pixels with a BinaryGroupFinder.
+ *
+ * The groups are the same as a BinarizingImageGroupFinder would find in the frame after
+ * converting it with AWTUtil, but the frame is never converted to RGB.
+ */
+public class BinarizingPictureGroupFinder implements PictureGroupFinder {
+    private final YuvPictureBinarizer binarizer;
+    private final BinaryGroupFinder groupFinder;
+
+    /**
+     * Constructs a BinarizingPictureGroupFinder using the specified binarizer and BinaryGroupFinder.
+     *
+     * @param binarizer the binarizer used to convert each frame into a BinaryMask
+     * @param groupFinder the BinaryGroupFinder used to find connected white pixel groups in the mask
+     */
+    public BinarizingPictureGroupFinder(YuvPictureBinarizer binarizer, BinaryGroupFinder groupFinder) {
+        this.binarizer = binarizer;
+        this.groupFinder = groupFinder;
+    }
+
+    /**
+     * Finds the k greatest groups of white pixels in the given frame.
+     *
+     * @param picture the decoded frame
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups sorted in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(Picture picture, int k) {
+        return groupFinder.findLargestGroups(binarizer.toBinaryMask(picture), k);
+    }
+
+    /**
+     * Finds the k greatest groups of white pixels in the given frame, binarizing and
+     * labeling it in buffers recycled from the context.
+     *
+     * @param picture the decoded frame
+     * @param k the maximum number of groups to return, at least 0
+     * @param context the caller's reusable buffers
+     * @return at most k groups sorted in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(Picture picture, int k, FrameContext context) {
+        return groupFinder.findLargestGroups(binarizer.toBinaryMask(picture, context), k, context);
+    }
+
+    /**
+     * @return the binarizer, for timing it apart from the group finder
+     */
+    YuvPictureBinarizer binarizer() {
+        return binarizer;
+    }
+
+    /**
+     * @return the group finder, for timing it apart from the binarizer
+     */
+    BinaryGroupFinder groupFinder() {
+        return groupFinder;
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.bellxalli.centroidFinder;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -36,4 +37,71 @@ public interface BinaryGroupFinder {
     * @return the found groups of connected pixels in descending order
     */
    public List<Group> findConnectedGroups(int[][] image);
-}
\ No newline at end of file
+
+   /**
+    * Finds connected pixel groups of white pixels in a BinaryMask.
+    *
+    * Connectivity, coordinates, centroids and ordering follow exactly the same rules as
+    * findConnectedGroups(int[][]); a mask and the int[][] it was made from give equal results.
+    *
+    * The default implementation adapts to findConnectedGroups(int[][]); implementations
+    * should override it to work on the mask directly.
+    *
+    * @param mask the binary image to search
+    * @return the found groups of connected pixels in descending order
+    */
+   public default List<Group> findConnectedGroups(BinaryMask mask) {
+      return findConnectedGroups(mask.toArray());
+   }
+
+   /**
+    * Finds only the k greatest connected pixel groups of 1s in an integer array, following
+    * the same validation rules as findConnectedGroups(int[][]).
+    *
+    * @param image a rectangular 2D array containing only 1s and 0s
+    * @param k the maximum number of groups to return, at least 0
+    * @return the first k groups findConnectedGroups(int[][]) would return
+    */
+   public default List<Group> findLargestGroups(int[][] image, int k) {
+      return findLargestGroups(BinaryMask.fromArray(image), k);
+   }
+
+   /**
+    * Finds only the k greatest connected groups of white pixels in a BinaryMask, where
+    * "greatest" is Group's natural order (size, then x, then y).
+    *
+    * The result always equals the first k groups of findConnectedGroups(mask), or all of
+    * them if there are fewer than k. Callers that only need the largest group (k = 1), like
+    * the video path, should use this: implementations keep the best candidates in a bounded
+    * heap and never build or sort the full list of groups.
+    *
+    * The default implementation adapts to findConnectedGroups(BinaryMask).
+    *
+    * @param mask the binary image to search
+    * @param k the maximum number of groups to return, at least 0
+    * @return at most k groups in descending order
+    * @throws IllegalArgumentException if k is negative
+    */
+   public default List<Group> findLargestGroups(BinaryMask mask, int k) {
+      if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+      List<Group> groups = findConnectedGroups(mask);
+      return groups.size() <= k ? groups : new ArrayList<>(groups.subList(0, k));
+   }
+
+   /**
+    * Finds only the k greatest connected groups of white pixels in a BinaryMask like
+    * findLargestGroups(mask, k), but with working buffers recycled from the context instead
+    * of new ones, so a video can be searched frame after frame without allocating them again.
+    *
+    * The default implementation ignores the context and calls findLargestGroups(mask, k).
+    *
+    * @param mask the binary image to search
+    * @param k the maximum number of groups to return, at least 0
+    * @param context the caller's reusable buffers
+    * @return at most k groups in descending order
+    * @throws IllegalArgumentException if k is negative
+    */
+   public default List<Group> findLargestGroups(BinaryMask mask, int k, FrameContext context) {
+      return findLargestGroups(mask, k);
+   }
+}
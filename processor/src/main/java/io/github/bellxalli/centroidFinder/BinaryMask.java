@@ -0,0 +1,127 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * A binary (black-and-white) image stored more compactly than an int[][].
+ *
+ * Each pixel is either white (set, 1) or black (clear, 0). Coordinates follow the same
+ * convention as the rest of the project: (x:0, y:0) is the top-left pixel, X increases to
+ * the right and Y increases downward.
+ *
+ * Besides single-pixel access, a mask can find the next white or black pixel in a row,
+ * which lets group finders skip over empty regions instead of visiting every pixel.
+ *
+ * Two implementations are provided: {@link PackedBinaryMask}, one bit per pixel in long
+ * words, and {@link ByteBinaryMask}, one byte per pixel in a flat array.
+ */
+public interface BinaryMask {
+
+    /**
+     * @return the number of columns in the mask
+     */
+    public int width();
+
+    /**
+     * @return the number of rows in the mask
+     */
+    public int height();
+
+    /**
+     * Returns whether the pixel at (x, y) is white.
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @return true if the pixel is white (1), false if black (0)
+     */
+    public boolean get(int x, int y);
+
+    /**
+     * Sets the pixel at (x, y) to white or black.
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @param white true for white (1), false for black (0)
+     */
+    public void set(int x, int y, boolean white);
+
+    /**
+     * Returns the column of the first white pixel in row y at or after column x.
+     *
+     * @param x the column to start searching from
+     * @param y the row to search
+     * @return the column of the next white pixel, or -1 if there is none
+     */
+    public int nextSetBit(int x, int y);
+
+    /**
+     * Returns the column of the first black pixel in row y at or after column x.
+     *
+     * @param x the column to start searching from
+     * @param y the row to search
+     * @return the column of the next black pixel, or width() if there is none
+     */
+    public int nextClearBit(int x, int y);
+
+    /**
+     * Sets every pixel to black.
+     */
+    public void clear();
+
+    /**
+     * @return an independent mask with the same dimensions and pixels
+     */
+    public BinaryMask copy();
+
+    /**
+     * Converts this mask into the int[][] representation used by ImageBinarizer and
+     * BinaryGroupFinder, where each entry is 1 (white) or 0 (black).
+     *
+     * @return a new height x width array of 0s and 1s
+     */
+    public default int[][] toArray() {
+        int[][] array = new int[height()][width()];
+        for (int y = 0; y < height(); y++) {
+            for (int x = nextSetBit(0, y); x >= 0; x = nextSetBit(x + 1, y)) {
+                array[y][x] = 1;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Creates a packed mask from an int[][] binary image.
+     *
+     * The input must follow the BinaryGroupFinder contract: a rectangular 2D array containing
+     * only 1s and 0s. If the array or any of its subarrays are null, a NullPointerException is
+     * thrown. If the array is otherwise invalid, an IllegalArgumentException is thrown.
+     *
+     * @param image a rectangular 2D array containing only 1s and 0s
+     * @return a mask with the same pixels
+     */
+    public static BinaryMask fromArray(int[][] image) {
+        if (image.length == 0) return new PackedBinaryMask(0, 0);
+
+        for (int[] row : image) {
+            if (row == null) throw new NullPointerException("Subarray is null and can't be!");
+        }
+
+        int height = image.length;
+        int width = image[0].length;
+
+        for (int[] row : image) {
+            if (row.length != width) throw new IllegalArgumentException(
+                "The image isn't rectangular in shape/The rows and columns are not equal!");
+        }
+
+        PackedBinaryMask mask = new PackedBinaryMask(width, height);
+        for (int y = 0; y < height; y++) {
+            int[] row = image[y];
+            for (int x = 0; x < width; x++) {
+                int value = row[x];
+                // if value is not 1 or 0 its invalid
+                if (value != 0 && value != 1) throw new IllegalArgumentException("Invalid value: " + value + "!");
+                if (value == 1) mask.set(x, y, true);
+            }
+        }
+        return mask;
+    }
+}
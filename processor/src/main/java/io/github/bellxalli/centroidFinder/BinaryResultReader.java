@@ -0,0 +1,269 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a binary results file written by BinaryResultWriter, in full or for a range of
+ * time, and converts it back to the CSV VideoProcessor writes.
+ *
+ * Opening a file reads only its header, footer and block index. A time-range read then
+ * seeks to the blocks whose smallest and largest timestamps overlap the range and decodes
+ * just those, so reading a few seconds of a multi-hour video touches a few kilobytes.
+ *
+ * Instances are not thread-safe.
+ */
+public class BinaryResultReader implements Closeable {
+
+    /**
+     * Receives the rows of a binary results file, in the order they were written.
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        /**
+         * Called for every row read.
+         *
+         * @param frameIndex the frame's index in the video
+         * @param timeInSeconds the frame's timestamp
+         * @param x the x of the largest group's centroid, or -1 if no group was found
+         * @param y the y of the largest group's centroid, or -1 if no group was found
+         * @param size the number of pixels in the largest group, or 0 if no group was found
+         * @throws IOException if the visitor fails to write the row somewhere
+         */
+        void visit(int frameIndex, double timeInSeconds, int x, int y, int size) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private final double fps;
+    private final long rowCount;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final double[] minTimes;
+    private final double[] maxTimes;
+    private ByteBuffer block = ByteBuffer.allocate(0);
+    private int[] frames = new int[0];
+    private double[] times = new double[0];
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private int[] sizes = new int[0];
+
+    /**
+     * Opens a binary results file and reads its block index.
+     *
+     * @param file the file to read
+     * @throws IOException if the file can't be read, or is not a complete binary results file
+     */
+    public BinaryResultReader(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length < BinaryResultWriter.HEADER_BYTES + BinaryResultWriter.FOOTER_BYTES)
+                throw new IOException("Not a binary results file: " + file.getName());
+
+            ByteBuffer header = read(0, BinaryResultWriter.HEADER_BYTES);
+            if (header.getInt() != BinaryResultWriter.MAGIC)
+                throw new IOException("Not a binary results file: " + file.getName());
+            int version = header.getInt();
+            if (version != BinaryResultWriter.VERSION)
+                throw new IOException("Unsupported binary results version " + version + ": " + file.getName());
+            this.fps = header.getDouble();
+
+            ByteBuffer footer = read(length - BinaryResultWriter.FOOTER_BYTES, BinaryResultWriter.FOOTER_BYTES);
+            long indexOffset = footer.getLong();
+            this.rowCount = footer.getLong();
+            int blocks = footer.getInt();
+            if (footer.getInt() != BinaryResultWriter.MAGIC || blocks < 0
+                    || indexOffset + (long) blocks * BinaryResultWriter.INDEX_ENTRY_BYTES != length - BinaryResultWriter.FOOTER_BYTES)
+                throw new IOException("Incomplete binary results file: " + file.getName());
+
+            ByteBuffer index = read(indexOffset, blocks * BinaryResultWriter.INDEX_ENTRY_BYTES);
+            this.offsets = new long[blocks];
+            this.lengths = new int[blocks];
+            this.minTimes = new double[blocks];
+            this.maxTimes = new double[blocks];
+            for (int i = 0; i < blocks; i++) {
+                offsets[i] = index.getLong();
+                index.getInt(); // the row count, which the block repeats
+                lengths[i] = index.getInt();
+                minTimes[i] = index.getDouble();
+                maxTimes[i] = index.getDouble();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the video's frames per second, as recorded by the writer
+     */
+    public double getFps() {
+        return fps;
+    }
+
+    /**
+     * @return the number of rows (frames) in the file
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the number of blocks in the file
+     */
+    public int getBlockCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Reads every row, in order.
+     *
+     * @param visitor receives the rows
+     * @throws IOException if reading the file fails or the visitor throws
+     */
+    public void read(RowVisitor visitor) throws IOException {
+        for (int b = 0; b < offsets.length; b++) {
+            int rows = decode(b);
+            for (int i = 0; i < rows; i++) visitor.visit(frames[i], times[i], xs[i], ys[i], sizes[i]);
+        }
+    }
+
+    /**
+     * Reads the rows whose timestamps lie between from and to, inclusive, in order. Only
+     * the blocks whose time range overlaps them are read from the file.
+     *
+     * @param from the earliest timestamp, in seconds
+     * @param to the latest timestamp, in seconds
+     * @param visitor receives the rows
+     * @throws IOException if reading the file fails or the visitor throws
+     */
+    public void read(double from, double to, RowVisitor visitor) throws IOException {
+        for (int b = 0; b < offsets.length; b++) {
+            if (maxTimes[b] < from || minTimes[b] > to) continue;
+            int rows = decode(b);
+            for (int i = 0; i < rows; i++) {
+                if (times[i] >= from && times[i] <= to)
+                    visitor.visit(frames[i], times[i], xs[i], ys[i], sizes[i]);
+            }
+        }
+    }
+
+    /**
+     * Writes the rows between from and to, inclusive, as the CSV VideoProcessor writes,
+     * header included.
+     *
+     * @param csv the CSV file to write
+     * @param from the earliest timestamp, in seconds
+     * @param to the latest timestamp, in seconds
+     * @throws IOException if reading or writing fails
+     */
+    public void writeCsv(File csv, double from, double to) throws IOException {
+        try (CsvResultWriter writer = new CsvResultWriter(csv)) {
+            writer.write(VideoProcessor.CSV_HEADER);
+            read(from, to, writer::writeFrame);
+        }
+    }
+
+    /**
+     * Writes every row as the CSV VideoProcessor writes, header included.
+     *
+     * @param csv the CSV file to write
+     * @throws IOException if reading or writing fails
+     */
+    public void writeCsv(File csv) throws IOException {
+        try (CsvResultWriter writer = new CsvResultWriter(csv)) {
+            writer.write(VideoProcessor.CSV_HEADER);
+            read(writer::writeFrame);
+        }
+    }
+
+    /**
+     * Converts a whole binary results file to the CSV VideoProcessor would have written for
+     * the same video; the two are byte for byte the same.
+     *
+     * @param binary the binary results file to read
+     * @param csv the CSV file to write
+     * @throws IOException if reading or writing fails
+     */
+    public static void toCsv(File binary, File csv) throws IOException {
+        try (BinaryResultReader reader = new BinaryResultReader(binary)) {
+            reader.writeCsv(csv);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads and decodes block b into the column arrays and returns its row count.
+     */
+    private int decode(int b) throws IOException {
+        if (block.capacity() < lengths[b]) {
+            block = ByteBuffer.allocate(lengths[b]).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        block.clear().limit(lengths[b]);
+        readFully(offsets[b], block);
+        block.flip();
+
+        int rows = block.getInt();
+        if (frames.length < rows) {
+            frames = new int[rows];
+            times = new double[rows];
+            xs = new int[rows];
+            ys = new int[rows];
+            sizes = new int[rows];
+        }
+        byte timeKind = block.get();
+        int descriptors = block.position();
+        block.position(descriptors + 4 * 9);
+
+        getColumn(frames, rows, descriptors);
+        if (timeKind == BinaryResultWriter.TIMES_FROM_FRAMES) {
+            for (int i = 0; i < rows; i++) times[i] = frames[i] / fps;
+        } else {
+            for (int i = 0; i < rows; i++) times[i] = block.getDouble();
+        }
+        getColumn(xs, rows, descriptors + 9);
+        getColumn(ys, rows, descriptors + 18);
+        getColumn(sizes, rows, descriptors + 27);
+        return rows;
+    }
+
+    /**
+     * Decodes the column whose width, base and step are stored at descriptor.
+     */
+    private void getColumn(int[] values, int rows, int descriptor) {
+        int width = block.get(descriptor);
+        int base = block.getInt(descriptor + 1);
+        int step = block.getInt(descriptor + 5);
+        for (int i = 0; i < rows; i++) {
+            values[i] = switch (width) {
+                case 0 -> base + i * step;
+                case 1 -> base + (block.get() & 0xFF);
+                case 2 -> base + (block.getShort() & 0xFFFF);
+                default -> base + block.getInt();
+            };
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(position, buffer);
+        return buffer.flip();
+    }
+
+    private void readFully(long position, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of binary results file");
+            position += read;
+        }
+    }
+}
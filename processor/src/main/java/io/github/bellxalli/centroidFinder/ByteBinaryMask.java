@@ -0,0 +1,97 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.Arrays;
+
+/**
+ * A BinaryMask that stores one byte (0 or 1) per pixel in a single flat array.
+ *
+ * Pixel (x, y) is at index y * width() + x. This uses 8x the memory of a PackedBinaryMask
+ * but each pixel can be read and written with a single array access, which suits code that
+ * touches pixels in random order.
+ */
+public class ByteBinaryMask implements BinaryMask {
+    private final int width;
+    private final int height;
+    private final byte[] pixels;
+
+    /**
+     * Constructs an all-black mask of the given size.
+     *
+     * @param width the number of columns
+     * @param height the number of rows
+     */
+    public ByteBinaryMask(int width, int height) {
+        if (width < 0 || height < 0) throw new IllegalArgumentException("Mask size can't be negative!");
+        this.width = width;
+        this.height = height;
+        this.pixels = new byte[width * height];
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Returns the backing array, row-major with one byte per pixel. Changes to the array are
+     * changes to the mask; only the values 0 and 1 may be stored.
+     *
+     * @return the pixel array
+     */
+    public byte[] pixels() {
+        return pixels;
+    }
+
+    @Override
+    public boolean get(int x, int y) {
+        checkBounds(x, y);
+        return pixels[y * width + x] != 0;
+    }
+
+    @Override
+    public void set(int x, int y, boolean white) {
+        checkBounds(x, y);
+        pixels[y * width + x] = (byte) (white ? 1 : 0);
+    }
+
+    @Override
+    public int nextSetBit(int x, int y) {
+        int rowStart = y * width;
+        for (int i = Math.max(x, 0); i < width; i++) {
+            if (pixels[rowStart + i] != 0) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int nextClearBit(int x, int y) {
+        int rowStart = y * width;
+        for (int i = Math.max(x, 0); i < width; i++) {
+            if (pixels[rowStart + i] == 0) return i;
+        }
+        return width;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(pixels, (byte) 0);
+    }
+
+    @Override
+    public ByteBinaryMask copy() {
+        ByteBinaryMask copy = new ByteBinaryMask(width, height);
+        System.arraycopy(pixels, 0, copy.pixels, 0, pixels.length);
+        return copy;
+    }
+
+    private void checkBounds(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException("Pixel (" + x + ", " + y + ") is outside the mask!");
+        }
+    }
+}
@@ -19,4 +19,20 @@ public interface ColorDistanceFinder {
      * @return the computed distance between the two colors
      */
     public double distance(int colorA, int colorB);
+
+    /**
+     * Returns a matcher that tests colors against a fixed target color and threshold.
+     *
+     * A color matches if its distance to the target is less than or equal to the threshold,
+     * exactly as if distance(rgb, targetColor) &lt;= threshold were evaluated for each color.
+     * The default implementation does just that; implementations whose distance can be
+     * compared more cheaply (for example without a square root) should override it.
+     *
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the maximum distance at which a color still matches
+     * @return a matcher bound to the target color and threshold
+     */
+    public default ColorMatcher matcher(int targetColor, int threshold) {
+        return rgb -> distance(rgb, targetColor) <= threshold;
+    }
 }
@@ -0,0 +1,48 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * A ColorMatcher that answers from a precomputed table covering every 24-bit RGB color.
+ *
+ * The table is a packed bitset of 2^24 bits (2 MB) where bit c is set if color c matches.
+ * It is built once by asking another matcher about every color, after which each test is
+ * a single array read and bit mask, no matter how expensive the original matcher is.
+ *
+ * Building the table costs 16,777,216 calls to the source matcher, so it only pays off
+ * when the same target color and threshold are used for many pixels, such as every frame
+ * of a video.
+ */
+public class ColorLookupTable implements ColorMatcher {
+    private static final int COLORS = 1 << 24;
+
+    // bit (rgb & 63) of word (rgb >>> 6) is set if rgb matches
+    private final long[] bits = new long[COLORS >>> 6];
+
+    /**
+     * Builds a lookup table that gives the same answer as the source matcher for every color.
+     *
+     * @param source the matcher to tabulate
+     */
+    public ColorLookupTable(ColorMatcher source) {
+        for (int word = 0; word < bits.length; word++) {
+            int base = word << 6;
+            long value = 0L;
+            for (int bit = 0; bit < 64; bit++) {
+                if (source.matches(base | bit)) value |= 1L << bit;
+            }
+            bits[word] = value;
+        }
+    }
+
+    /**
+     * Returns whether the given color matched the source matcher when the table was built.
+     * Any alpha bits above the low 24 bits are ignored.
+     *
+     * @param rgb the color to test as a 24-bit hex RGB integer (0xRRGGBB)
+     * @return true if the color is within the threshold of the target color
+     */
+    @Override
+    public boolean matches(int rgb) {
+        rgb &= 0x00FFFFFF;
+        return (bits[rgb >>> 6] & (1L << rgb)) != 0;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * A color test bound to a fixed target color and threshold.
+ *
+ * Binarizers ask the same question for every pixel of every frame: "is this color within
+ * threshold of the target?". A ColorMatcher answers it without recomputing anything that
+ * only depends on the target or threshold, so implementations can avoid allocation and
+ * floating point entirely on the per-pixel path.
+ *
+ * Matchers are created by {@link ColorDistanceFinder#matcher(int, int)}.
+ */
+@FunctionalInterface
+public interface ColorMatcher {
+    /**
+     * Returns whether the given color is within the threshold of the target color.
+     *
+     * @param rgb the color to test as a 24-bit hex RGB integer (0xRRGGBB)
+     * @return true if the distance to the target is less than or equal to the threshold
+     */
+    public boolean matches(int rgb);
+}
@@ -0,0 +1,233 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the per-frame CSV rows of a video without allocating anything per row.
+ *
+ * VideoProcessor used to format every row with String.format("%.3f,%d,%d\n", ...), which
+ * parses the format, boxes the values and builds a Formatter and several strings for each
+ * frame. This writer formats the timestamp and the integers digit by digit straight into a
+ * reusable direct ByteBuffer, and writes the buffer to a FileChannel whenever it fills up,
+ * so a whole video is written in a few large blocks.
+ *
+ * The bytes written are identical to String.format's. Timestamps are rounded to
+ * thousandths exactly as String.format rounds them, including exact ties such as every
+ * thirtieth frame at 29.97 fps. Negative, huge (a million seconds or more) and non-finite
+ * timestamps, and every number when the default locale doesn't use ASCII digits, '-' and
+ * '.', fall back to String.format itself.
+ *
+ * Instances are not thread-safe.
+ */
+public class CsvResultWriter implements ResultSink {
+
+    /** The number of bytes buffered before they are written to the file. */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    // a row is at most a 7-digit timestamp, two ints and separators: well under this
+    private static final int MAX_ROW_BYTES = 64;
+    // timestamps below this many seconds are formatted digit by digit
+    private static final double FAST_LIMIT = 1e6;
+    // how close value * 1000 may come to a rounding tie before the tie is settled exactly
+    private static final double TIE_MARGIN = 1e-6;
+
+    private static final byte[] NO_GROUP = ",-1,-1\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final boolean plainDigits;
+
+    /**
+     * Creates (or truncates) the file and opens a writer on it with the default buffer size.
+     *
+     * @param file the CSV file to write
+     * @throws IOException if the file can't be opened for writing
+     */
+    public CsvResultWriter(File file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates (or truncates) the file and opens a writer on it.
+     *
+     * @param file the CSV file to write
+     * @param bufferSize the number of bytes buffered between writes, at least 64
+     * @throws IOException if the file can't be opened for writing
+     */
+    public CsvResultWriter(File file, int bufferSize) throws IOException {
+        if (bufferSize < MAX_ROW_BYTES) throw new IllegalArgumentException("Buffer size must be at least " + MAX_ROW_BYTES + "!");
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.plainDigits = hasPlainDigits();
+        this.channel = FileChannel.open(file.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Writes text as UTF-8, for the header and other one-off lines.
+     *
+     * @param text the text to write
+     * @throws IOException if writing to the file fails
+     */
+    public void write(String text) throws IOException {
+        putBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes one row: the timestamp with three decimals, then x and y, then a line break.
+     * The bytes are the same as String.format("%.3f,%d,%d\n", timeInSeconds, x, y).
+     *
+     * @param timeInSeconds the frame's timestamp
+     * @param x the first integer column
+     * @param y the second integer column
+     * @throws IOException if writing to the file fails
+     */
+    public void writeRow(double timeInSeconds, int x, int y) throws IOException {
+        if (buffer.remaining() < MAX_ROW_BYTES) drain();
+        putThousandths(timeInSeconds);
+        buffer.put((byte) ',');
+        putInt(x);
+        buffer.put((byte) ',');
+        putInt(y);
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes one frame's row: the timestamp and the centroid of the largest group, or -1,-1
+     * if no group was found, exactly like VideoProcessor's CSV.
+     *
+     * @param timeInSeconds the frame's timestamp
+     * @param groups the frame's groups, largest first
+     * @throws IOException if writing to the file fails
+     */
+    public void writeRow(double timeInSeconds, List<Group> groups) throws IOException {
+        if (groups.isEmpty()) {
+            // no groups were found; the -1s were always literal, never localized
+            if (buffer.remaining() < MAX_ROW_BYTES) drain();
+            putThousandths(timeInSeconds);
+            buffer.put(NO_GROUP);
+        } else {
+            Coordinate centroid = groups.get(0).centroid();
+            writeRow(timeInSeconds, centroid.x(), centroid.y());
+        }
+    }
+
+    /**
+     * Writes one frame's row like writeRow. The frame index and group size are not part of
+     * the CSV; a size of 0 means no group was found and is written as -1,-1.
+     */
+    @Override
+    public void writeFrame(int frameIndex, double timeInSeconds, int x, int y, int size) throws IOException {
+        if (size == 0) {
+            writeRow(timeInSeconds, List.of());
+        } else {
+            writeRow(timeInSeconds, x, y);
+        }
+    }
+
+    /**
+     * Writes everything buffered so far to the file.
+     *
+     * @throws IOException if writing to the file fails
+     */
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Writes everything buffered so far and closes the file.
+     *
+     * @throws IOException if writing to or closing the file fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Whether the default locale formats numbers with ASCII digits, '-' and '.', so that
+     * digit-by-digit output matches String.format.
+     */
+    private static boolean hasPlainDigits() {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        return symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() == '.' && symbols.getMinusSign() == '-';
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void putThousandths(double value) throws IOException {
+        // Double.compare keeps -0.0 (which String.format prints as "-0.000") and NaN out
+        if (plainDigits && Double.compare(value, 0.0) >= 0 && value < FAST_LIMIT) {
+            double scaled = value * 1000;
+            long floor = (long) scaled;
+            double fraction = scaled - floor;
+            long thousandths;
+            if (Math.abs(fraction - 0.5) > TIE_MARGIN) {
+                thousandths = fraction > 0.5 ? floor + 1 : floor;
+            } else {
+                // String.format rounds the shortest decimal that reads back as value half up.
+                // That decimal is the tie itself if the tie reads back as value, and otherwise
+                // lies on the same side of the tie as value does.
+                double tie = (floor * 10 + 5) / 10000.0;
+                thousandths = value >= tie ? floor + 1 : floor;
+            }
+            putLong(thousandths / 1000);
+            int decimals = (int) (thousandths % 1000);
+            buffer.put((byte) '.');
+            buffer.put((byte) ('0' + decimals / 100));
+            buffer.put((byte) ('0' + decimals / 10 % 10));
+            buffer.put((byte) ('0' + decimals % 10));
+            return;
+        }
+        putBytes(String.format("%.3f", value).getBytes(StandardCharsets.UTF_8));
+        if (buffer.remaining() < MAX_ROW_BYTES) drain();
+    }
+
+    private void putInt(int value) throws IOException {
+        if (!plainDigits) {
+            putBytes(String.format("%d", value).getBytes(StandardCharsets.UTF_8));
+            if (buffer.remaining() < MAX_ROW_BYTES) drain();
+            return;
+        }
+        putLong(value);
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) drain();
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void putLong(long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            // Long.MIN_VALUE can't be negated, but no int or timestamp gets near it
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) divisor *= 10;
+        while (divisor > 0) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+            divisor /= 10;
+        }
+    }
+}
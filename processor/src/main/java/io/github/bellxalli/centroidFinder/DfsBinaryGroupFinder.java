@@ -2,7 +2,6 @@ package io.github.bellxalli.centroidFinder;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 public class DfsBinaryGroupFinder implements BinaryGroupFinder {
@@ -36,127 +35,181 @@ public class DfsBinaryGroupFinder implements BinaryGroupFinder {
     @Override
     public List<Group> findConnectedGroups(int[][] image) {
 
-        // (rows = y, cols = x)
-        int rows = 0;
-        int cols = 0;
-        // String coords = (rows + "," + cols);
-        List<Group> groups = new ArrayList<>();
+        // validates the array (null rows, rectangular, only 0s and 1s) while packing it
+        BinaryMask mask = BinaryMask.fromArray(image);
 
-        if (image.length == 0) return new ArrayList<>();
+        return findConnectedGroups(mask);
 
-        for (int[] row : image) {
-           
-            if (row == null) throw new NullPointerException("Subarray is null and can't be!");
+    }//end findConnectedGroups
 
-        }//end for
+   /**
+    * Finds connected pixel groups of white pixels in a BinaryMask, following the same
+    * rules as findConnectedGroups(int[][]).
+    *
+    * Each row is scanned with nextSetBit so runs of black pixels are skipped rather than
+    * visited one by one. Pixels are cleared from a working copy of the mask as the BFS
+    * reaches them, so no separate visited array is needed.
+    *
+    * @param mask the binary image to search
+    * @return the found groups of connected pixels in descending order
+    */
+    @Override
+    public List<Group> findConnectedGroups(BinaryMask mask) {
 
-        int height = image.length;
-        int width = image[0].length;
+        List<Group> groups = new ArrayList<>();
+        label(mask, (size, x, y) -> groups.add(new Group(size, new Coordinate(x, y))));
 
-        boolean[][] visited = new boolean[height][width];
+        Collections.sort(groups, Collections.reverseOrder());
 
-        for (int[] row : image){
+        return groups;
 
-            if (row.length != width) throw new IllegalArgumentException(
-            "The image isn't rectangular in shape/The rows and columns are not equal!");
+    }//end findConnectedGroups
 
-        }//end for
+   /**
+    * Finds only the k greatest connected groups of white pixels in a BinaryMask.
+    *
+    * Each group is offered to a bounded heap as soon as its BFS finishes, so groups that
+    * don't make the cut are never turned into Group objects and nothing is sorted.
+    *
+    * @param mask the binary image to search
+    * @param k the maximum number of groups to return, at least 0
+    * @return at most k groups in descending order
+    */
+    @Override
+    public List<Group> findLargestGroups(BinaryMask mask, int k) {
 
-        for (int[] row : image){
-            for (int value : row){
+        TopGroups top = new TopGroups(k);
+        label(mask, top::offer);
 
-                // if value is not 1 or 0 its invalid
-                if (value != 0 && value != 1){
+        return top.toList();
 
-                    throw new IllegalArgumentException("Invalid value: " + value + "!");
+    }//end findLargestGroups
 
-                }//end if
-            }//end forInner
-        }//end forOutter
+   /**
+    * Finds only the k greatest connected groups of white pixels in a BinaryMask, using the
+    * context's scratch mask as the working copy and its queue for the BFS.
+    *
+    * @param mask the binary image to search
+    * @param k the maximum number of groups to return, at least 0
+    * @param context the caller's reusable buffers
+    * @return at most k groups in descending order
+    */
+    @Override
+    public List<Group> findLargestGroups(BinaryMask mask, int k, FrameContext context) {
 
+        TopGroups top = new TopGroups(k);
+        BinaryMask remaining;
+        if (mask instanceof PackedBinaryMask packed) {
+            PackedBinaryMask scratch = context.scratchMask(mask.width(), mask.height());
+            packed.copyInto(scratch);
+            remaining = scratch;
+        } else {
+            remaining = mask.copy();
+        }
+        label(remaining, context.queue(), top::offer);
 
-        int[][] directions = {
-            {-1,0}, // up
-            {1,0}, // down
-            {0,-1}, // left
-            {0,1} // right
-        };
+        return top.toList();
 
+    }//end findLargestGroups
 
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (image[y][x] == 1 && !visited[y][x]) {
+    /**
+    * Scans the mask row by row and reports every group to the sink. Each row is
+    * scanned with nextSetBit so runs of black pixels are skipped rather than visited
+    * one by one.
+    */
+    private void label(BinaryMask mask, GroupSink sink) {
 
-                    List<int[]> pixels = new ArrayList<>(); //makes a pixels list every time
+        // white pixels that don't belong to a group yet
+        label(mask.copy(), new PixelQueue(), sink);
 
-                    helper(image, visited, y, x, pixels, directions, height, width);
+    }//end label
 
-                    int size = pixels.size();
-                    int sumOfX = 0;
-                    int sumOfY = 0;
+    /**
+    * Like label(mask, sink), but clears the pixels of the given working copy as the BFS
+    * reaches them.
+    */
+    private void label(BinaryMask remaining, PixelQueue queue, GroupSink sink) {
 
-                    for (int[] pix : pixels) {
-                        sumOfY += pix[0];
-                        sumOfX += pix[1];
-                    }//end forInner
+        // (rows = y, cols = x)
+        int height = remaining.height();
+        int width = remaining.width();
 
-                    int centroidX = sumOfX / size;
-                    int centroidY = sumOfY / size;
+        for (int y = 0; y < height; y++) {
+            for (int x = remaining.nextSetBit(0, y); x >= 0; x = remaining.nextSetBit(x + 1, y)) {
 
-                    groups.add(new Group(size, new Coordinate(centroidX, centroidY)));
+                helper(remaining, x, y, width, height, queue, sink);
 
-                }//end if 
-            }//end forOuter
+            }//end for
         }//end main for
 
-        Collections.sort(groups, Collections.reverseOrder());
-
-        return groups;
-
-    }//end findConnectedGroups
+    }//end label
 
     /**
-    * Preforms a BFS from a starting pixel to find all connected pixels with value
-    * 1 in a binary image. This method uses an explicit queue to prevent a stack 
-    * overflow. 
-    * 
-    * The method checks bounds, visited-state, and pixel value before processing each 
-    * location. Valid pixels are marked as visited, added to the results list, and 
-    * their neighbors are enqueued to repeat the process.
-    * 
-    * @param image a 2D integer array representing the binary image.
-    * @param visited a 2D boolean array tracking which pixels have already been processed 
-    *                to prevent re-visiting.
-    * @param y the starting row index for the BFS traversal.
-    * @param x the starting column index for the BFS traversal.
-    * @param pixels a list that will be populated with each pixel
-    * @param directions an array of relative movement offset used to explore adjacent pixels.
-    * @param height the total number of rows in the image.
+    * Preforms a BFS from a starting pixel to find all connected white pixels and
+    * reports them to the sink as one group. This method uses an explicit queue to prevent a stack
+    * overflow.
+    *
+    * Pixels are cleared from the remaining mask as soon as they are queued, so every
+    * pixel is queued at most once and only in-bounds white neighbours are ever queued.
+    * Sizes and coordinate sums are accumulated as the queue is drained, so the pixels
+    * themselves are never stored.
+    *
+    * @param remaining the white pixels not yet assigned to a group; cleared as they are reached
+    * @param x the starting column for the BFS traversal.
+    * @param y the starting row for the BFS traversal.
     * @param width the total number of columns in the image.
+    * @param height the total number of rows in the image.
+    * @param queue a reusable queue of pixel indexes (y * width + x)
+    * @param sink receives the size and centroid of the group containing the starting pixel
     */
-    public void helper(int[][] image, boolean[][] visited, int y, int x, List<int[]> pixels, int[][] directions, int height, int width) {
-        // BFS queue to avoid stack overflow
-        LinkedList<int[]> queue = new LinkedList<>();
-        queue.add(new int[]{y, x});
-
-        while (!queue.isEmpty()) {
-            int[] current = queue.removeFirst();
-            int curY = current[0];
-            int curX = current[1];
+    private void helper(BinaryMask remaining, int x, int y, int width, int height, PixelQueue queue, GroupSink sink) {
+        queue.reset();
+        remaining.set(x, y, false);
+        queue.add(y * width + x);
 
-            // Base case: stop if out of bounds, already visited, or not a 1
-            if (curY < 0 || curY >= height || curX < 0 || curX >= width || visited[curY][curX] || image[curY][curX] != 1)
-                continue;
+        int size = 0;
+        long sumOfX = 0;
+        long sumOfY = 0;
 
-            visited[curY][curX] = true;
+        while (!queue.isEmpty()) {
+            int current = queue.remove();
+            int curY = current / width;
+            int curX = current - curY * width;
+
+            size++;
+            sumOfX += curX;
+            sumOfY += curY;
+
+            // up, down, left, right
+            if (curY > 0 && remaining.get(curX, curY - 1)) {
+                remaining.set(curX, curY - 1, false);
+                queue.add(current - width);
+            }
+            if (curY < height - 1 && remaining.get(curX, curY + 1)) {
+                remaining.set(curX, curY + 1, false);
+                queue.add(current + width);
+            }
+            if (curX > 0 && remaining.get(curX - 1, curY)) {
+                remaining.set(curX - 1, curY, false);
+                queue.add(current - 1);
+            }
+            if (curX < width - 1 && remaining.get(curX + 1, curY)) {
+                remaining.set(curX + 1, curY, false);
+                queue.add(current + 1);
+            }
+        }//end while
 
-            pixels.add(new int[]{curY, curX});
+        int centroidX = (int) (sumOfX / size);
+        int centroidY = (int) (sumOfY / size);
 
-            for (int[] d : directions) {
-                int newY = curY + d[0];
-                int newX = curX + d[1];
-                queue.add(new int[]{newY, newX});
-            }//end for
-        }//end while
+        sink.accept(size, centroidX, centroidY);
     }//end helper
-}
\ No newline at end of file
+
+    /**
+     * Receives each group found by the BFS as its size and centroid.
+     */
+    @FunctionalInterface
+    private interface GroupSink {
+        void accept(int size, int centroidX, int centroidY);
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.bellxalli.centroidFinder;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 /**
  * An implementation of the ImageBinarizer interface that uses xor distance
@@ -17,6 +18,7 @@ public class DistanceImageBinarizer implements ImageBinarizer {
     private final ColorDistanceFinder distanceFinder;
     private final int threshold;
     private final int targetxor;
+    private final ColorMatcher matcher;
 
     /**
      * Constructs a DistanceImageBinarizer using the given xorDistanceFinder,
@@ -35,6 +37,25 @@ public class DistanceImageBinarizer implements ImageBinarizer {
         this.distanceFinder = distanceFinder;
         this.targetxor = targetxor;
         this.threshold = threshold;
+        this.matcher = distanceFinder.matcher(targetxor, threshold);
+    }
+
+    /**
+     * Constructs a DistanceImageBinarizer that classifies pixels with the given matcher
+     * instead of the distanceFinder's own matcher. The matcher must agree with
+     * distanceFinder, targetxor and threshold; subclasses use this to swap in a faster
+     * but equivalent test such as a precomputed lookup table.
+     *
+     * @param distanceFinder an object that computes the distance between two xors
+     * @param targetxor the reference xor as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the distance threshold used to decide whether a pixel is white or black
+     * @param matcher the matcher used to decide whether each pixel is white or black
+     */
+    protected DistanceImageBinarizer(ColorDistanceFinder distanceFinder, int targetxor, int threshold, ColorMatcher matcher) {
+        this.distanceFinder = distanceFinder;
+        this.targetxor = targetxor;
+        this.threshold = threshold;
+        this.matcher = matcher;
     }
 
     /**
@@ -50,22 +71,21 @@ public class DistanceImageBinarizer implements ImageBinarizer {
         int width = image.getWidth();
         int height = image.getHeight();
         int [][] binaryArray = new int[height][width];
+        int[] rgbRow = new int[width];
 
         for(int y = 0; y < height; y++)
         {
+            // bulk read of the row as 0xRRGGBB, straight from the raster for common image types
+            ImagePixels.readRow(image, 0, y, width, rgbRow);
+            int[] binaryRow = binaryArray[y];
+
             for(int x = 0; x < width; x++)
             {
-                //getRGB(x,y) return AARRGGBB 
-                int rgb = image.getRGB(x, y) & 0x00FFFFFF;
-
-                // compute distance using the distanceFinder
-                double distance = distanceFinder.distance(rgb, targetxor);
-
-                // fix: use <= to include exact match
-                if(distance <= threshold) {
-                    binaryArray[y][x] = 1; // white
+                // matcher compares the distance to the target against the threshold (<= includes exact match)
+                if(matcher.matches(rgbRow[x])) {
+                    binaryRow[x] = 1; // white
                 } else {
-                    binaryArray[y][x] = 0; // black
+                    binaryRow[x] = 0; // black
                 }
             }
         }
@@ -73,6 +93,59 @@ public class DistanceImageBinarizer implements ImageBinarizer {
         return binaryArray;
     }
 
+    /**
+     * Converts the given BufferedImage into a PackedBinaryMask using the same rule as
+     * toBinaryArray, building each 64-pixel word of the mask directly.
+     *
+     * @param image the input RGB BufferedImage
+     * @return a mask where set pixels are white and clear pixels are black
+     */
+    @Override
+    public PackedBinaryMask toBinaryMask(BufferedImage image) {
+        PackedBinaryMask mask = new PackedBinaryMask(image.getWidth(), image.getHeight());
+        fill(image, mask, new int[image.getWidth()]);
+        return mask;
+    }
+
+    /**
+     * Converts the given BufferedImage into a PackedBinaryMask like toBinaryMask(image),
+     * reusing the context's mask and pixel row.
+     *
+     * @param image the input RGB BufferedImage
+     * @param context the caller's reusable buffers
+     * @return the context's mask, where set pixels are white and clear pixels are black
+     */
+    @Override
+    public PackedBinaryMask toBinaryMask(BufferedImage image, FrameContext context) {
+        PackedBinaryMask mask = context.mask(image.getWidth(), image.getHeight());
+        fill(image, mask, context.row(image.getWidth()));
+        return mask;
+    }
+
+    /**
+     * Overwrites every word of the mask with the binarized pixels of the image.
+     */
+    private void fill(BufferedImage image, PackedBinaryMask mask, int[] rgbRow) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        for(int y = 0; y < height; y++)
+        {
+            ImagePixels.readRow(image, 0, y, width, rgbRow);
+
+            for(int index = 0; index < mask.wordsPerRow(); index++)
+            {
+                int start = index << 6;
+                int end = Math.min(start + 64, width);
+                long word = 0L;
+                for(int x = start; x < end; x++) {
+                    if(matcher.matches(rgbRow[x])) word |= 1L << x;
+                }
+                mask.setWord(y, index, word);
+            }
+        }
+    }
+
     /**
      * Converts a binary 2D array into a BufferedImage.
      * Each value should be 0 (black) or 1 (white).
@@ -87,10 +160,14 @@ public class DistanceImageBinarizer implements ImageBinarizer {
         int width = image[0].length;
 
         BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        // a fresh TYPE_INT_RGB image is backed by one unpadded int[], row-major
+        int[] pixels = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
 
         for(int y = 0; y < height; y++) {
+            int[] row = image[y];
+            int offset = y * width;
             for(int x = 0; x < width; x++) {
-                img.setRGB(x, y, image[y][x] == 1 ? 0xFFFFFF : 0x000000);
+                pixels[offset + x] = row[x] == 1 ? 0xFFFFFF : 0x000000;
             }
         }
 
@@ -2,6 +2,9 @@ package io.github.bellxalli.centroidFinder;
 
 public class EuclideanColorDistance implements ColorDistanceFinder {
 
+    // largest possible distance is sqrt(3 * 255^2) ~= 441.7, so any threshold above it matches everything
+    static final int MAX_DISTANCE = 442;
+
     /**
      * Returns the euclidean color distance between two hex RGB colors.
      * 
@@ -39,6 +42,35 @@ public class EuclideanColorDistance implements ColorDistanceFinder {
         return euclideanResult;
     }
 
+    /**
+     * Returns a matcher that compares squared integer distances against the squared threshold.
+     *
+     * Since both sides are non-negative, sqrt(d) &lt;= threshold is the same test as
+     * d &lt;= threshold^2, so the matcher gives the same answer as comparing distance()
+     * with the threshold but needs no allocation, Math.pow or Math.sqrt per pixel.
+     *
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the maximum Euclidean distance at which a color still matches
+     * @return a matcher bound to the target color and threshold
+     */
+    @Override
+    public ColorMatcher matcher(int targetColor, int threshold) {
+        if (threshold < 0) return rgb -> false;
+        if (threshold >= MAX_DISTANCE) return rgb -> true;
+
+        int targetRed = (targetColor >> 16) & 0xFF;
+        int targetGreen = (targetColor >> 8) & 0xFF;
+        int targetBlue = targetColor & 0xFF;
+        int maxSquared = threshold * threshold;
+
+        return rgb -> {
+            int dr = ((rgb >> 16) & 0xFF) - targetRed;
+            int dg = ((rgb >> 8) & 0xFF) - targetGreen;
+            int db = (rgb & 0xFF) - targetBlue;
+            return dr * dr + dg * dg + db * db <= maxSquared;
+        };
+    }
+
 
     /**
     * Converts a 25-bit integer color value in 0xRRGGBB format to its individual
@@ -0,0 +1,161 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jcodec.common.model.ColorSpace;
+import org.jcodec.common.model.Picture;
+import org.jcodec.scale.ColorUtil;
+import org.jcodec.scale.RgbToBgr;
+import org.jcodec.scale.Transform;
+
+/**
+ * The reusable buffers one worker needs to analyze frame after frame: the converted
+ * BufferedImage, binary masks, pixel rows, labels and the union-find of components.
+ *
+ * Without a context every frame allocates all of these afresh, several megabytes per
+ * 1080p frame, which at video frame rates keeps the garbage collector busy. A worker
+ * creates one FrameContext and passes it to the overloads of ImageBinarizer,
+ * BinaryGroupFinder, ImageGroupFinder and PictureGroupFinder that accept one; each buffer
+ * is allocated the first time it is needed and then recycled for every later frame of the
+ * same size, so steady-state processing allocates little more than the returned Groups.
+ *
+ * A buffer handed out by the context is only valid until the same buffer is asked for
+ * again, so a mask returned by toBinaryMask(image, context) must be used before the next
+ * frame is binarized with the same context.
+ *
+ * Instances are not thread-safe: every thread needs its own.
+ */
+public final class FrameContext {
+    private final GroupUnionFind sets = new GroupUnionFind();
+    private final PixelQueue queue = new PixelQueue();
+    private RunLabeler labeler;
+    private int labelerWidth = -1;
+    private PackedBinaryMask mask;
+    private PackedBinaryMask scratchMask;
+    private int[] row = new int[0];
+    private int[] labels = new int[0];
+    private final RgbToBgr rgbToBgr = new RgbToBgr();
+    private final Map<ColorSpace, Transform> toRgb = new HashMap<>();
+    private Picture bgr;
+    private BufferedImage image;
+
+    /**
+     * The mask that binarizers fill. Its pixels are left over from the previous frame, so
+     * the caller must overwrite every row.
+     */
+    PackedBinaryMask mask(int width, int height) {
+        if (mask == null || mask.width() != width || mask.height() != height) {
+            mask = new PackedBinaryMask(width, height);
+        }
+        return mask;
+    }
+
+    /**
+     * A second mask, for finders that need a working copy of the one being searched.
+     */
+    PackedBinaryMask scratchMask(int width, int height) {
+        if (scratchMask == null || scratchMask.width() != width || scratchMask.height() != height) {
+            scratchMask = new PackedBinaryMask(width, height);
+        }
+        return scratchMask;
+    }
+
+    /**
+     * A row of at least width pixels.
+     */
+    int[] row(int width) {
+        if (row.length < width) row = new int[width];
+        return row;
+    }
+
+    /**
+     * An array of at least size labels, all 0.
+     */
+    int[] labels(int size) {
+        if (labels.length < size) {
+            labels = new int[size];
+        } else {
+            Arrays.fill(labels, 0, size, 0);
+        }
+        return labels;
+    }
+
+    /**
+     * The breadth-first search queue, emptied.
+     */
+    PixelQueue queue() {
+        queue.reset();
+        return queue;
+    }
+
+    /**
+     * The union-find, emptied.
+     */
+    GroupUnionFind sets() {
+        sets.reset();
+        return sets;
+    }
+
+    /**
+     * A run labeler for rows of the given width, feeding the union-find returned by sets(),
+     * which is emptied.
+     */
+    RunLabeler labeler(int width) {
+        if (labeler == null || labelerWidth != width) {
+            labeler = new RunLabeler(width, sets);
+            labelerWidth = width;
+        } else {
+            labeler.reset();
+        }
+        sets.reset();
+        return labeler;
+    }
+
+    /**
+     * Converts a decoded frame into a BufferedImage exactly like AWTUtil.toBufferedImage,
+     * but into an image (and intermediate BGR picture) recycled from the previous frame.
+     *
+     * @param picture the decoded frame
+     * @return the frame's cropped width x height as a TYPE_3BYTE_BGR image
+     */
+    BufferedImage image(Picture picture) {
+        Picture source = picture;
+        if (picture.getColor() != ColorSpace.BGR) {
+            if (bgr == null || bgr.getWidth() != picture.getWidth() || bgr.getHeight() != picture.getHeight()) {
+                bgr = Picture.create(picture.getWidth(), picture.getHeight(), ColorSpace.BGR);
+            }
+            if (picture.getColor() != ColorSpace.RGB) {
+                toRgb.computeIfAbsent(picture.getColor(), color -> ColorUtil.getTransform(color, ColorSpace.RGB))
+                    .transform(picture, bgr);
+                rgbToBgr.transform(bgr, bgr);
+            } else {
+                rgbToBgr.transform(picture, bgr);
+            }
+            source = bgr;
+        }
+
+        int width = picture.getCroppedWidth();
+        int height = picture.getCroppedHeight();
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        }
+
+        // like AWTUtil, keep the top-left width x height and undo JCodec's -128 offset
+        byte[] from = source.getPlaneData(0);
+        byte[] to = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        int fromStride = source.getWidth() * 3;
+        int toStride = width * 3;
+        for (int y = 0; y < height; y++) {
+            int fromRow = y * fromStride;
+            int toRow = y * toStride;
+            for (int i = 0; i < toStride; i++) {
+                to[toRow + i] = (byte) (from[fromRow + i] + 128);
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.bellxalli.centroidFinder;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event for one frame processed with a StageProfiler, so a
+ * recording of production footage (java -XX:StartFlightRecording ... --profile) shows each
+ * frame's time and allocation per stage alongside GC and JIT activity. Stages a frame
+ * didn't go through are 0.
+ */
+@Name("io.github.bellxalli.centroidFinder.Frame")
+@Label("Frame")
+@Category({"Centroid Finder", "Video"})
+@Description("One video frame decoded, analyzed and written")
+final class FrameEvent extends Event {
+
+    @Label("Frame Index")
+    int frameIndex;
+
+    @Label("Decode")
+    @Timespan(Timespan.NANOSECONDS)
+    long decode;
+
+    @Label("Convert")
+    @Timespan(Timespan.NANOSECONDS)
+    long convert;
+
+    @Label("Binarize")
+    @Timespan(Timespan.NANOSECONDS)
+    long binarize;
+
+    @Label("Label")
+    @Timespan(Timespan.NANOSECONDS)
+    long label;
+
+    @Label("Analyze")
+    @Description("Finding groups with a finder whose binarizing and labeling can't be timed apart")
+    @Timespan(Timespan.NANOSECONDS)
+    long analyze;
+
+    @Label("Write")
+    @Timespan(Timespan.NANOSECONDS)
+    long write;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the processing thread for this frame, or -1 if unknown")
+    @DataAmount(DataAmount.BYTES)
+    long allocated;
+}
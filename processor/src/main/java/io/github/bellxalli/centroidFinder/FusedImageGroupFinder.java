@@ -0,0 +1,114 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * An ImageGroupFinder that binarizes and labels an image in a single pass, without ever
+ * building a binary mask.
+ *
+ * Each row of pixels is read in bulk and tested against the target color with a
+ * ColorMatcher; every run of matching pixels is handed straight to run-length labeling
+ * (see RunLengthBinaryGroupFinder), which only keeps the runs of the current and previous
+ * rows. Memory is therefore O(width) instead of O(width x height), and every pixel is read
+ * exactly once.
+ *
+ * The groups are identical to a BinarizingImageGroupFinder using a DistanceImageBinarizer
+ * with the same distance finder, target color and threshold, including their order.
+ */
+public class FusedImageGroupFinder implements ImageGroupFinder {
+    private final ColorMatcher matcher;
+
+    /**
+     * Constructs a FusedImageGroupFinder that marks a pixel white when its distance to the
+     * target color is less than or equal to the threshold.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the distance threshold used to decide whether a pixel is white or black
+     */
+    public FusedImageGroupFinder(ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+        this(distanceFinder.matcher(targetColor, threshold));
+    }
+
+    /**
+     * Constructs a FusedImageGroupFinder that marks a pixel white when the matcher accepts it.
+     *
+     * @param matcher the color test applied to every pixel, for example a ColorLookupTable
+     */
+    public FusedImageGroupFinder(ColorMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    /**
+     * Finds connected groups of matching pixels in the given image.
+     * Pixels are connected vertically and horizontally, not diagonally.
+     *
+     * @param image the input BufferedImage to process
+     * @return connected groups in the image sorted in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BufferedImage image) {
+        return label(image).groups();
+    }
+
+    /**
+     * Finds only the k greatest connected groups of matching pixels in the given image.
+     *
+     * @param image the input BufferedImage to process
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups sorted in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BufferedImage image, int k) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        return label(image).largestGroups(k);
+    }
+
+    /**
+     * Finds only the k greatest connected groups of matching pixels, reading rows into the
+     * context's pixel row and labeling runs with its run labeler.
+     *
+     * @param image the input BufferedImage to process
+     * @param k the maximum number of groups to return, at least 0
+     * @param context the caller's reusable buffers
+     * @return at most k groups sorted in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BufferedImage image, int k, FrameContext context) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        RunLabeler labeler = context.labeler(image.getWidth());
+        GroupUnionFind sets = context.sets();
+        label(image, context.row(image.getWidth()), labeler);
+        return sets.largestGroups(k);
+    }
+
+    private GroupUnionFind label(BufferedImage image) {
+        GroupUnionFind sets = new GroupUnionFind();
+        label(image, new int[image.getWidth()], new RunLabeler(image.getWidth(), sets));
+        return sets;
+    }
+
+    private void label(BufferedImage image, int[] rgbRow, RunLabeler labeler) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        for (int y = 0; y < height; y++) {
+            ImagePixels.readRow(image, 0, y, width, rgbRow);
+            labeler.startRow(y);
+
+            int x = 0;
+            while (x < width) {
+                if (!matcher.matches(rgbRow[x])) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matcher.matches(rgbRow[x])) x++;
+                labeler.addRun(start, x - 1);
+            }
+
+            labeler.endRow();
+        }
+    }
+}
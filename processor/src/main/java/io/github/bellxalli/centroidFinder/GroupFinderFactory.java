@@ -0,0 +1,152 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Creates BinaryGroupFinder engines by name, so the command-line applications can
+ * switch labeling engines with a --finder option.
+ *
+ * Supported names:
+ *  dfs        – DfsBinaryGroupFinder (the default)
+ *  union-find – UnionFindBinaryGroupFinder
+ *  runs       – RunLengthBinaryGroupFinder
+ *  parallel   – ParallelBinaryGroupFinder, on a pool of the factory's parallelism that
+ *               every parallel finder from the factory shares
+ *
+ * For whole images there are three more engines, available from createImageFinder:
+ *  fused      – FusedImageGroupFinder, which binarizes and labels in one pass
+ *  tracking   – TrackingImageGroupFinder, which searches video frames only around the
+ *               previous frame's target
+ *  pyramid    – PyramidImageGroupFinder, which finds candidates on a coarse grid and
+ *               labels only around them at full resolution
+ *
+ * The pool of the parallel engine belongs to the factory, so close the factory once its
+ * finders are no longer used.
+ */
+public class GroupFinderFactory implements AutoCloseable {
+
+    /** The engine used when no --finder option is given. */
+    public static final String DEFAULT_FINDER = "dfs";
+
+    /** The engine name that selects FusedImageGroupFinder. */
+    public static final String FUSED_FINDER = "fused";
+
+    /** The engine name that selects TrackingImageGroupFinder. */
+    public static final String TRACKING_FINDER = "tracking";
+
+    /** The engine name that selects PyramidImageGroupFinder. */
+    public static final String PYRAMID_FINDER = "pyramid";
+
+    /** Every engine name accepted by createImageFinder; create accepts all but the last three. */
+    public static final List<String> FINDER_NAMES =
+            List.of("dfs", "union-find", "runs", "parallel", FUSED_FINDER, TRACKING_FINDER, PYRAMID_FINDER);
+
+    private final int parallelism;
+    private ForkJoinPool pool; // created with the first parallel finder
+
+    /**
+     * Constructs a factory whose parallel engines use one thread per available processor.
+     */
+    public GroupFinderFactory() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a factory whose parallel engines use the given number of threads.
+     *
+     * @param parallelism the number of threads for parallel engines, at least 1
+     */
+    public GroupFinderFactory(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Checks whether an engine name is known, without creating a finder.
+     *
+     * @param name the engine name, case-insensitive
+     * @return true if create or createImageFinder accepts the name
+     */
+    public boolean isKnown(String name) {
+        return FINDER_NAMES.contains(name.trim().toLowerCase());
+    }
+
+    /**
+     * Creates the group finder with the given name.
+     * If the name is not recognized, an error message is printed and null is returned.
+     *
+     * @param name the engine name, case-insensitive
+     * @return a new group finder, or null if the name is unknown
+     */
+    public BinaryGroupFinder create(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "dfs":
+                return new DfsBinaryGroupFinder();
+            case "union-find":
+                return new UnionFindBinaryGroupFinder();
+            case "runs":
+                return new RunLengthBinaryGroupFinder();
+            case "parallel":
+                return new ParallelBinaryGroupFinder(pool());
+            default:
+                printUnknown(name);
+                return null;
+        }
+    }
+
+    private synchronized ForkJoinPool pool() {
+        if (pool == null) pool = new ForkJoinPool(parallelism);
+        return pool;
+    }
+
+    /**
+     * Shuts down the pool of the parallel engine, if one was created. Parallel finders
+     * from this factory must not be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) pool.shutdown();
+    }
+
+    /**
+     * Builds the message printed for an engine name that is not known.
+     *
+     * @param name the engine name that was given
+     * @return the message, listing the known engine names
+     */
+    public static String unknownMessage(String name) {
+        return "Unknown group finder: " + name + ". Use one of " + String.join(", ", FINDER_NAMES) + ".";
+    }
+
+    private static void printUnknown(String name) {
+        System.out.println(unknownMessage(name));
+    }
+
+    /**
+     * Creates an image group finder with the given engine name. The fused, tracking and
+     * pyramid engines get their own FusedImageGroupFinder, TrackingImageGroupFinder or
+     * PyramidImageGroupFinder; every other engine is paired with the binarizer in a
+     * BinarizingImageGroupFinder.
+     * If the name is not recognized, an error message is printed and null is returned.
+     *
+     * @param name the engine name, case-insensitive
+     * @param distanceFinder the color distance used to binarize
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the distance threshold used to binarize
+     * @return a new image group finder, or null if the name is unknown
+     */
+    public ImageGroupFinder createImageFinder(String name, ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+        if (name.trim().equalsIgnoreCase(FUSED_FINDER)) {
+            return new FusedImageGroupFinder(distanceFinder, targetColor, threshold);
+        }
+        if (name.trim().equalsIgnoreCase(TRACKING_FINDER)) {
+            return new TrackingImageGroupFinder(distanceFinder, targetColor, threshold);
+        }
+        if (name.trim().equalsIgnoreCase(PYRAMID_FINDER)) {
+            return new PyramidImageGroupFinder(distanceFinder, targetColor, threshold);
+        }
+        BinaryGroupFinder groupFinder = create(name);
+        if (groupFinder == null) return null;
+        return new BinarizingImageGroupFinder(new DistanceImageBinarizer(distanceFinder, targetColor, threshold), groupFinder);
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A primitive union-find (disjoint set) over provisional component labels, used by the
+ * labeling group finders.
+ *
+ * Labels are small positive ints handed out by {@link #newLabel()}; 0 is reserved for
+ * background. Each label carries a pixel count and the sums of its pixels' x and y
+ * coordinates, so a finder only has to report pixels (or whole runs of pixels) to a label
+ * and union labels that touch. {@link #groups()} then folds every label into its root and
+ * builds one Group per component, without ever storing a list of pixels;
+ * {@link #largestGroups(int)} builds only the k greatest.
+ *
+ * Unions are by rank and finds compress paths, so all operations are effectively constant time.
+ * Instances are not thread-safe.
+ */
+final class GroupUnionFind {
+    private int[] parent = new int[64];
+    private byte[] rank = new byte[64];
+    private long[] size = new long[64];
+    private long[] sumOfX = new long[64];
+    private long[] sumOfY = new long[64];
+    private int count; // labels 1..count are in use
+
+    /**
+     * Forgets every label so the structure can be reused for another image.
+     */
+    void reset() {
+        count = 0;
+    }
+
+    /**
+     * @return the number of labels handed out since the last reset
+     */
+    int labelCount() {
+        return count;
+    }
+
+    /**
+     * Creates a new label in its own set with no pixels.
+     *
+     * @return the new label, always greater than 0
+     */
+    int newLabel() {
+        int label = ++count;
+        if (label == parent.length) grow();
+        parent[label] = label;
+        rank[label] = 0;
+        size[label] = 0;
+        sumOfX[label] = 0;
+        sumOfY[label] = 0;
+        return label;
+    }
+
+    /**
+     * Returns the representative label of the set containing label.
+     *
+     * @param label a label in use
+     * @return the root label of its set
+     */
+    int find(int label) {
+        int root = label;
+        while (parent[root] != root) root = parent[root];
+        // path compression
+        while (parent[label] != root) {
+            int next = parent[label];
+            parent[label] = root;
+            label = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets containing labels a and b.
+     *
+     * @param a a label in use
+     * @param b a label in use
+     * @return the root label of the merged set
+     */
+    int union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return rootA;
+        if (rank[rootA] < rank[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        if (rank[rootA] == rank[rootB]) rank[rootA]++;
+        return rootA;
+    }
+
+    /**
+     * Records pixels belonging to a label.
+     *
+     * @param label a label in use
+     * @param pixels the number of pixels
+     * @param xs the sum of the pixels' x coordinates
+     * @param ys the sum of the pixels' y coordinates
+     */
+    void add(int label, long pixels, long xs, long ys) {
+        size[label] += pixels;
+        sumOfX[label] += xs;
+        sumOfY[label] += ys;
+    }
+
+    /**
+     * Records the horizontal run of pixels from column start to column end (inclusive) on row y.
+     *
+     * @param label a label in use
+     * @param start the first column of the run
+     * @param end the last column of the run
+     * @param y the row of the run
+     */
+    void addRun(int label, int start, int end, int y) {
+        long length = end - start + 1;
+        size[label] += length;
+        sumOfX[label] += (long) (start + end) * length / 2;
+        sumOfY[label] += (long) y * length;
+    }
+
+    /**
+     * Copies every label of this structure, with its pixels and unions, into target.
+     * Label l here becomes label (offset + l) in target, where offset is the returned value.
+     *
+     * Strip-based finders label each strip into its own GroupUnionFind and then append them
+     * all into one before joining components across strip borders.
+     *
+     * @param target the structure to copy into
+     * @return the offset added to every label of this structure
+     */
+    int appendTo(GroupUnionFind target) {
+        int offset = target.count;
+        for (int label = 1; label <= count; label++) {
+            int copy = target.newLabel();
+            target.add(copy, size[label], sumOfX[label], sumOfY[label]);
+        }
+        for (int label = 1; label <= count; label++) {
+            int root = find(label);
+            if (root != label) target.union(offset + label, offset + root);
+        }
+        return offset;
+    }
+
+    /**
+     * Folds every label's pixels into its root and returns one Group per component,
+     * sorted in DESCENDING order according to Group's compareTo method.
+     *
+     * Centroids use integer division, as required by BinaryGroupFinder.
+     *
+     * @return the groups of all components with at least one pixel
+     */
+    List<Group> groups() {
+        List<Group> groups = new ArrayList<>();
+        foldIntoRoots();
+        for (int label = 1; label <= count; label++) {
+            if (parent[label] == label && size[label] > 0) groups.add(group(label));
+        }
+        Collections.sort(groups, Collections.reverseOrder());
+        return groups;
+    }
+
+    /**
+     * Like {@link #groups()}, but returns only the k greatest groups. Roots are offered to a
+     * bounded heap, so only the kept groups become Group objects and nothing is sorted
+     * beyond those k.
+     *
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups in descending order
+     */
+    List<Group> largestGroups(int k) {
+        TopGroups top = new TopGroups(k);
+        foldIntoRoots();
+        for (int label = 1; label <= count; label++) {
+            long pixels = size[label];
+            if (parent[label] == label && pixels > 0) {
+                top.offer((int) pixels, (int) (sumOfX[label] / pixels), (int) (sumOfY[label] / pixels));
+            }
+        }
+        return top.toList();
+    }
+
+    /**
+     * Folds every label's pixels into its root and returns the root of the greatest
+     * component by Group's natural order, without building any Group.
+     *
+     * @return the root label of the greatest component, or 0 if there are no pixels
+     */
+    int largestRoot() {
+        foldIntoRoots();
+        int best = 0;
+        for (int label = 1; label <= count; label++) {
+            if (parent[label] == label && size[label] > 0 && (best == 0 || compareRoots(label, best) > 0)) {
+                best = label;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Builds the Group of a root label. Only valid after {@link #largestRoot()} or another
+     * method that folds labels into their roots.
+     *
+     * @param root a root label with at least one pixel
+     * @return the component's Group
+     */
+    Group group(int root) {
+        long pixels = size[root];
+        int centroidX = (int) (sumOfX[root] / pixels);
+        int centroidY = (int) (sumOfY[root] / pixels);
+        return new Group((int) pixels, new Coordinate(centroidX, centroidY));
+    }
+
+    // same order as Group.compareTo: size, then centroid x, then centroid y
+    private int compareRoots(int a, int b) {
+        int comp = Long.compare(size[a], size[b]);
+        if (comp != 0) return comp;
+        comp = Long.compare(sumOfX[a] / size[a], sumOfX[b] / size[b]);
+        if (comp != 0) return comp;
+        return Long.compare(sumOfY[a] / size[a], sumOfY[b] / size[b]);
+    }
+
+    private void foldIntoRoots() {
+        for (int label = 1; label <= count; label++) {
+            int root = find(label);
+            if (root != label) {
+                add(root, size[label], sumOfX[label], sumOfY[label]);
+                size[label] = 0;
+                sumOfX[label] = 0;
+                sumOfY[label] = 0;
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = parent.length * 2;
+        parent = Arrays.copyOf(parent, capacity);
+        rank = Arrays.copyOf(rank, capacity);
+        size = Arrays.copyOf(size, capacity);
+        sumOfX = Arrays.copyOf(sumOfX, capacity);
+        sumOfY = Arrays.copyOf(sumOfY, capacity);
+    }
+}
@@ -1,10 +1,12 @@
 package io.github.bellxalli.centroidFinder;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 /**
  * An interface for converting between RGB images and binary (black-and-white) images.
- * A binary image is represented as a 2D array of integers, where each pixel is either 0 (black) or 1 (white).
+ * A binary image is represented as a 2D array of integers, where each pixel is either 0 (black) or 1 (white),
+ * or more compactly as a BinaryMask.
  */
 public interface ImageBinarizer {
 
@@ -28,4 +30,54 @@ public interface ImageBinarizer {
      * @return a BufferedImage representation of the binary array
      */
     public BufferedImage toBufferedImage(int[][] image);
+
+    /**
+     * Converts the given BufferedImage into a BinaryMask.
+     * A pixel is set (white) in the mask exactly when toBinaryArray would give it a 1.
+     *
+     * The default implementation adapts toBinaryArray; implementations should override it
+     * to fill the mask directly and never allocate the int[][].
+     *
+     * @param image the input BufferedImage to convert
+     * @return a mask where set pixels are white and clear pixels are black
+     */
+    public default BinaryMask toBinaryMask(BufferedImage image) {
+        return BinaryMask.fromArray(toBinaryArray(image));
+    }
+
+    /**
+     * Converts the given BufferedImage into a BinaryMask like toBinaryMask(image), but
+     * into buffers recycled from the context instead of new ones. The mask is only valid
+     * until the context is used to binarize another image.
+     *
+     * The default implementation ignores the context and calls toBinaryMask(image).
+     *
+     * @param image the input BufferedImage to convert
+     * @param context the caller's reusable buffers
+     * @return a mask where set pixels are white and clear pixels are black
+     */
+    public default BinaryMask toBinaryMask(BufferedImage image, FrameContext context) {
+        return toBinaryMask(image);
+    }
+
+    /**
+     * Converts a BinaryMask into a BufferedImage.
+     * White pixels are represented as xFFFFFF and black pixels as x000000.
+     *
+     * @param mask the binary mask to convert
+     * @return a BufferedImage representation of the mask
+     */
+    public default BufferedImage toBufferedImage(BinaryMask mask) {
+        int width = mask.width();
+        BufferedImage img = new BufferedImage(width, mask.height(), BufferedImage.TYPE_INT_RGB);
+        // a fresh TYPE_INT_RGB image is backed by one unpadded int[], row-major, already all black
+        int[] pixels = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+
+        for (int y = 0; y < mask.height(); y++) {
+            for (int x = mask.nextSetBit(0, y); x >= 0; x = mask.nextSetBit(x + 1, y)) {
+                pixels[y * width + x] = 0xFFFFFF;
+            }
+        }
+        return img;
+    }
 }
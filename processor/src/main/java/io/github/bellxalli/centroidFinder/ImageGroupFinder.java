@@ -1,6 +1,7 @@
 package io.github.bellxalli.centroidFinder;
 
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface ImageGroupFinder {
@@ -12,4 +13,39 @@ public interface ImageGroupFinder {
      * @return connected groups in an image sorted in descending order
      */
     public List<Group> findConnectedGroups(BufferedImage image);
+
+    /**
+     * Finds only the k greatest connected groups in an image.
+     *
+     * The result always equals the first k groups of findConnectedGroups(image), or all of
+     * them if there are fewer than k. The default implementation adapts to
+     * findConnectedGroups; implementations should override it to skip building and sorting
+     * the full list of groups.
+     *
+     * @param image the image to search
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups sorted in descending order
+     * @throws IllegalArgumentException if k is negative
+     */
+    public default List<Group> findLargestGroups(BufferedImage image, int k) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        List<Group> groups = findConnectedGroups(image);
+        return groups.size() <= k ? groups : new ArrayList<>(groups.subList(0, k));
+    }
+
+    /**
+     * Finds only the k greatest connected groups in an image like findLargestGroups(image, k),
+     * but with working buffers recycled from the context instead of new ones.
+     *
+     * The default implementation ignores the context and calls findLargestGroups(image, k).
+     *
+     * @param image the image to search
+     * @param k the maximum number of groups to return, at least 0
+     * @param context the caller's reusable buffers
+     * @return at most k groups sorted in descending order
+     * @throws IllegalArgumentException if k is negative
+     */
+    public default List<Group> findLargestGroups(BufferedImage image, int k, FrameContext context) {
+        return findLargestGroups(image, k);
+    }
 }
@@ -0,0 +1,80 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * Bulk pixel access helpers for BufferedImage.
+ *
+ * BufferedImage.getRGB(x, y) goes through the ColorModel and bounds checks for every pixel.
+ * For the image types we actually see in practice, TYPE_3BYTE_BGR (what AWTUtil.toBufferedImage
+ * produces for video frames) and TYPE_INT_RGB / TYPE_INT_ARGB (what ImageIO and our own code
+ * produce), the 0xRRGGBB value can be read straight out of the raster's data array instead.
+ * Any other image type falls back to the row-at-a-time getRGB, which gives the same values.
+ */
+final class ImagePixels {
+
+    private ImagePixels() {}
+
+    /**
+     * Reads a horizontal run of pixels as 24-bit RGB integers (0xRRGGBB, alpha removed).
+     *
+     * @param image the image to read from
+     * @param x the column of the first pixel to read
+     * @param y the row to read
+     * @param width the number of pixels to read
+     * @param rgbRow destination array, at least width long; pixel (x + i, y) is written to rgbRow[i]
+     */
+    static void readRow(BufferedImage image, int x, int y, int width, int[] rgbRow) {
+        WritableRaster raster = image.getRaster();
+        DataBuffer buffer = raster.getDataBuffer();
+        SampleModel sampleModel = raster.getSampleModel();
+        int type = image.getType();
+
+        // translate image coordinates into sample model coordinates (non-zero for subimages)
+        int sampleX = x - raster.getSampleModelTranslateX();
+        int sampleY = y - raster.getSampleModelTranslateY();
+
+        if (type == BufferedImage.TYPE_3BYTE_BGR
+                && buffer instanceof DataBufferByte bytes
+                && sampleModel instanceof PixelInterleavedSampleModel interleaved) {
+            byte[] data = bytes.getData();
+            int pixelStride = interleaved.getPixelStride();
+            // getOffset per band rather than getBandOffsets, which copies its array on every call
+            int start = bytes.getOffset();
+            int red = start + interleaved.getOffset(sampleX, sampleY, 0);
+            int green = start + interleaved.getOffset(sampleX, sampleY, 1);
+            int blue = start + interleaved.getOffset(sampleX, sampleY, 2);
+
+            for (int i = 0; i < width; i++) {
+                int p = i * pixelStride;
+                rgbRow[i] = (data[red + p] & 0xFF) << 16 | (data[green + p] & 0xFF) << 8 | (data[blue + p] & 0xFF);
+            }
+            return;
+        }
+
+        if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)
+                && buffer instanceof DataBufferInt ints
+                && sampleModel instanceof SinglePixelPackedSampleModel packed) {
+            int[] data = ints.getData();
+            int start = ints.getOffset() + sampleY * packed.getScanlineStride() + sampleX;
+
+            for (int i = 0; i < width; i++) {
+                rgbRow[i] = data[start + i] & 0x00FFFFFF;
+            }
+            return;
+        }
+
+        // generic path: let the ColorModel convert, one row at a time
+        image.getRGB(x, y, width, 1, rgbRow, 0, width);
+        for (int i = 0; i < width; i++) {
+            rgbRow[i] &= 0x00FFFFFF;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.PrintWriter;
 import java.util.List;
+import java.util.Map;
 import javax.imageio.ImageIO;
 
 /**
@@ -15,6 +16,10 @@ import javax.imageio.ImageIO;
  * 2. A target hex color in the format RRGGBB (for example, "FF0000" for red).
  * 3. An integer threshold for binarization.
  * 
+ * Optional flags may follow:
+ *   --finder=NAME  group finder engine: dfs (default), union-find, runs, parallel, fused or pyramid
+ *   --parallelism=N  threads used by the parallel engine (default: available processors)
+ * 
  * The application performs the following steps:
  * 
  * 1. Loads the input image.
@@ -29,12 +34,12 @@ import javax.imageio.ImageIO;
  *    Coordinates follow the convention: (x:0, y:0) is the top-left, with x increasing to the right and y increasing downward.
  * 
  * Usage:
- *   java ImageSummaryApp <input_image> <hex_target_color> <threshold>
+ *   java ImageSummaryApp <input_image> <hex_target_color> <threshold> [--finder=NAME] [--parallelism=N]
  */
 public class ImageSummaryApp {
     public static void main(String[] args) {
         if (args.length < 3) {
-            System.out.println("Usage: java ImageSummaryApp <input_image> <hex_target_color> <threshold>");
+            System.out.println("Usage: java ImageSummaryApp <input_image> <hex_target_color> <threshold> [--finder=NAME] [--parallelism=N]");
             return;
         }
         
@@ -48,6 +53,16 @@ public class ImageSummaryApp {
             return;
         }
         
+        Map<String, String> options = new ValidateOptions().parseOptions(args, 3);
+        if (options == null) {
+            return;
+        }
+        Integer parallelism = new ValidateOptions()
+                .positiveInt(options, "parallelism", Runtime.getRuntime().availableProcessors());
+        if (parallelism == null) {
+            return;
+        }
+        
         BufferedImage inputImage = null;
         try {
             inputImage = ImageIO.read(new File(inputImagePath));
@@ -70,9 +85,17 @@ public class ImageSummaryApp {
         ColorDistanceFinder distanceFinder = new EuclideanColorDistance();
         ImageBinarizer binarizer = new DistanceImageBinarizer(distanceFinder, targetColor, threshold);
         
+        // Create the ImageGroupFinder for the chosen engine. By default this is a BinarizingImageGroupFinder
+        // with a DFS-based BinaryGroupFinder; the fused engine binarizes and labels in one pass.
+        ImageGroupFinder groupFinder = new GroupFinderFactory(parallelism).createImageFinder(
+                options.getOrDefault("finder", GroupFinderFactory.DEFAULT_FINDER), distanceFinder, targetColor, threshold);
+        if (groupFinder == null) {
+            return;
+        }
+        
         // Binarize the input image.
-        int[][] binaryArray = binarizer.toBinaryArray(inputImage);
-        BufferedImage binaryImage = binarizer.toBufferedImage(binaryArray);
+        BinaryMask binaryMask = binarizer.toBinaryMask(inputImage);
+        BufferedImage binaryImage = binarizer.toBufferedImage(binaryMask);
         
         // Write the binarized image to disk as "binarized.png".
         try {
@@ -83,11 +106,8 @@ public class ImageSummaryApp {
             e.printStackTrace();
         }
         
-        // Create an ImageGroupFinder using a BinarizingImageGroupFinder with a DFS-based BinaryGroupFinder.
-        ImageGroupFinder groupFinder = new BinarizingImageGroupFinder(binarizer, new DfsBinaryGroupFinder());
-        
         // Find connected groups in the input image.
-        // The BinarizingImageGroupFinder is expected to internally binarize the image,
+        // The ImageGroupFinder is expected to internally binarize the image,
         // then locate connected groups of white pixels.
         List<Group> groups = groupFinder.findConnectedGroups(inputImage);
         
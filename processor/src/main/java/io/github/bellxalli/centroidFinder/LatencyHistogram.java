@@ -0,0 +1,88 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * A fixed-size histogram of non-negative durations in nanoseconds, for percentiles that
+ * cost nothing to record.
+ *
+ * Values below 64 get a bucket each; above that, every power of two is split into 32
+ * buckets, so a percentile is reported to within 1/32 (about 3%) of the true value however
+ * large it is, and recording is a few shifts and an array increment. The count, sum and
+ * maximum are exact.
+ *
+ * Instances are not thread-safe.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT = SUB_BUCKETS * 2;
+
+    private final long[] counts = new long[EXACT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records one value; negative values are recorded as 0.
+     *
+     * @param value the value, in nanoseconds
+     */
+    void record(long value) {
+        if (value < 0) value = 0;
+        counts[bucket(value)]++;
+        count++;
+        total += value;
+        if (value > max) max = value;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long total() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    double mean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * The value at the given percentile: the highest value that falls in the same bucket
+     * as the recorded value at that rank, but never more than the maximum.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the value, or 0 if nothing was recorded
+     */
+    long percentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestInBucket(i), max);
+        }
+        return max;
+    }
+
+    private static int bucket(long value) {
+        if (value < EXACT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift); // from SUB_BUCKETS to 2 * SUB_BUCKETS - 1
+        return EXACT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + sub - SUB_BUCKETS;
+    }
+
+    private static long highestInBucket(int bucket) {
+        if (bucket < EXACT) return bucket;
+        int exponent = (bucket - EXACT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long sub = (bucket - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
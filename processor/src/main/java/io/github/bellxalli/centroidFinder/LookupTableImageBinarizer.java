@@ -0,0 +1,29 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * A DistanceImageBinarizer that decides each pixel with a precomputed ColorLookupTable.
+ *
+ * The target color and threshold never change during a run, so whether a pixel is white
+ * is a pure function of its 24-bit color. This binarizer tabulates that function once at
+ * construction time for any ColorDistanceFinder, making the per-pixel cost one table lookup
+ * regardless of how expensive the distance metric is. The output is identical to a
+ * DistanceImageBinarizer built with the same arguments.
+ *
+ * Construction evaluates the metric for all 2^24 colors and keeps a 2 MB table, so reuse
+ * one instance for a whole video rather than creating one per frame.
+ */
+public class LookupTableImageBinarizer extends DistanceImageBinarizer {
+
+    /**
+     * Constructs a LookupTableImageBinarizer, building its lookup table from the given
+     * distance finder, target color and threshold.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the distance threshold used to decide whether a pixel is white or black
+     */
+    public LookupTableImageBinarizer(ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+        super(distanceFinder, targetColor, threshold,
+                new ColorLookupTable(distanceFinder.matcher(targetColor, threshold)));
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.jcodec.api.FrameGrab;
+import org.jcodec.api.JCodecException;
+import org.jcodec.common.io.NIOUtils;
+import org.jcodec.common.io.SeekableByteChannel;
+import org.jcodec.common.model.Picture;
+
+/**
+ * Tracks several targets, for example several colors, in one pass over a video.
+ *
+ * Tracking three colors with VideoProcessor means processing the video three times, and
+ * decoding, which every run repeats, is most of the work. This processor decodes each
+ * frame once, converts it to a BufferedImage once (unless the targets' finders work on
+ * decoded frames directly), and then runs every target's finder on it with the same
+ * recycled buffers. Each target gets its own output file, identical to the one
+ * VideoProcessor would write for that target alone.
+ *
+ * Frames are processed on the calling thread, one after the other.
+ */
+public class MultiTargetVideoProcessor {
+
+    private final ImageGroupFinder[] imageFinders;
+    private final PictureGroupFinder[] pictureFinders;
+    private boolean binaryOutput;
+
+    /**
+     * Constructs a MultiTargetVideoProcessor with one finder per target, each run on the
+     * frame converted to a BufferedImage.
+     *
+     * @param targets the finders used to find every target's connected groups, at least one
+     */
+    public MultiTargetVideoProcessor(ImageGroupFinder... targets) {
+        if (targets.length == 0) throw new IllegalArgumentException("At least one target is required!");
+        this.imageFinders = targets.clone();
+        this.pictureFinders = null;
+    }
+
+    /**
+     * Constructs a MultiTargetVideoProcessor with one finder per target, each run on the
+     * decoded frame directly.
+     *
+     * @param targets the finders used to find every target's connected groups, at least one
+     */
+    public MultiTargetVideoProcessor(PictureGroupFinder... targets) {
+        if (targets.length == 0) throw new IllegalArgumentException("At least one target is required!");
+        this.imageFinders = null;
+        this.pictureFinders = targets.clone();
+    }
+
+    /**
+     * @return the number of targets tracked
+     */
+    public int getTargets() {
+        return imageFinders != null ? imageFinders.length : pictureFinders.length;
+    }
+
+    /**
+     * Chooses whether processVideo writes the compact binary format of BinaryResultWriter
+     * instead of CSVs, like VideoProcessor.setBinaryOutput.
+     *
+     * @param binaryOutput true to write binary results, false (the default) to write CSVs
+     */
+    public void setBinaryOutput(boolean binaryOutput) {
+        this.binaryOutput = binaryOutput;
+    }
+
+    /**
+     * Processes the input video and writes every target's frame-by-frame centroid data to
+     * its own output file, in the order the targets were given.
+     *
+     * The input video file and the list of outputs must be non-null.
+     * If either is null, the method exits without processing.
+     *
+     * @param input the video file to process.
+     * @param outputs the destination files, one per target.
+     * @throws IllegalArgumentException if there isn't one output file per target.
+     * @throws RuntimeException if an I/O or JCodec error occurs during processing, or an
+     *                          output file can't be closed.
+     */
+    public void processVideo(File input, List<File> outputs) {
+        // handle null safely, like VideoProcessor
+        if (input == null || outputs == null)
+            return;
+        int targets = getTargets();
+        if (outputs.size() != targets)
+            throw new IllegalArgumentException("Expected one output file per target!");
+
+        if (imageFinders != null)
+        {
+            for (ImageGroupFinder finder : imageFinders)
+            {
+                // a tracking finder must not carry its target over from a previous video
+                if (finder instanceof TrackingImageGroupFinder tracker)
+                    tracker.reset();
+            }
+        }
+
+        ResultSink[] writers = new ResultSink[targets];
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(input))
+        {
+            FrameGrab grab = FrameGrab.createFrameGrab(channel);
+            double fps = VideoProcessor.frameRate(grab);
+            for (int t = 0; t < targets; t++)
+                writers[t] = VideoProcessor.openResults(outputs.get(t), fps, binaryOutput);
+
+            // buffers recycled from frame to frame and shared by every target
+            FrameContext context = new FrameContext();
+            int frameIndex = 0;
+            Picture picture;
+            while ((picture = grab.getNativeFrame()) != null)
+            {
+                double timeInSeconds = frameIndex / fps;
+
+                // decoded once, converted at most once, searched once per target
+                BufferedImage image = imageFinders != null ? context.image(picture) : null;
+                for (int t = 0; t < targets; t++)
+                {
+                    List<Group> groups = image != null
+                        ? imageFinders[t].findLargestGroups(image, 1, context)
+                        : pictureFinders[t].findLargestGroups(picture, 1, context);
+                    writers[t].writeFrame(frameIndex, timeInSeconds, groups);
+                }
+                frameIndex++;
+            }
+        }
+        catch (IOException | JCodecException e)
+        {
+            throw new RuntimeException("Error processing video: " + e.getMessage(), e);
+        }
+        finally
+        {
+            // every writer is closed, and one that fails to close fails the run
+            try
+            {
+                ResultSink.closeAll(writers);
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeException("Error closing results: " + e.getMessage(), e);
+            }
+        }
+    }
+}
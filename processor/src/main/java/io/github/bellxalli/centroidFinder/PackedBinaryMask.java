@@ -0,0 +1,151 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.Arrays;
+
+/**
+ * A BinaryMask that stores one bit per pixel in an array of long words.
+ *
+ * Rows are stored one after another (row-major) and each row starts on a fresh word, so
+ * row y occupies words [y * wordsPerRow(), (y + 1) * wordsPerRow()). Within a row, pixel x
+ * is bit (x % 64) of word (x / 64). Padding bits past the end of a row are always zero.
+ *
+ * A 4K frame takes about 1 MB this way instead of about 33 MB as an int[][], and whole
+ * words can be tested at once to skip 64 black pixels at a time.
+ */
+public class PackedBinaryMask implements BinaryMask {
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * Constructs an all-black mask of the given size.
+     *
+     * @param width the number of columns
+     * @param height the number of rows
+     */
+    public PackedBinaryMask(int width, int height) {
+        if (width < 0 || height < 0) throw new IllegalArgumentException("Mask size can't be negative!");
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.words = new long[wordsPerRow * height];
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    /**
+     * @return the number of long words used by each row
+     */
+    public int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Returns 64 pixels of row y at once. Bit i of the result is pixel (index * 64 + i, y).
+     *
+     * @param y the row
+     * @param index which word of the row, from 0 to wordsPerRow() - 1
+     * @return the packed pixels
+     */
+    public long word(int y, int index) {
+        return words[y * wordsPerRow + index];
+    }
+
+    /**
+     * Replaces 64 pixels of row y at once. Bit i of value becomes pixel (index * 64 + i, y);
+     * bits past the end of the row are ignored.
+     *
+     * @param y the row
+     * @param index which word of the row, from 0 to wordsPerRow() - 1
+     * @param value the packed pixels
+     */
+    public void setWord(int y, int index, long value) {
+        if (index == wordsPerRow - 1 && (width & 63) != 0) {
+            value &= (1L << (width & 63)) - 1; // keep the padding bits zero
+        }
+        words[y * wordsPerRow + index] = value;
+    }
+
+    @Override
+    public boolean get(int x, int y) {
+        checkBounds(x, y);
+        return (words[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    @Override
+    public void set(int x, int y, boolean white) {
+        checkBounds(x, y);
+        int index = y * wordsPerRow + (x >>> 6);
+        if (white) {
+            words[index] |= 1L << x;
+        } else {
+            words[index] &= ~(1L << x);
+        }
+    }
+
+    @Override
+    public int nextSetBit(int x, int y) {
+        if (x >= width) return -1;
+        int rowStart = y * wordsPerRow;
+        int index = x >>> 6;
+        long word = words[rowStart + index] & (-1L << x);
+        while (true) {
+            if (word != 0) return (index << 6) + Long.numberOfTrailingZeros(word);
+            if (++index == wordsPerRow) return -1;
+            word = words[rowStart + index];
+        }
+    }
+
+    @Override
+    public int nextClearBit(int x, int y) {
+        if (x >= width) return width;
+        int rowStart = y * wordsPerRow;
+        int index = x >>> 6;
+        long word = ~words[rowStart + index] & (-1L << x);
+        while (true) {
+            // padding bits are zero, so they read as clear and cap the result at width
+            if (word != 0) return Math.min(width, (index << 6) + Long.numberOfTrailingZeros(word));
+            if (++index == wordsPerRow) return width;
+            word = ~words[rowStart + index];
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    @Override
+    public PackedBinaryMask copy() {
+        PackedBinaryMask copy = new PackedBinaryMask(width, height);
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+    /**
+     * Copies every pixel of this mask into target, which must have the same size.
+     *
+     * @param target the mask to overwrite
+     */
+    void copyInto(PackedBinaryMask target) {
+        if (target.width != width || target.height != height) {
+            throw new IllegalArgumentException("Masks must have the same size!");
+        }
+        System.arraycopy(words, 0, target.words, 0, words.length);
+    }
+
+    private void checkBounds(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException("Pixel (" + x + ", " + y + ") is outside the mask!");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A BinaryGroupFinder that labels large masks on several cores.
+ *
+ * The mask is split into horizontal strips. Each strip is labeled independently with
+ * run-length labeling (see RunLengthBinaryGroupFinder) as a task on a ForkJoinPool. The
+ * strips' labels are then combined into one union-find, runs on either side of each strip
+ * border are unioned wherever their columns overlap, and the per-label sizes and coordinate
+ * sums are reduced into one Group per component.
+ *
+ * The result is exactly the same List of Groups as the sequential finders, including order.
+ * Masks too small to be worth splitting are labeled on the calling thread.
+ *
+ * Finders can share one pool (see GroupFinderFactory), so several finders working at once
+ * don't each start their own threads. A finder constructed with a number of threads owns
+ * its pool and shuts it down on close.
+ */
+public class ParallelBinaryGroupFinder implements BinaryGroupFinder, AutoCloseable {
+
+    // strips per worker thread, so one strip full of blobs doesn't leave other threads idle
+    private static final int STRIPS_PER_THREAD = 4;
+
+    // fewer rows than this per strip and the border merge costs more than it saves
+    private static final int MIN_STRIP_HEIGHT = 32;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final boolean ownsPool;
+
+    /**
+     * Constructs a ParallelBinaryGroupFinder that labels strips on the common pool.
+     */
+    public ParallelBinaryGroupFinder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a ParallelBinaryGroupFinder with its own pool of the given number of threads,
+     * which close shuts down.
+     *
+     * @param parallelism the number of threads used to label strips, at least 1
+     */
+    public ParallelBinaryGroupFinder(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1!");
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+        this.ownsPool = true;
+    }
+
+    /**
+     * Constructs a ParallelBinaryGroupFinder that labels strips on a shared pool. The pool
+     * belongs to the caller: close leaves it running.
+     *
+     * @param pool the pool used to label strips
+     */
+    public ParallelBinaryGroupFinder(ForkJoinPool pool) {
+        this.parallelism = pool.getParallelism();
+        this.pool = pool;
+        this.ownsPool = false;
+    }
+
+    /**
+     * @return the number of threads used to label strips
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Finds connected pixel groups of 1s in an integer array representing a binary image,
+     * following the BinaryGroupFinder contract (including its NullPointerException and
+     * IllegalArgumentException rules).
+     *
+     * @param image a rectangular 2D array containing only 1s and 0s
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(int[][] image) {
+        return findConnectedGroups(BinaryMask.fromArray(image));
+    }
+
+    /**
+     * Finds connected groups of white pixels in a BinaryMask, labeling strips in parallel.
+     *
+     * @param mask the binary image to search; it must not be modified while this runs
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BinaryMask mask) {
+        return label(mask).groups();
+    }
+
+    /**
+     * Finds only the k greatest connected groups of white pixels in a BinaryMask,
+     * labeling strips in parallel.
+     *
+     * @param mask the binary image to search; it must not be modified while this runs
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BinaryMask mask, int k) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        return label(mask).largestGroups(k);
+    }
+
+    /**
+     * Shuts down the finder's pool if it created one; a shared pool is left running.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
+
+    private GroupUnionFind label(BinaryMask mask) {
+        int height = mask.height();
+        int strips = Math.min(parallelism * STRIPS_PER_THREAD, height / MIN_STRIP_HEIGHT);
+
+        if (strips < 2) {
+            GroupUnionFind sets = new GroupUnionFind();
+            RunLengthBinaryGroupFinder.labelRows(mask, 0, height, sets);
+            return sets;
+        }
+
+        // label every strip on the pool
+        List<ForkJoinTask<Strip>> tasks = new ArrayList<>(strips);
+        for (int i = 0; i < strips; i++) {
+            int fromY = (int) ((long) height * i / strips);
+            int toY = (int) ((long) height * (i + 1) / strips);
+            tasks.add(pool.submit(() -> labelStrip(mask, fromY, toY)));
+        }
+
+        // combine the strips' labels, then join components across each border
+        GroupUnionFind sets = new GroupUnionFind();
+        int[] offsets = new int[strips];
+        Strip above = null;
+        for (int i = 0; i < strips; i++) {
+            Strip strip = tasks.get(i).join();
+            offsets[i] = strip.sets().appendTo(sets);
+            if (above != null) {
+                joinBorder(above.runs().last(), offsets[i - 1], strip.runs().first(), offsets[i], sets);
+            }
+            above = strip;
+        }
+
+        return sets;
+    }
+
+    private static Strip labelStrip(BinaryMask mask, int fromY, int toY) {
+        GroupUnionFind sets = new GroupUnionFind();
+        RunLengthBinaryGroupFinder.StripRuns runs = RunLengthBinaryGroupFinder.labelRows(mask, fromY, toY, sets);
+        return new Strip(sets, runs);
+    }
+
+    /**
+     * Unions every run on the last row of one strip with the runs directly below it on the
+     * first row of the next strip. Both rows are in left-to-right order, so one merge-style
+     * sweep finds every overlapping pair.
+     */
+    private static void joinBorder(RunLabeler.Runs upper, int upperOffset,
+                                   RunLabeler.Runs lower, int lowerOffset,
+                                   GroupUnionFind sets) {
+        int i = 0;
+        int j = 0;
+        while (i < upper.count && j < lower.count) {
+            if (upper.start[i] <= lower.end[j] && lower.start[j] <= upper.end[i]) {
+                sets.union(upperOffset + upper.label[i], lowerOffset + lower.label[j]);
+            }
+            // advance whichever run ends first; the other may still overlap the next run
+            if (upper.end[i] < lower.end[j]) i++;
+            else j++;
+        }
+    }
+
+    private record Strip(GroupUnionFind sets, RunLengthBinaryGroupFinder.StripRuns runs) {}
+}
@@ -0,0 +1,39 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.List;
+
+import org.jcodec.common.model.Picture;
+
+/**
+ * Finds connected groups in a decoded video frame, before it is converted into a
+ * BufferedImage (if it ever is).
+ */
+public interface PictureGroupFinder {
+    /**
+     * Finds the k greatest connected groups in a decoded frame.
+     *
+     * The groups are sorted in DESCENDING order according to Group's compareTo method,
+     * exactly as for the BufferedImage AWTUtil would convert the frame to.
+     *
+     * @param picture the decoded frame
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups sorted in descending order
+     */
+    public List<Group> findLargestGroups(Picture picture, int k);
+
+    /**
+     * Finds the k greatest connected groups in a decoded frame like
+     * findLargestGroups(picture, k), but with working buffers recycled from the context
+     * instead of new ones.
+     *
+     * The default implementation ignores the context and calls findLargestGroups(picture, k).
+     *
+     * @param picture the decoded frame
+     * @param k the maximum number of groups to return, at least 0
+     * @param context the caller's reusable buffers
+     * @return at most k groups sorted in descending order
+     */
+    public default List<Group> findLargestGroups(Picture picture, int k, FrameContext context) {
+        return findLargestGroups(picture, k);
+    }
+}
@@ -0,0 +1,207 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jcodec.api.FrameGrab;
+import org.jcodec.api.JCodecException;
+import org.jcodec.common.io.NIOUtils;
+import org.jcodec.common.io.SeekableByteChannel;
+import org.jcodec.common.model.Picture;
+
+/**
+ * A VideoProcessor that decodes, analyzes and writes frames concurrently.
+ *
+ * The work is split into three stages:
+ *  a decoder thread reads frames with FrameGrab and submits each one for analysis,
+ *  a pool of analysis workers finds each frame's largest group, and
+ *  the calling thread writes the CSV rows strictly in frame order.
+ * The decoder hands the writer one pending result per frame through a bounded queue, so at
+ * most about queueDepth decoded frames are held in memory however long the video is, and
+ * the decoder waits whenever the workers or the writer fall behind.
+ *
+ * The CSV is identical to the one VideoProcessor writes with the same ImageGroupFinder.
+ * The finder is shared by all workers, so it must be thread-safe; the built-in finders
+ * are, except TrackingImageGroupFinder, which needs frames in order and is therefore
+ * always run on a single worker.
+ */
+public class PipelinedVideoProcessor extends VideoProcessor {
+
+    /** Frames decoded ahead of the writer when no queue depth is given. */
+    public static final int DEFAULT_QUEUE_DEPTH = 32;
+
+    // marks the end of the video in the queue of pending rows
+    private static final Future<List<Group>> END = CompletableFuture.completedFuture(null);
+
+    private final int workers;
+    private final int queueDepth;
+
+    /**
+     * Constructs a PipelinedVideoProcessor with one analysis worker per available processor
+     * and the default queue depth.
+     *
+     * @param imageGroupFinder the finder used to find connected groups in each frame
+     */
+    public PipelinedVideoProcessor(ImageGroupFinder imageGroupFinder) {
+        this(imageGroupFinder, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_DEPTH);
+    }
+
+    /**
+     * Constructs a PipelinedVideoProcessor.
+     *
+     * @param imageGroupFinder the finder used to find connected groups in each frame
+     * @param workers the number of analysis threads, at least 1
+     * @param queueDepth the number of frames that may wait between the decoder and the writer, at least 1
+     */
+    public PipelinedVideoProcessor(ImageGroupFinder imageGroupFinder, int workers, int queueDepth) {
+        super(imageGroupFinder);
+        if (workers < 1) throw new IllegalArgumentException("Workers must be at least 1!");
+        if (queueDepth < 1) throw new IllegalArgumentException("Queue depth must be at least 1!");
+        this.workers = imageGroupFinder instanceof TrackingImageGroupFinder ? 1 : workers;
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * Constructs a PipelinedVideoProcessor that finds groups in each decoded frame directly.
+     *
+     * @param pictureGroupFinder the thread-safe finder used to find connected groups in each frame
+     * @param workers the number of analysis threads, at least 1
+     * @param queueDepth the number of frames that may wait between the decoder and the writer, at least 1
+     */
+    public PipelinedVideoProcessor(PictureGroupFinder pictureGroupFinder, int workers, int queueDepth) {
+        super(pictureGroupFinder);
+        if (workers < 1) throw new IllegalArgumentException("Workers must be at least 1!");
+        if (queueDepth < 1) throw new IllegalArgumentException("Queue depth must be at least 1!");
+        this.workers = workers;
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * @return the number of analysis threads
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Processes the input video and writes frame-by-frame centroid data to a CSV file,
+     * exactly like VideoProcessor.processVideo but with decoding, analysis and writing
+     * running concurrently.
+     *
+     * Both the input video file and output CSV file must be non-null.
+     * If either is null, the method exits without processing.
+     *
+     * @param input the video file to process.
+     * @param csvOutput the destination CSV file where frame data will be written.
+     * @throws RuntimeException if an I/O or JCodec error occurs in any stage.
+     */
+    @Override
+    public void processVideo(File input, File csvOutput) {
+        // handle null safely for test case
+        if (input == null || csvOutput == null)
+            return;
+
+        if (imageGroupFinder instanceof TrackingImageGroupFinder tracker)
+            tracker.reset();
+
+        ExecutorService analysis = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "video-analysis");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<Future<List<Group>>> rows = new ArrayBlockingQueue<>(queueDepth);
+        // each analysis worker recycles its own buffers from frame to frame
+        ThreadLocal<FrameContext> contexts = ThreadLocal.withInitial(FrameContext::new);
+        Thread decoder = null;
+
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(input))
+        {
+            FrameGrab grab = FrameGrab.createFrameGrab(channel);
+            double fps = frameRate(grab);
+            int totalFrames = totalFrames(grab); // read before the decoder starts using grab
+            try (ResultSink writer = openResults(csvOutput, fps))
+            {
+                decoder = new Thread(() -> decode(grab, analysis, rows, contexts), "video-decoder");
+                decoder.setDaemon(true);
+                decoder.start();
+
+                // write rows in frame order as their analysis finishes
+                int frameIndex = 0;
+                Future<List<Group>> row;
+                framesProcessed = 0;
+                ProgressTracker progress = trackProgress(totalFrames);
+                while ((row = rows.take()) != END)
+                {
+                    writer.writeFrame(frameIndex, frameIndex / fps, row.get());
+                    frameIndex++;
+                    if (progress != null) progress.frames(frameIndex);
+                }
+                framesProcessed = frameIndex;
+                if (progress != null) progress.finish(frameIndex);
+            }
+        }
+        catch (IOException | JCodecException e)
+        {
+            throw new RuntimeException("Error processing video: " + e.getMessage(), e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error error) throw error;
+            throw new RuntimeException("Error processing video: " + cause.getMessage(), cause);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Video processing was interrupted", e);
+        }
+        finally
+        {
+            // stops the decoder if the writer gave up early
+            if (decoder != null) decoder.interrupt();
+            analysis.shutdownNow();
+        }
+    }
+
+    /**
+     * Decodes every frame and queues its pending groups, then queues END. A decoding error,
+     * or an Error such as OutOfMemoryError, is queued as a failed result so the writer
+     * reports it in frame order instead of waiting for a row that never comes.
+     */
+    private void decode(FrameGrab grab, ExecutorService analysis, BlockingQueue<Future<List<Group>>> rows,
+                        ThreadLocal<FrameContext> contexts) {
+        try
+        {
+            Picture picture;
+            while ((picture = grab.getNativeFrame()) != null)
+            {
+                // the grab reuses its picture buffers, so each worker gets its own copy
+                Picture copy = picture.createCompatible();
+                copy.copyFrom(picture);
+                copy.setCrop(picture.getCrop());
+                rows.put(analysis.submit(() -> pictureGroupFinder.findLargestGroups(copy, 1, contexts.get())));
+            }
+            rows.put(END);
+        }
+        catch (InterruptedException e)
+        {
+            // the writer stopped; nobody is waiting for more rows
+        }
+        catch (Throwable e)
+        {
+            try
+            {
+                rows.put(CompletableFuture.failedFuture(e));
+            }
+            catch (InterruptedException ignored) {}
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.Arrays;
+
+/**
+ * A growable FIFO of pixel indexes, used by DfsBinaryGroupFinder's breadth-first search.
+ * Each pixel is added at most once per group, so the backing array never needs to wrap
+ * around and is reused between groups (and, through a FrameContext, between frames).
+ */
+final class PixelQueue {
+    private int[] items = new int[64];
+    private int head;
+    private int tail;
+
+    void reset() {
+        head = 0;
+        tail = 0;
+    }
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    void add(int item) {
+        if (tail == items.length) items = Arrays.copyOf(items, items.length * 2);
+        items[tail++] = item;
+    }
+
+    int remove() {
+        return items[head++];
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A long-lived processor that takes jobs over a line protocol, for servers that would
+ * otherwise start a new JVM for every video.
+ *
+ * Starting java -jar for each request costs the JVM startup and class loading, and throws
+ * away everything the JIT compiled for the previous video, which for a short clip is most
+ * of the time taken. The daemon is started once, keeps its warm code and its workers'
+ * recycled buffers, and runs each job exactly as VideoSummaryApp would, on a bounded pool
+ * so several requests can be processed at once.
+ *
+ * The protocol is one tab-separated line per message, on stdin and stdout:
+ *  READY                                            – sent once, when jobs are accepted
+ *  JOB id video output targetColor threshold        – runs a job; the id is the caller's
+ *  PROGRESS id frames total fps eta finished        – how far a job has got (see Progress)
+ *  DONE id frames milliseconds                      – the job finished
+ *  FAILED id message                                – the job failed, or its line was invalid
+ *  PING / PONG                                      – health check
+ * The daemon stops after the jobs already submitted once stdin is closed.
+ * An Error in a job, such as OutOfMemoryError, stops it at once with exit code 1.
+ */
+public class ProcessorDaemon {
+
+    private final BatchProcessor processor;
+
+    /**
+     * Constructs a ProcessorDaemon.
+     *
+     * @param processor runs the jobs, on as many threads as it was given
+     */
+    public ProcessorDaemon(BatchProcessor processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * Reads requests until in is closed, runs their jobs, and writes the replies to out.
+     * Returns once every job submitted has finished.
+     *
+     * @param in the requests, one per line
+     * @param out where replies are written, one per line
+     * @throws IOException if in can't be read
+     */
+    public void serve(BufferedReader in, PrintStream out) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(processor.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "daemon-worker");
+            thread.setDaemon(true);
+            // an Error such as OutOfMemoryError leaves the JVM in doubt: stop, so the server
+            // hands the job and any others to one-off processes instead
+            thread.setUncaughtExceptionHandler((failed, error) -> {
+                error.printStackTrace();
+                System.exit(1);
+            });
+            return thread;
+        });
+        // each worker recycles its buffers from one video to the next, for as long as the daemon runs
+        ThreadLocal<FrameContext> contexts = ThreadLocal.withInitial(FrameContext::new);
+        ValidateVideo validate = new ValidateVideo();
+
+        try
+        {
+            reply(out, "READY");
+            String line;
+            while ((line = in.readLine()) != null)
+            {
+                if (line.isBlank()) continue;
+                String[] fields = line.split("\t");
+                switch (fields[0])
+                {
+                    case "PING":
+                        reply(out, "PONG");
+                        break;
+                    case "JOB":
+                        String id = fields.length > 1 ? fields[1] : "-";
+                        int[] colorAndThreshold = fields.length == 6 ? validate.validateColorAndThreshold(fields[4], fields[5]) : null;
+                        if (colorAndThreshold == null)
+                        {
+                            reply(out, "FAILED\t" + id + "\tExpected JOB id video output targetColor threshold");
+                            break;
+                        }
+                        BatchJob job = new BatchJob(new File(fields[2]), colorAndThreshold[0], colorAndThreshold[1], new File(fields[3]));
+                        pool.execute(() -> {
+                            BatchResult result = processor.runJob(job, contexts.get(),
+                                progress -> reply(out, "PROGRESS\t" + id + "\t" + progress.toTabSeparated()));
+                            if (result.succeeded())
+                                reply(out, "DONE\t" + id + "\t" + result.frames() + "\t" + result.elapsedNanos() / 1_000_000);
+                            else
+                                reply(out, "FAILED\t" + id + "\t" + oneLine(String.valueOf(result.error().getMessage())));
+                        });
+                        break;
+                    default:
+                        reply(out, "FAILED\t-\tUnknown request: " + oneLine(fields[0]));
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+            try
+            {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // replies come from several workers, and each must be one whole line
+    private static void reply(PrintStream out, String message) {
+        synchronized (out) {
+            out.print(message + "\n");
+            out.flush();
+        }
+    }
+
+    private static String oneLine(String text) {
+        return text.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    /**
+     * Entry point: serves jobs on stdin and stdout until stdin is closed.
+     *
+     * Optional flags:
+     *  --threads=N – jobs processed at once (default: available processors)
+     *  --finder=NAME – group finder engine, as for VideoSummaryApp (default: dfs)
+     *  --format=binary – write the compact binary results format instead of CSVs
+     *
+     * Everything except the protocol, including the validators' messages, goes to stderr.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        PrintStream protocol = new PrintStream(new FileOutputStream(FileDescriptor.out), false, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+
+        ValidateOptions validateOptions = new ValidateOptions();
+        Map<String, String> options = validateOptions.parseOptions(args, 0);
+        if(options == null) return;
+        Integer threads = validateOptions.positiveInt(options, "threads", Runtime.getRuntime().availableProcessors());
+        if(threads == null) return;
+        String format = options.getOrDefault("format", "csv");
+        if(!format.equals("csv") && !format.equals("binary"))
+        {
+            System.out.println("Unknown output format: " + format + ". Use csv or binary.");
+            return;
+        }
+        String finderName = options.getOrDefault("finder", GroupFinderFactory.DEFAULT_FINDER);
+        GroupFinderFactory factory = new GroupFinderFactory();
+        if(!factory.isKnown(finderName))
+        {
+            System.out.println(GroupFinderFactory.unknownMessage(finderName));
+            return;
+        }
+
+        try(factory)
+        {
+            BatchProcessor processor = new BatchProcessor(factory, finderName, threads);
+            processor.setBinaryOutput(format.equals("binary"));
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            new ProcessorDaemon(processor).serve(in, protocol);
+        }
+    }
+}
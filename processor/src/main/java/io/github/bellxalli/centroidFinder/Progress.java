@@ -0,0 +1,26 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.Locale;
+
+/**
+ * How far a video processor has got with a video.
+ *
+ * @param frames the number of frames written so far
+ * @param totalFrames the number of frames in the video from its metadata, or -1 if unknown
+ * @param framesPerSecond the current processing speed, over the frames since the previous
+ *                        report (over the whole video in the final report)
+ * @param etaSeconds the estimated seconds left at the current speed, or -1 if unknown
+ * @param finished whether this is the final report, sent once every frame is written
+ */
+public record Progress(int frames, int totalFrames, double framesPerSecond, double etaSeconds, boolean finished) {
+
+    /**
+     * @return the report in machine-readable form, without a line break: frames, total
+     *         frames, frames per second, ETA in seconds and whether processing has
+     *         finished (0 or 1), separated by tabs
+     */
+    public String toTabSeparated() {
+        return String.format(Locale.ROOT, "%d\t%d\t%.1f\t%.1f\t%d",
+            frames, totalFrames, framesPerSecond, etaSeconds, finished ? 1 : 0);
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * Receives a video processor's progress reports while it works through a video.
+ *
+ * Reports are sent from the thread that writes the results, at most every few hundred
+ * milliseconds, so a listener should return quickly.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Called with the progress so far.
+     *
+     * @param progress how far processing has got
+     */
+    void progress(Progress progress);
+}
@@ -0,0 +1,68 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * Turns a processor's written frames into throttled Progress reports for a
+ * ProgressListener. The first report is sent when tracking starts, with no frames, so the
+ * listener learns the total at once; after that at most one is sent per interval, and a
+ * final one once every frame is written.
+ *
+ * Instances are not thread-safe; they are used by the thread that writes the results.
+ */
+final class ProgressTracker {
+
+    private final ProgressListener listener;
+    private final int totalFrames;
+    private final long intervalNanos;
+    private final long startNanos;
+    private long lastNanos;
+    private int lastFrames;
+
+    private ProgressTracker(ProgressListener listener, int totalFrames, long intervalNanos) {
+        this.listener = listener;
+        this.totalFrames = totalFrames;
+        this.intervalNanos = intervalNanos;
+        this.startNanos = System.nanoTime();
+        this.lastNanos = startNanos;
+    }
+
+    /**
+     * Starts tracking a video and sends the first report.
+     *
+     * @param listener the listener, or null not to track at all
+     * @param totalFrames the number of frames in the video, or -1 if unknown
+     * @param intervalMillis the least time between reports
+     * @return the tracker, or null if listener is null
+     */
+    static ProgressTracker start(ProgressListener listener, int totalFrames, long intervalMillis) {
+        if (listener == null) return null;
+        ProgressTracker tracker = new ProgressTracker(listener, totalFrames, intervalMillis * 1_000_000);
+        listener.progress(new Progress(0, totalFrames, 0, -1, false));
+        return tracker;
+    }
+
+    /**
+     * Records that frames have been written, sending a report if the interval has passed.
+     *
+     * @param frames the number of frames written so far
+     */
+    void frames(int frames) {
+        long now = System.nanoTime();
+        if (now - lastNanos < intervalNanos) return;
+
+        double framesPerSecond = (frames - lastFrames) * 1e9 / (now - lastNanos);
+        double eta = totalFrames > 0 && framesPerSecond > 0 ? Math.max(0, totalFrames - frames) / framesPerSecond : -1;
+        lastNanos = now;
+        lastFrames = frames;
+        listener.progress(new Progress(frames, totalFrames, framesPerSecond, eta, false));
+    }
+
+    /**
+     * Sends the final report.
+     *
+     * @param frames the number of frames written
+     */
+    void finish(int frames) {
+        long elapsed = System.nanoTime() - startNanos;
+        listener.progress(new Progress(frames, totalFrames, elapsed == 0 ? 0 : frames * 1e9 / elapsed, 0, true));
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * An ImageGroupFinder that finds the largest groups coarse-to-fine, looking at only a
+ * fraction of the pixels of frames where the targets are large.
+ *
+ * The frame is divided into blocks of factor x factor pixels.
+ *  1. Coarse pass: only the center pixel of every block is tested against the target
+ *     color, so a factor of 4 tests 1 pixel in 16.
+ *  2. Every block whose center matched, and its 8 neighbouring blocks, become candidate
+ *     blocks.
+ *  3. Refinement: the candidate blocks, and nothing else, are binarized and labeled at
+ *     full resolution with run-length labeling, so sizes and centroids are exact.
+ *  4. If any group found touches the edge of the candidate area where the pixel just
+ *     outside also matches, that group may continue outside; the whole frame is then
+ *     searched at full resolution instead.
+ *
+ * Every group returned therefore has exactly the size and centroid a full-resolution
+ * search gives it. A group is always found if it contains a factor x factor square of
+ * matching pixels, since such a square always contains a block center. Only a group with
+ * no such square and no pixel in a candidate block (a thin line or a speck far from every
+ * other match) can be missed, so the largest group is exact whenever every group at least
+ * as large as it contains a factor x factor square.
+ *
+ * findConnectedGroups must return every group, however small, so it always searches the
+ * whole frame at full resolution; findLargestGroups uses the pyramid.
+ *
+ * Instances are thread-safe.
+ */
+public class PyramidImageGroupFinder implements ImageGroupFinder {
+
+    /** The block size used when none is given. */
+    public static final int DEFAULT_FACTOR = 4;
+
+    private final ColorMatcher matcher;
+    private final int factor;
+    private final FusedImageGroupFinder fullResolution;
+
+    /**
+     * Constructs a PyramidImageGroupFinder with the default factor that marks a pixel white
+     * when its distance to the target color is less than or equal to the threshold.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the distance threshold used to decide whether a pixel is white or black
+     */
+    public PyramidImageGroupFinder(ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+        this(distanceFinder.matcher(targetColor, threshold), DEFAULT_FACTOR);
+    }
+
+    /**
+     * Constructs a PyramidImageGroupFinder that marks a pixel white when the matcher accepts it.
+     *
+     * @param matcher the color test applied to every tested pixel
+     * @param factor the width and height of a block, at least 2
+     */
+    public PyramidImageGroupFinder(ColorMatcher matcher, int factor) {
+        if (factor < 2) throw new IllegalArgumentException("Factor must be at least 2!");
+        this.matcher = matcher;
+        this.factor = factor;
+        this.fullResolution = new FusedImageGroupFinder(matcher);
+    }
+
+    /**
+     * @return the width and height of a block
+     */
+    public int getFactor() {
+        return factor;
+    }
+
+    /**
+     * Finds all connected groups of matching pixels, searching the whole image at full resolution.
+     *
+     * @param image the input BufferedImage to process
+     * @return connected groups in the image sorted in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BufferedImage image) {
+        return fullResolution.findConnectedGroups(image);
+    }
+
+    /**
+     * Finds the k greatest connected groups coarse-to-fine (see the class description).
+     *
+     * @param image the input BufferedImage to process
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups sorted in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BufferedImage image, int k) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int blocksWide = (width + factor - 1) / factor;
+        int blocksHigh = (height + factor - 1) / factor;
+        if (blocksWide < 3 && blocksHigh < 3) return fullResolution.findLargestGroups(image, k);
+
+        boolean[] candidates = candidates(image, blocksWide, blocksHigh);
+        GroupUnionFind sets = refine(image, candidates, blocksWide, blocksHigh);
+        if (sets == null) return fullResolution.findLargestGroups(image, k);
+        return sets.largestGroups(k);
+    }
+
+    /**
+     * Tests the center pixel of every block and returns the blocks that matched, together
+     * with their neighbours.
+     */
+    private boolean[] candidates(BufferedImage image, int blocksWide, int blocksHigh) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] row = new int[width];
+        boolean[] hits = new boolean[blocksWide * blocksHigh];
+        boolean anyHit = false;
+
+        for (int by = 0; by < blocksHigh; by++) {
+            int y = Math.min(by * factor + factor / 2, height - 1);
+            ImagePixels.readRow(image, 0, y, width, row);
+            for (int bx = 0; bx < blocksWide; bx++) {
+                int x = Math.min(bx * factor + factor / 2, width - 1);
+                if (matcher.matches(row[x])) {
+                    hits[by * blocksWide + bx] = true;
+                    anyHit = true;
+                }
+            }
+        }
+
+        boolean[] candidates = new boolean[blocksWide * blocksHigh];
+        if (!anyHit) return candidates;
+        for (int by = 0; by < blocksHigh; by++) {
+            for (int bx = 0; bx < blocksWide; bx++) {
+                if (!hits[by * blocksWide + bx]) continue;
+                for (int ny = Math.max(0, by - 1); ny <= Math.min(blocksHigh - 1, by + 1); ny++) {
+                    for (int nx = Math.max(0, bx - 1); nx <= Math.min(blocksWide - 1, bx + 1); nx++) {
+                        candidates[ny * blocksWide + nx] = true;
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Labels the matching pixels of the candidate blocks at full resolution.
+     *
+     * @return the labeled groups, or null if a group may continue outside the candidate blocks
+     */
+    private GroupUnionFind refine(BufferedImage image, boolean[] candidates, int blocksWide, int blocksHigh) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] row = new int[width];
+        int[] outside = new int[width];
+        GroupUnionFind sets = new GroupUnionFind();
+        RunLabeler labeler = new RunLabeler(width, sets);
+
+        for (int y = 0; y < height; y++) {
+            int by = y / factor;
+            int blockRow = by * blocksWide;
+            boolean firstRowOfBlock = y == by * factor && by > 0;
+            boolean lastRowOfBlock = y == Math.min(height, (by + 1) * factor) - 1 && by < blocksHigh - 1;
+            labeler.startRow(y);
+
+            // each span is a maximal stretch of candidate blocks on this block row
+            int bx = 0;
+            while (bx < blocksWide) {
+                if (!candidates[blockRow + bx]) {
+                    bx++;
+                    continue;
+                }
+                int firstBlock = bx;
+                while (bx < blocksWide && candidates[blockRow + bx]) bx++;
+                int spanStart = firstBlock * factor;
+                int spanEnd = Math.min(width, bx * factor) - 1;
+
+                ImagePixels.readRow(image, spanStart, y, spanEnd - spanStart + 1, row);
+                int x = spanStart;
+                while (x <= spanEnd) {
+                    if (!matcher.matches(row[x - spanStart])) {
+                        x++;
+                        continue;
+                    }
+                    int start = x;
+                    while (x <= spanEnd && matcher.matches(row[x - spanStart])) x++;
+                    int end = x - 1;
+
+                    // a run at the edge of the candidate area must not continue outside it
+                    if (start == spanStart && start > 0 && matchesAt(image, start - 1, y, outside)) return null;
+                    if (end == spanEnd && end < width - 1 && matchesAt(image, end + 1, y, outside)) return null;
+                    if (firstRowOfBlock && leaksVertically(image, start, end, y - 1, blockRow - blocksWide, candidates, outside)) return null;
+                    if (lastRowOfBlock && leaksVertically(image, start, end, y + 1, blockRow + blocksWide, candidates, outside)) return null;
+
+                    labeler.addRun(start, end);
+                }
+            }
+
+            labeler.endRow();
+        }
+        return sets;
+    }
+
+    /**
+     * Checks whether any pixel of row y, from start to end, lies in a block of the given
+     * block row that isn't a candidate, and matches.
+     */
+    private boolean leaksVertically(BufferedImage image, int start, int end, int y, int blockRow,
+                                    boolean[] candidates, int[] outside) {
+        int x = start;
+        while (x <= end) {
+            int bx = x / factor;
+            int blockEnd = Math.min(end, (bx + 1) * factor - 1);
+            if (!candidates[blockRow + bx]) {
+                int length = blockEnd - x + 1;
+                ImagePixels.readRow(image, x, y, length, outside);
+                for (int i = 0; i < length; i++) {
+                    if (matcher.matches(outside[i])) return true;
+                }
+            }
+            x = blockEnd + 1;
+        }
+        return false;
+    }
+
+    private boolean matchesAt(BufferedImage image, int x, int y, int[] outside) {
+        ImagePixels.readRow(image, x, y, 1, outside);
+        return matcher.matches(outside[0]);
+    }
+}
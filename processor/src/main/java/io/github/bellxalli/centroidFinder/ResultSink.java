@@ -0,0 +1,61 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where a VideoProcessor writes the result of every frame, in frame order: a CSV file
+ * (CsvResultWriter) or a binary results file (BinaryResultWriter).
+ */
+interface ResultSink extends Closeable {
+
+    /**
+     * Writes one frame's largest group.
+     *
+     * @param frameIndex the frame's index in the video
+     * @param timeInSeconds the frame's timestamp
+     * @param x the x of the group's centroid, or -1 if no group was found
+     * @param y the y of the group's centroid, or -1 if no group was found
+     * @param size the number of pixels in the group, or 0 if no group was found
+     * @throws IOException if writing fails
+     */
+    void writeFrame(int frameIndex, double timeInSeconds, int x, int y, int size) throws IOException;
+
+    /**
+     * Writes one frame's largest group, or a frame without groups if the list is empty.
+     *
+     * @param frameIndex the frame's index in the video
+     * @param timeInSeconds the frame's timestamp
+     * @param groups the frame's groups, largest first
+     * @throws IOException if writing fails
+     */
+    default void writeFrame(int frameIndex, double timeInSeconds, List<Group> groups) throws IOException {
+        if (groups.isEmpty()) {
+            writeFrame(frameIndex, timeInSeconds, -1, -1, 0);
+        } else {
+            Group largest = groups.get(0);
+            writeFrame(frameIndex, timeInSeconds, largest.centroid().x(), largest.centroid().y(), largest.size());
+        }
+    }
+
+    /**
+     * Closes every sink, even if closing one of them fails.
+     *
+     * @param sinks the sinks to close; null entries (sinks never opened) are skipped
+     * @throws IOException the first close failure, with any later ones suppressed
+     */
+    static void closeAll(ResultSink[] sinks) throws IOException {
+        IOException failure = null;
+        for (ResultSink sink : sinks) {
+            if (sink == null) continue;
+            try {
+                sink.close();
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+                else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Converts a binary results file, written by VideoSummaryApp with --format=binary, back to
+ * the CSV it would otherwise have written.
+ *
+ * This application takes two command-line arguments:
+ * 1. The path to the binary results file.
+ * 2. The path of the CSV file to write.
+ *
+ * Optional flags may follow:
+ *   --from=SECONDS  the earliest frame time to export (default: the start of the video)
+ *   --to=SECONDS    the latest frame time to export (default: the end of the video)
+ *
+ * Only the blocks of the file that overlap the chosen time range are read.
+ *
+ * Usage:
+ *   java -cp videoprocessor.jar io.github.bellxalli.centroidFinder.ResultsToCsvApp <input> <outputCsv> [--from=SECONDS] [--to=SECONDS]
+ */
+public class ResultsToCsvApp {
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java -cp videoprocessor.jar io.github.bellxalli.centroidFinder.ResultsToCsvApp <input> <outputCsv> [--from=SECONDS] [--to=SECONDS]");
+            return;
+        }
+
+        File input = new File(args[0]);
+        File output = new File(args[1]);
+        if (!input.isFile()) {
+            System.out.println("Input file does not exist: " + input.getPath());
+            return;
+        }
+
+        Map<String, String> options = new ValidateOptions().parseOptions(args, 2);
+        if (options == null) {
+            return;
+        }
+        Double from = seconds(options, "from", Double.NEGATIVE_INFINITY);
+        Double to = seconds(options, "to", Double.POSITIVE_INFINITY);
+        if (from == null || to == null) {
+            return;
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(input)) {
+            if (options.containsKey("from") || options.containsKey("to")) {
+                reader.writeCsv(output, from, to);
+            } else {
+                reader.writeCsv(output);
+            }
+            System.out.println("Wrote " + output.getAbsolutePath() + " from " + reader.getRowCount() + " frames at "
+                + String.format("%.3f", reader.getFps()) + " fps.");
+        } catch (IOException e) {
+            System.out.println("Error converting results: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads an optional flag as a number of seconds, printing an error and returning null
+     * if it isn't a number.
+     */
+    private static Double seconds(Map<String, String> options, String name, double defaultValue) {
+        String value = options.get(name);
+        if (value == null) return defaultValue;
+        try {
+            double parsed = Double.parseDouble(value.trim());
+            if (!Double.isNaN(parsed)) return parsed;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        System.out.println("Invalid value for --" + name + ". Must be a number of seconds.");
+        return null;
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * Links horizontal runs of white pixels into components, one row at a time.
+ *
+ * Rows must be fed top to bottom and the runs of a row left to right. Each run is
+ * connected to every run on the previous row whose columns overlap its own (vertical
+ * neighbours, never diagonal), and the run's size and coordinate sums are added to its
+ * label in the given GroupUnionFind. Only the runs of the current and previous rows are
+ * kept, so memory is O(width) however tall the image is.
+ *
+ * The run-based finders share this class so they only differ in where runs come from:
+ * a BinaryMask, or a color test applied to image pixels on the fly.
+ */
+final class RunLabeler {
+    private final GroupUnionFind sets;
+    private Runs previous;
+    private Runs current;
+    private int y;
+    private int p; // first run on the previous row that may still overlap
+
+    /**
+     * @param width the number of columns in every row
+     * @param sets receives one label per run and the unions between them
+     */
+    RunLabeler(int width, GroupUnionFind sets) {
+        this.sets = sets;
+        // a row has at most (width + 1) / 2 runs
+        int maxRuns = (width + 1) / 2;
+        this.previous = new Runs(maxRuns);
+        this.current = new Runs(maxRuns);
+    }
+
+    /**
+     * Forgets every row, so the next row started has nothing above it. The union-find is
+     * not touched.
+     */
+    void reset() {
+        previous.count = 0;
+        current.count = 0;
+    }
+
+    /**
+     * Starts a new row. The first row started has nothing above it.
+     *
+     * @param row the row's y coordinate
+     */
+    void startRow(int row) {
+        y = row;
+        p = 0;
+        current.count = 0;
+    }
+
+    /**
+     * Adds the run of white pixels from column start to column end (inclusive) to the current row.
+     *
+     * @param start the first column of the run
+     * @param end the last column of the run
+     */
+    void addRun(int start, int end) {
+        // skip runs above that end before this run starts
+        while (p < previous.count && previous.end[p] < start) p++;
+
+        int label = 0;
+        for (int j = p; j < previous.count && previous.start[j] <= end; j++) {
+            label = label == 0 ? previous.label[j] : sets.union(label, previous.label[j]);
+        }
+        if (label == 0) label = sets.newLabel();
+
+        sets.addRun(label, start, end, y);
+        current.add(start, end, label);
+    }
+
+    /**
+     * Finishes the current row; it becomes the row above the next one started.
+     *
+     * @return the runs of the finished row, valid until the next row is finished
+     */
+    Runs endRow() {
+        Runs swap = previous;
+        previous = current;
+        current = swap;
+        return previous;
+    }
+
+    /**
+     * The runs of one row, in left-to-right order, with their labels.
+     */
+    static final class Runs {
+        final int[] start;
+        final int[] end;
+        final int[] label;
+        int count;
+
+        Runs(int capacity) {
+            start = new int[capacity];
+            end = new int[capacity];
+            label = new int[capacity];
+        }
+
+        void add(int runStart, int runEnd, int runLabel) {
+            start[count] = runStart;
+            end[count] = runEnd;
+            label[count] = runLabel;
+            count++;
+        }
+
+        Runs copy() {
+            Runs copy = new Runs(count);
+            System.arraycopy(start, 0, copy.start, 0, count);
+            System.arraycopy(end, 0, copy.end, 0, count);
+            System.arraycopy(label, 0, copy.label, 0, count);
+            copy.count = count;
+            return copy;
+        }
+    }
+}
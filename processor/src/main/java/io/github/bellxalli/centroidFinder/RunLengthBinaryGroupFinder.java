@@ -0,0 +1,125 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.List;
+
+/**
+ * A BinaryGroupFinder that labels runs of white pixels instead of individual pixels.
+ *
+ * Each row of the mask is first split into runs: maximal horizontal stretches of white
+ * pixels, found with BinaryMask.nextSetBit and nextClearBit so black stretches are skipped
+ * a word at a time. A run is connected to every run on the row above whose columns overlap
+ * its own (vertical neighbours, never diagonal), and overlapping runs are unioned in a
+ * GroupUnionFind. A run's size and coordinate sums are computed from its extent alone, so
+ * pixels inside a run are never visited individually.
+ *
+ * Only the runs of the current and previous rows are kept, so the work and memory scale with
+ * the number of runs rather than the number of pixels. This wins on masks made of a few solid
+ * blobs on a large black background. Results are identical to DfsBinaryGroupFinder, including
+ * the order of groups.
+ */
+public class RunLengthBinaryGroupFinder implements BinaryGroupFinder {
+
+    /**
+     * Finds connected pixel groups of 1s in an integer array representing a binary image,
+     * following the BinaryGroupFinder contract (including its NullPointerException and
+     * IllegalArgumentException rules).
+     *
+     * @param image a rectangular 2D array containing only 1s and 0s
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(int[][] image) {
+        return findConnectedGroups(BinaryMask.fromArray(image));
+    }
+
+    /**
+     * Finds connected groups of white pixels in a BinaryMask.
+     *
+     * @param mask the binary image to search
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BinaryMask mask) {
+        GroupUnionFind sets = new GroupUnionFind();
+        labelRows(mask, 0, mask.height(), sets);
+        return sets.groups();
+    }
+
+    /**
+     * Finds only the k greatest connected groups of white pixels in a BinaryMask.
+     *
+     * @param mask the binary image to search
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BinaryMask mask, int k) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        GroupUnionFind sets = new GroupUnionFind();
+        labelRows(mask, 0, mask.height(), sets);
+        return sets.largestGroups(k);
+    }
+
+    /**
+     * Finds only the k greatest connected groups of white pixels in a BinaryMask, labeling
+     * runs with the context's run labeler and union-find.
+     *
+     * @param mask the binary image to search
+     * @param k the maximum number of groups to return, at least 0
+     * @param context the caller's reusable buffers
+     * @return at most k groups in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BinaryMask mask, int k, FrameContext context) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        RunLabeler labeler = context.labeler(mask.width());
+        GroupUnionFind sets = context.sets();
+        labelRows(mask, 0, mask.height(), labeler);
+        return sets.largestGroups(k);
+    }
+
+    /**
+     * Labels the runs of rows fromY (inclusive) to toY (exclusive) into the given sets,
+     * treating row fromY as if nothing were above it.
+     *
+     * Callers that label a mask in horizontal strips use the returned first and last rows
+     * to join runs across strip borders.
+     *
+     * @param mask the binary image to search
+     * @param fromY the first row to label
+     * @param toY one past the last row to label
+     * @param sets receives one label per run and the unions between them
+     * @return the runs (with their labels) of the first and last labeled rows
+     */
+    static StripRuns labelRows(BinaryMask mask, int fromY, int toY, GroupUnionFind sets) {
+        return labelRows(mask, fromY, toY, new RunLabeler(mask.width(), sets));
+    }
+
+    private static StripRuns labelRows(BinaryMask mask, int fromY, int toY, RunLabeler labeler) {
+        int width = mask.width();
+        RunLabeler.Runs first = new RunLabeler.Runs(0);
+        RunLabeler.Runs last = first;
+
+        for (int y = fromY; y < toY; y++) {
+            labeler.startRow(y);
+
+            for (int start = mask.nextSetBit(0, y); start >= 0; start = mask.nextSetBit(start, y)) {
+                int end = mask.nextClearBit(start, y) - 1;
+                labeler.addRun(start, end);
+
+                start = end + 1;
+                if (start >= width) break;
+            }
+
+            last = labeler.endRow();
+            if (y == fromY) first = last.copy();
+        }
+
+        return new StripRuns(first, last);
+    }
+
+    /**
+     * The runs of the first and last row of a labeled strip of rows.
+     */
+    record StripRuns(RunLabeler.Runs first, RunLabeler.Runs last) {}
+}
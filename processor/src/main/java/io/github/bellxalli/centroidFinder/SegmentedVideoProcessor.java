@@ -0,0 +1,233 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jcodec.api.FrameGrab;
+import org.jcodec.api.JCodecException;
+import org.jcodec.common.DemuxerTrackMeta;
+import org.jcodec.common.io.NIOUtils;
+import org.jcodec.common.io.SeekableByteChannel;
+import org.jcodec.common.model.Picture;
+
+/**
+ * A VideoProcessor that decodes one video on several threads at once by splitting it at
+ * keyframes.
+ *
+ * A keyframe (sync sample) can be decoded without any frame before it, so a group of
+ * pictures (GOP) running from one keyframe to the next can be decoded independently of
+ * the rest of the video. The keyframe positions are read from the MP4's sample table and
+ * the video is cut into about as many segments as there are threads, each starting on a
+ * keyframe. Every segment opens its own FrameGrab on the file, seeks to its first
+ * keyframe, and decodes and analyzes its frames on its own thread. The segments' rows
+ * are then written one after the other, so the CSV is in time order and identical to
+ * the one VideoProcessor writes.
+ *
+ * Videos without keyframe information, or with a single keyframe, are processed
+ * sequentially. The finder is shared by all segments, so it must be thread-safe;
+ * TrackingImageGroupFinder, which needs every frame in order, is always run sequentially.
+ */
+public class SegmentedVideoProcessor extends VideoProcessor {
+
+    private final int segments;
+
+    /**
+     * Constructs a SegmentedVideoProcessor that uses up to one segment per available processor.
+     *
+     * @param imageGroupFinder the finder used to find connected groups in each frame
+     */
+    public SegmentedVideoProcessor(ImageGroupFinder imageGroupFinder) {
+        this(imageGroupFinder, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a SegmentedVideoProcessor.
+     *
+     * @param imageGroupFinder the finder used to find connected groups in each frame
+     * @param segments the maximum number of segments decoded at once, at least 1
+     */
+    public SegmentedVideoProcessor(ImageGroupFinder imageGroupFinder, int segments) {
+        super(imageGroupFinder);
+        if (segments < 1) throw new IllegalArgumentException("Segments must be at least 1!");
+        this.segments = segments;
+    }
+
+    /**
+     * Constructs a SegmentedVideoProcessor that finds groups in each decoded frame directly.
+     *
+     * @param pictureGroupFinder the thread-safe finder used to find connected groups in each frame
+     * @param segments the maximum number of segments decoded at once, at least 1
+     */
+    public SegmentedVideoProcessor(PictureGroupFinder pictureGroupFinder, int segments) {
+        super(pictureGroupFinder);
+        if (segments < 1) throw new IllegalArgumentException("Segments must be at least 1!");
+        this.segments = segments;
+    }
+
+    /**
+     * @return the maximum number of segments decoded at once
+     */
+    public int getSegments() {
+        return segments;
+    }
+
+    /**
+     * Processes the input video and writes frame-by-frame centroid data to a CSV file,
+     * exactly like VideoProcessor.processVideo but decoding keyframe-aligned segments of
+     * the video in parallel.
+     *
+     * Both the input video file and output CSV file must be non-null.
+     * If either is null, the method exits without processing.
+     *
+     * @param input the video file to process.
+     * @param csvOutput the destination CSV file where frame data will be written.
+     * @throws RuntimeException if an I/O or JCodec error occurs in any segment.
+     */
+    @Override
+    public void processVideo(File input, File csvOutput) {
+        // handle null safely for test case
+        if (input == null || csvOutput == null)
+            return;
+
+        double fps;
+        int totalFrames;
+        int[] starts;
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(input))
+        {
+            FrameGrab grab = FrameGrab.createFrameGrab(channel);
+            fps = frameRate(grab);
+            totalFrames = totalFrames(grab);
+            DemuxerTrackMeta meta = grab.getVideoTrack().getMeta();
+            starts = segmentStarts(meta.getSeekFrames(), meta.getTotalFrames(), segments);
+        }
+        catch (IOException | JCodecException e)
+        {
+            throw new RuntimeException("Error processing video: " + e.getMessage(), e);
+        }
+
+        if (starts.length < 2 || imageGroupFinder instanceof TrackingImageGroupFinder)
+        {
+            super.processVideo(input, csvOutput);
+            return;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(starts.length, runnable -> {
+            Thread thread = new Thread(runnable, "video-segment");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (ResultSink writer = openResults(csvOutput, fps))
+        {
+            List<Future<int[]>> parts = new ArrayList<>(starts.length);
+            for (int i = 0; i < starts.length; i++)
+            {
+                int start = starts[i];
+                int end = i + 1 < starts.length ? starts[i + 1] : Integer.MAX_VALUE;
+                parts.add(pool.submit(() -> processSegment(input, start, end)));
+            }
+
+            // stitch the segments together in time order; progress advances a segment at a time
+            int frameIndex = 0;
+            framesProcessed = 0;
+            ProgressTracker progress = trackProgress(totalFrames);
+            for (Future<int[]> part : parts)
+            {
+                int[] results = part.get();
+                for (int i = 0; i < results.length; i += 3)
+                {
+                    writer.writeFrame(frameIndex, frameIndex / fps, results[i], results[i + 1], results[i + 2]);
+                    frameIndex++;
+                }
+                if (progress != null) progress.frames(frameIndex);
+            }
+            framesProcessed = frameIndex;
+            if (progress != null) progress.finish(frameIndex);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Error processing video: " + e.getMessage(), e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            throw new RuntimeException("Error processing video: " + cause.getMessage(), cause);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Video processing was interrupted", e);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Decodes and analyzes the frames from start (a keyframe) up to, but not including,
+     * end, with a FrameGrab of its own.
+     *
+     * @return the x, y and size of every frame's largest group (-1, -1, 0 for none), one
+     *         triple per frame
+     */
+    private int[] processSegment(File input, int start, int end) throws IOException, JCodecException {
+        int[] results = new int[96];
+        int count = 0;
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(input))
+        {
+            FrameGrab grab = FrameGrab.createFrameGrab(channel);
+            if (start > 0)
+                grab.seekToFrameSloppy(start); // start is a keyframe, so this lands exactly on it
+
+            FrameContext context = new FrameContext();
+            int frameIndex = start;
+            Picture picture;
+            while (frameIndex < end && (picture = grab.getNativeFrame()) != null)
+            {
+                List<Group> groups = pictureGroupFinder.findLargestGroups(picture, 1, context);
+                if (count == results.length) results = Arrays.copyOf(results, count * 2);
+                results[count++] = groups.isEmpty() ? -1 : groups.get(0).centroid().x();
+                results[count++] = groups.isEmpty() ? -1 : groups.get(0).centroid().y();
+                results[count++] = groups.isEmpty() ? 0 : groups.get(0).size();
+                frameIndex++;
+            }
+        }
+        return Arrays.copyOf(results, count);
+    }
+
+    /**
+     * Picks the first frame of every segment: frame 0 and then, for each further segment,
+     * the first keyframe at or after its even share of the frames. Keyframes that would
+     * start an empty segment are skipped, so fewer segments than asked for may be returned.
+     *
+     * @param keyframes the indexes of the video's keyframes, or null if unknown
+     * @param totalFrames the number of frames in the video
+     * @param segments the maximum number of segments
+     * @return the increasing first frame of every segment, always starting with 0
+     */
+    static int[] segmentStarts(int[] keyframes, int totalFrames, int segments) {
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        if (keyframes != null && totalFrames > 0)
+        {
+            int k = 0;
+            for (int i = 1; i < segments; i++)
+            {
+                long share = (long) totalFrames * i / segments;
+                while (k < keyframes.length && keyframes[k] < share) k++;
+                if (k == keyframes.length) break;
+                if (keyframes[k] > starts.get(starts.size() - 1) && keyframes[k] < totalFrames)
+                    starts.add(keyframes[k]);
+            }
+        }
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Times every stage of processing a video, frame by frame, to show where a job's wall
+ * time goes and to catch regressions on real footage.
+ *
+ * Give a StageProfiler to VideoProcessor.setProfiler. For every frame the processor then
+ * records how long each stage took in a LatencyHistogram (for the mean, p50, p99 and
+ * maximum), how many bytes the processing thread allocated in it, and commits a FrameEvent
+ * for Java Flight Recorder. Each measurement is a System.nanoTime call and an allocation
+ * counter read, well under a microsecond per stage. toJson summarizes it all at the end.
+ *
+ * Stages are timed one after the other as laps: each lap runs from the end of the previous
+ * one, so together they account for all of the frame loop's time. Instances are not
+ * thread-safe and profile the thread that processes the frames.
+ */
+public class StageProfiler {
+
+    /**
+     * The stages of processing a frame.
+     */
+    public enum Stage {
+        /** FrameGrab.getNativeFrame: decoding the next frame. */
+        DECODE,
+        /** Converting the decoded frame to a BufferedImage. */
+        CONVERT,
+        /** Turning the frame into a binary mask. */
+        BINARIZE,
+        /** Finding the connected groups of the mask. */
+        LABEL,
+        /** Binarizing and labeling together, for finders that don't separate them. */
+        ANALYZE,
+        /** Writing the frame's row to the results file. */
+        WRITE;
+
+        /** The stage's name in the JSON summary. */
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+    private final long[] allocated = new long[STAGES.length];
+    private final LatencyHistogram frameHistogram = new LatencyHistogram();
+    private final long[] frameNanos = new long[STAGES.length];
+    private final com.sun.management.ThreadMXBean allocations;
+    private long startNanos;
+    private long endNanos;
+    private boolean started;
+    private boolean finished;
+    private long lastNanos;
+    private long lastAllocated;
+    private long frameStartNanos;
+    private long frameStartAllocated;
+    private FrameEvent event;
+
+    /**
+     * Constructs a StageProfiler with nothing recorded.
+     */
+    public StageProfiler() {
+        for (int s = 0; s < STAGES.length; s++)
+            histograms[s] = new LatencyHistogram();
+
+        // per-thread allocation counters are a HotSpot extension
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean counters && counters.isThreadAllocatedMemorySupported())
+        {
+            counters.setThreadAllocatedMemoryEnabled(true);
+            this.allocations = counters;
+        }
+        else
+        {
+            this.allocations = null;
+        }
+    }
+
+    /**
+     * Marks the start of the frame loop: the first frame's first lap is timed from here.
+     */
+    void start() {
+        startNanos = System.nanoTime();
+        started = true;
+        finished = false;
+        beginFrame(startNanos);
+    }
+
+    /**
+     * Ends a stage of the current frame, timed from the end of the previous stage.
+     *
+     * @param stage the stage that just finished
+     */
+    void lap(Stage stage) {
+        long now = System.nanoTime();
+        long bytes = allocatedBytes();
+        int s = stage.ordinal();
+        histograms[s].record(now - lastNanos);
+        frameNanos[s] += now - lastNanos;
+        if (bytes >= 0) allocated[s] += bytes - lastAllocated;
+        lastNanos = now;
+        lastAllocated = bytes;
+    }
+
+    /**
+     * Ends the current frame, after its last stage, and begins the next one.
+     *
+     * @param frameIndex the index of the frame that just finished
+     */
+    void endFrame(int frameIndex) {
+        frameHistogram.record(lastNanos - frameStartNanos);
+        if (event.shouldCommit())
+        {
+            event.frameIndex = frameIndex;
+            event.decode = frameNanos[Stage.DECODE.ordinal()];
+            event.convert = frameNanos[Stage.CONVERT.ordinal()];
+            event.binarize = frameNanos[Stage.BINARIZE.ordinal()];
+            event.label = frameNanos[Stage.LABEL.ordinal()];
+            event.analyze = frameNanos[Stage.ANALYZE.ordinal()];
+            event.write = frameNanos[Stage.WRITE.ordinal()];
+            event.allocated = lastAllocated >= 0 ? lastAllocated - frameStartAllocated : -1;
+            event.commit();
+        }
+        // the next frame's decoding starts now, so the event's own cost isn't counted
+        beginFrame(System.nanoTime());
+    }
+
+    /**
+     * Marks the end of the frame loop.
+     */
+    void finish() {
+        endNanos = System.nanoTime();
+        finished = true;
+    }
+
+    private void beginFrame(long now) {
+        // a fresh event is only needed while JFR records it; otherwise the uncommitted one is
+        // reused. Either way it exists before the allocation counter is read, so the next
+        // frame's decoding isn't charged for it.
+        if (event == null || event.isEnabled()) event = new FrameEvent();
+        event.begin();
+        lastNanos = now;
+        lastAllocated = allocatedBytes();
+        frameStartNanos = now;
+        frameStartAllocated = lastAllocated;
+        Arrays.fill(frameNanos, 0);
+    }
+
+    private long allocatedBytes() {
+        return allocations == null ? -1 : allocations.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * @return the number of frames profiled
+     */
+    public long getFrames() {
+        return frameHistogram.count();
+    }
+
+    /**
+     * @param stage a stage
+     * @return how many times the stage ran
+     */
+    public long getCount(Stage stage) {
+        return histograms[stage.ordinal()].count();
+    }
+
+    /**
+     * @param stage a stage
+     * @return the total time spent in the stage, in nanoseconds
+     */
+    public long getTotalNanos(Stage stage) {
+        return histograms[stage.ordinal()].total();
+    }
+
+    /**
+     * @param stage a stage
+     * @param percentile the percentile, from 0 to 100
+     * @return the stage's time at that percentile, in nanoseconds, to within about 3%
+     */
+    public long getPercentileNanos(Stage stage, double percentile) {
+        return histograms[stage.ordinal()].percentile(percentile);
+    }
+
+    /**
+     * @param stage a stage
+     * @return the bytes allocated by the processing thread in the stage, or -1 if the JVM
+     *         doesn't count allocations
+     */
+    public long getAllocatedBytes(Stage stage) {
+        return allocations == null ? -1 : allocated[stage.ordinal()];
+    }
+
+    /**
+     * Summarizes the profile as JSON: the number of frames, the wall time and speed of the
+     * frame loop, the time per frame, and for every stage that ran its count, total and
+     * mean time, p50, p99 and maximum, share of the total time, and bytes allocated.
+     * Times are in microseconds unless the name says otherwise.
+     *
+     * @return the summary, pretty-printed
+     */
+    public String toJson() {
+        long frames = getFrames();
+        double wallSeconds = started ? ((finished ? endNanos : System.nanoTime()) - startNanos) / 1e9 : 0;
+        long stagesTotal = 0;
+        long allocatedTotal = 0;
+        for (int s = 0; s < STAGES.length; s++)
+        {
+            stagesTotal += histograms[s].total();
+            allocatedTotal += allocated[s];
+        }
+
+        StringBuilder json = new StringBuilder("{\n");
+        json.append(String.format(Locale.ROOT, "  \"frames\": %d,\n", frames));
+        json.append(String.format(Locale.ROOT, "  \"wallSeconds\": %.3f,\n", wallSeconds));
+        json.append(String.format(Locale.ROOT, "  \"framesPerSecond\": %.1f,\n", wallSeconds == 0 ? 0 : frames / wallSeconds));
+        json.append(String.format(Locale.ROOT, "  \"allocatedBytes\": %d,\n", allocations == null ? -1 : allocatedTotal));
+        json.append("  \"frame\": ").append(summary(frameHistogram, -1, -1)).append(",\n");
+        json.append("  \"stages\": {");
+        String separator = "\n";
+        for (int s = 0; s < STAGES.length; s++)
+        {
+            if (histograms[s].count() == 0) continue;
+            double share = stagesTotal == 0 ? 0 : (double) histograms[s].total() / stagesTotal;
+            json.append(separator).append("    \"").append(STAGES[s].key()).append("\": ")
+                .append(summary(histograms[s], share, allocations == null ? -1 : allocated[s]));
+            separator = ",\n";
+        }
+        json.append("\n  }\n}\n");
+        return json.toString();
+    }
+
+    private static String summary(LatencyHistogram histogram, double share, long bytes) {
+        String json = String.format(Locale.ROOT,
+            "{\"count\": %d, \"totalMillis\": %.3f, \"meanMicros\": %.1f, \"p50Micros\": %.1f, \"p99Micros\": %.1f, \"maxMicros\": %.1f",
+            histogram.count(), histogram.total() / 1e6, histogram.mean() / 1e3, histogram.percentile(50) / 1e3,
+            histogram.percentile(99) / 1e3, histogram.max() / 1e3);
+        if (share >= 0) json += String.format(Locale.ROOT, ", \"share\": %.3f, \"allocatedBytes\": %d", share, bytes);
+        return json + "}";
+    }
+}
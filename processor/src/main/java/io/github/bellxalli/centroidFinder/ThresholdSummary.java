@@ -0,0 +1,29 @@
+package io.github.bellxalli.centroidFinder;
+
+/**
+ * How the largest group behaved over a whole video at one threshold, for comparing
+ * thresholds while tuning: how often a group was found, how big it was, and how far its
+ * centroid jumped from frame to frame (a steady target moves little, noise jumps around).
+ *
+ * @param threshold the threshold
+ * @param frames the number of frames in the video
+ * @param framesWithGroup the number of frames in which a group was found
+ * @param meanSize the mean size of the largest group, over the frames with a group
+ * @param minSize the smallest size of the largest group, or 0 if none was ever found
+ * @param maxSize the greatest size of the largest group, or 0 if none was ever found
+ * @param meanJump the mean distance the centroid moved between consecutive frames that
+ *                 both had a group, or 0 if there were no such frames
+ */
+public record ThresholdSummary(int threshold, int frames, int framesWithGroup, double meanSize,
+                               int minSize, int maxSize, double meanJump) {
+
+    /** The first line of every summary CSV. */
+    public static final String CSV_HEADER = "Threshold, Frames, Frames with group, Mean size, Min size, Max size, Mean jump\n";
+
+    /**
+     * @return the summary as a CSV row, without a line break
+     */
+    public String toCsvRow() {
+        return String.format("%d,%d,%d,%.3f,%d,%d,%.3f", threshold, frames, framesWithGroup, meanSize, minSize, maxSize, meanJump);
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Finds the largest group of one image at many thresholds at once.
+ *
+ * A pixel is white at threshold t when its distance to the target is at most t, so it is
+ * white at every threshold from the ceiling of its distance upwards, and the mask of a
+ * threshold contains the mask of every smaller one. Instead of binarizing and labeling the
+ * image once per threshold, the sweep computes each pixel's distance once, sorts the
+ * pixels by the first threshold at which they turn white, and adds them to a union-find in
+ * that order: the groups only ever grow and merge. After the pixels of each threshold are
+ * in, the largest group is exactly the one a finder would report at that threshold.
+ *
+ * The largest group is tracked as pixels are added: every component that reaches the
+ * largest size seen so far is remembered as a candidate, and at each threshold the
+ * candidates that are still roots of that size are compared like Group.compareTo does.
+ *
+ * All buffers are recycled from image to image. Instances are not thread-safe.
+ */
+final class ThresholdSweep {
+
+    private final ColorDistanceFinder distanceFinder;
+    private final int targetColor;
+    private final int[] thresholds;
+    private int pixels = -1;
+    private int[] stage;
+    private int[] order;
+    private int[] starts;
+    private int[] parent;
+    private int[] size;
+    private long[] sumOfX;
+    private long[] sumOfY;
+    private int[] row = new int[0];
+    private int[] candidates = new int[64];
+    private int candidateCount;
+    private int largestSize;
+
+    /**
+     * @param distanceFinder the distance used to compare pixels with the target
+     * @param targetColor the target color as 0xRRGGBB
+     * @param thresholds the thresholds to sweep, in increasing order without repeats
+     */
+    ThresholdSweep(ColorDistanceFinder distanceFinder, int targetColor, int[] thresholds) {
+        this.distanceFinder = distanceFinder;
+        this.targetColor = targetColor;
+        this.thresholds = thresholds;
+        this.starts = new int[thresholds.length + 2];
+    }
+
+    /**
+     * Finds the largest group of the image at every threshold.
+     *
+     * @param image the image to search
+     * @param largest receives, for every threshold in order, the largest group at that
+     *                threshold, or null if no pixel is white at it
+     */
+    void findLargest(BufferedImage image, Group[] largest) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        prepare(width * height);
+        int levels = thresholds.length;
+
+        // the distance of every pixel, once, as the first threshold at which it is white
+        if (row.length < width) row = new int[width];
+        Arrays.fill(starts, 0);
+        int lastColor = 0;
+        int lastStage = stageOf(distanceFinder.distance(lastColor, targetColor));
+        for (int y = 0; y < height; y++) {
+            ImagePixels.readRow(image, 0, y, width, row);
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                // neighbouring pixels are often the same color
+                if (row[x] != lastColor) {
+                    lastColor = row[x];
+                    lastStage = stageOf(distanceFinder.distance(lastColor, targetColor));
+                }
+                stage[offset + x] = lastStage;
+                starts[lastStage + 1]++;
+            }
+        }
+
+        // sort the pixels by stage, leaving out those that are never white
+        for (int s = 0; s < levels; s++) starts[s + 1] += starts[s];
+        for (int p = 0; p < pixels; p++) {
+            int s = stage[p];
+            if (s < levels) order[starts[s]++] = p;
+        }
+        for (int s = levels; s > 0; s--) starts[s] = starts[s - 1];
+        starts[0] = 0;
+
+        Arrays.fill(parent, 0, pixels, -1);
+        candidateCount = 0;
+        largestSize = 0;
+        int next = 0;
+        for (int s = 0; s < levels; s++) {
+            for (int end = starts[s + 1]; next < end; next++) {
+                add(order[next], width);
+            }
+            largest[s] = largestGroup();
+        }
+    }
+
+    /**
+     * The index of the first threshold at or above the distance, or the number of
+     * thresholds if the distance is above them all.
+     */
+    private int stageOf(double distance) {
+        // distance <= t exactly when its ceiling is, for every int t
+        double level = Math.ceil(distance);
+        int low = 0;
+        int high = thresholds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (thresholds[middle] < level) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    private void prepare(int count) {
+        if (count == pixels) return;
+        pixels = count;
+        stage = new int[count];
+        order = new int[count];
+        parent = new int[count];
+        size = new int[count];
+        sumOfX = new long[count];
+        sumOfY = new long[count];
+    }
+
+    /**
+     * Turns pixel p white and joins it to its white neighbours above, below, left and right.
+     */
+    private void add(int p, int width) {
+        parent[p] = p;
+        size[p] = 1;
+        sumOfX[p] = p % width;
+        sumOfY[p] = p / width;
+        int root = p;
+        int x = p % width;
+        if (x > 0 && parent[p - 1] >= 0) root = union(root, p - 1);
+        if (x + 1 < width && parent[p + 1] >= 0) root = union(root, p + 1);
+        if (p >= width && parent[p - width] >= 0) root = union(root, p - width);
+        if (p + width < pixels && parent[p + width] >= 0) root = union(root, p + width);
+        track(root);
+    }
+
+    /**
+     * Joins the component of root with that of pixel q and returns the joined root.
+     */
+    private int union(int root, int q) {
+        int other = find(q);
+        if (other == root) return root;
+        if (size[other] > size[root]) {
+            int swap = root;
+            root = other;
+            other = swap;
+        }
+        parent[other] = root;
+        size[root] += size[other];
+        sumOfX[root] += sumOfX[other];
+        sumOfY[root] += sumOfY[other];
+        return root;
+    }
+
+    private int find(int p) {
+        while (parent[p] != p) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+
+    private void track(int root) {
+        if (size[root] < largestSize) return;
+        if (size[root] > largestSize) {
+            largestSize = size[root];
+            candidateCount = 0;
+        }
+        if (candidateCount == candidates.length) candidates = Arrays.copyOf(candidates, candidateCount * 2);
+        candidates[candidateCount++] = root;
+    }
+
+    /**
+     * The greatest group among the candidates that are still roots of the largest size,
+     * dropping those that are not.
+     */
+    private Group largestGroup() {
+        Group best = null;
+        int kept = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int root = candidates[i];
+            if (parent[root] != root || size[root] != largestSize) continue;
+            candidates[kept++] = root;
+            Group group = new Group(largestSize, new Coordinate(
+                (int) (sumOfX[root] / largestSize), (int) (sumOfY[root] / largestSize)));
+            if (best == null || group.compareTo(best) > 0) best = group;
+        }
+        candidateCount = kept;
+        return best;
+    }
+}
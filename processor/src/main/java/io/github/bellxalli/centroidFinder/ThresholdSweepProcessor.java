@@ -0,0 +1,197 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jcodec.api.FrameGrab;
+import org.jcodec.api.JCodecException;
+import org.jcodec.common.io.NIOUtils;
+import org.jcodec.common.io.SeekableByteChannel;
+import org.jcodec.common.model.Picture;
+
+/**
+ * Processes a video at many thresholds in one pass, for picking the threshold of a new
+ * video without re-running VideoSummaryApp for every candidate.
+ *
+ * Every frame is decoded and converted once, the distance of each of its pixels to the
+ * target is computed once, and a ThresholdSweep derives the largest group at every
+ * threshold from those distances, making use of the fact that a higher threshold's mask
+ * contains every lower one's. The result is a ThresholdSummary per threshold, written as
+ * one row each to a summary CSV. Optionally the per-frame rows of every threshold can be
+ * written too, identical to what VideoProcessor writes with a finder at that threshold.
+ *
+ * Frames are processed on the calling thread, one after the other.
+ */
+public class ThresholdSweepProcessor {
+
+    private final ColorDistanceFinder distanceFinder;
+    private final int targetColor;
+    private final int[] thresholds;
+    private final int[] sorted;
+
+    /**
+     * Constructs a ThresholdSweepProcessor.
+     *
+     * @param distanceFinder the distance used to compare pixels with the target
+     * @param targetColor the target color as 0xRRGGBB
+     * @param thresholds the thresholds to try, at least one
+     */
+    public ThresholdSweepProcessor(ColorDistanceFinder distanceFinder, int targetColor, int... thresholds) {
+        if (thresholds.length == 0) throw new IllegalArgumentException("At least one threshold is required!");
+        this.distanceFinder = distanceFinder;
+        this.targetColor = targetColor;
+        this.thresholds = thresholds.clone();
+        this.sorted = Arrays.stream(thresholds).sorted().distinct().toArray();
+    }
+
+    /**
+     * @return the thresholds tried, in the order given
+     */
+    public int[] getThresholds() {
+        return thresholds.clone();
+    }
+
+    /**
+     * Processes the input video at every threshold and writes one summary row per
+     * threshold, in the order the thresholds were given, to a CSV file.
+     *
+     * The input video file and summary CSV file must be non-null.
+     * If either is null, the method exits without processing.
+     *
+     * @param input the video file to process.
+     * @param summaryCsv the destination CSV file for the summaries.
+     * @return the summaries, in the order the thresholds were given.
+     * @throws RuntimeException if an I/O or JCodec error occurs during processing.
+     */
+    public List<ThresholdSummary> processVideo(File input, File summaryCsv) {
+        return processVideo(input, summaryCsv, null);
+    }
+
+    /**
+     * Processes the input video at every threshold, writes one summary row per threshold
+     * to a CSV file, and, if frameOutputs is given, each threshold's frame-by-frame
+     * centroid data to its own CSV.
+     *
+     * @param input the video file to process.
+     * @param summaryCsv the destination CSV file for the summaries.
+     * @param frameOutputs the destination CSV files for every threshold's frames, one per
+     *                     threshold in the order given, or null to write only the summary.
+     * @return the summaries, in the order the thresholds were given.
+     * @throws IllegalArgumentException if frameOutputs doesn't have one file per threshold.
+     * @throws RuntimeException if an I/O or JCodec error occurs during processing, or a
+     *                          frame CSV can't be closed.
+     */
+    public List<ThresholdSummary> processVideo(File input, File summaryCsv, List<File> frameOutputs) {
+        // handle null safely, like VideoProcessor
+        if (input == null || summaryCsv == null)
+            return List.of();
+        if (frameOutputs != null && frameOutputs.size() != thresholds.length)
+            throw new IllegalArgumentException("Expected one output file per threshold!");
+
+        Summary[] summaries = new Summary[sorted.length];
+        for (int s = 0; s < sorted.length; s++)
+            summaries[s] = new Summary();
+        ResultSink[] writers = frameOutputs == null ? new ResultSink[0] : new ResultSink[thresholds.length];
+
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(input))
+        {
+            FrameGrab grab = FrameGrab.createFrameGrab(channel);
+            double fps = VideoProcessor.frameRate(grab);
+            for (int i = 0; i < writers.length; i++)
+                writers[i] = VideoProcessor.openResults(frameOutputs.get(i), fps, false);
+
+            ThresholdSweep sweep = new ThresholdSweep(distanceFinder, targetColor, sorted);
+            FrameContext context = new FrameContext();
+            Group[] largest = new Group[sorted.length];
+            int frameIndex = 0;
+            Picture picture;
+            while ((picture = grab.getNativeFrame()) != null)
+            {
+                sweep.findLargest(context.image(picture), largest);
+                for (int s = 0; s < sorted.length; s++)
+                    summaries[s].add(largest[s]);
+                for (int i = 0; i < writers.length; i++)
+                {
+                    Group group = largest[Arrays.binarySearch(sorted, thresholds[i])];
+                    writers[i].writeFrame(frameIndex, frameIndex / fps, group == null ? List.of() : List.of(group));
+                }
+                frameIndex++;
+            }
+        }
+        catch (IOException | JCodecException e)
+        {
+            throw new RuntimeException("Error processing video: " + e.getMessage(), e);
+        }
+        finally
+        {
+            // every writer is closed, and one that fails to close fails the run
+            try
+            {
+                ResultSink.closeAll(writers);
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeException("Error closing results: " + e.getMessage(), e);
+            }
+        }
+
+        List<ThresholdSummary> results = new ArrayList<>(thresholds.length);
+        for (int threshold : thresholds)
+        {
+            int s = Arrays.binarySearch(sorted, threshold);
+            results.add(summaries[s].toSummary(threshold));
+        }
+        try (CsvResultWriter writer = new CsvResultWriter(summaryCsv))
+        {
+            writer.write(ThresholdSummary.CSV_HEADER);
+            for (ThresholdSummary summary : results)
+                writer.write(summary.toCsvRow() + "\n");
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Error writing summary: " + e.getMessage(), e);
+        }
+        return results;
+    }
+
+    /**
+     * Accumulates the largest group of every frame at one threshold.
+     */
+    private static final class Summary {
+        private int frames;
+        private int framesWithGroup;
+        private long totalSize;
+        private int minSize;
+        private int maxSize;
+        private double totalJump;
+        private int jumps;
+        private Group previous;
+
+        void add(Group group) {
+            frames++;
+            if (group != null)
+            {
+                framesWithGroup++;
+                totalSize += group.size();
+                minSize = framesWithGroup == 1 ? group.size() : Math.min(minSize, group.size());
+                maxSize = Math.max(maxSize, group.size());
+                if (previous != null)
+                {
+                    totalJump += Math.hypot(group.centroid().x() - previous.centroid().x(),
+                                            group.centroid().y() - previous.centroid().y());
+                    jumps++;
+                }
+            }
+            previous = group;
+        }
+
+        ThresholdSummary toSummary(int threshold) {
+            return new ThresholdSummary(threshold, frames, framesWithGroup,
+                framesWithGroup == 0 ? 0 : (double) totalSize / framesWithGroup,
+                minSize, maxSize, jumps == 0 ? 0 : totalJump / jumps);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the K greatest groups seen so far, by Group's natural order, in a bounded min-heap.
+ *
+ * Candidates are offered as plain ints, so groups that don't make the cut never become
+ * Group or Coordinate objects. With K = 1 (all the video path needs) every offer is a
+ * single comparison against the current best.
+ *
+ * The heap arrays start small and grow as groups are kept, so a K far larger than the
+ * number of groups (even Integer.MAX_VALUE, meaning "all of them") costs no more memory
+ * than the groups themselves.
+ *
+ * Instances are not thread-safe.
+ */
+final class TopGroups {
+    private static final int INITIAL_SLOTS = 16;
+
+    private final int capacity;
+    private int[] sizes;
+    private int[] xs;
+    private int[] ys;
+    private int count;
+
+    /**
+     * @param k the number of groups to keep, at least 0
+     */
+    TopGroups(int k) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        this.capacity = k;
+        int initial = Math.min(k, INITIAL_SLOTS);
+        this.sizes = new int[initial];
+        this.xs = new int[initial];
+        this.ys = new int[initial];
+    }
+
+    /**
+     * Offers a group; it is kept if it is among the K greatest offered so far.
+     *
+     * @param size the number of pixels in the group
+     * @param x the x coordinate of the group's centroid
+     * @param y the y coordinate of the group's centroid
+     */
+    void offer(int size, int x, int y) {
+        if (count < capacity) {
+            // add at the bottom and sift up toward the smallest-at-root position
+            if (count == sizes.length) grow();
+            int i = count++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(size, x, y, parent) >= 0) break;
+                move(parent, i);
+                i = parent;
+            }
+            set(i, size, x, y);
+        } else if (capacity > 0 && compare(size, x, y, 0) > 0) {
+            // replace the smallest kept group and sift down
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= count) break;
+                if (child + 1 < count && compareSlots(child + 1, child) < 0) child++;
+                if (compare(size, x, y, child) <= 0) break;
+                move(child, i);
+                i = child;
+            }
+            set(i, size, x, y);
+        }
+    }
+
+    /**
+     * @return the kept groups, sorted in DESCENDING order according to Group's compareTo method
+     */
+    List<Group> toList() {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> compareSlots(b, a));
+
+        List<Group> groups = new ArrayList<>(count);
+        for (int slot : order) {
+            groups.add(new Group(sizes[slot], new Coordinate(xs[slot], ys[slot])));
+        }
+        return groups;
+    }
+
+    // doubles the slots, but never past the capacity
+    private void grow() {
+        int length = (int) Math.min((long) sizes.length * 2, capacity);
+        sizes = Arrays.copyOf(sizes, length);
+        xs = Arrays.copyOf(xs, length);
+        ys = Arrays.copyOf(ys, length);
+    }
+
+    // same order as Group.compareTo: size, then centroid x, then centroid y
+    private int compare(int size, int x, int y, int slot) {
+        int comp = Integer.compare(size, sizes[slot]);
+        if (comp != 0) return comp;
+        comp = Integer.compare(x, xs[slot]);
+        if (comp != 0) return comp;
+        return Integer.compare(y, ys[slot]);
+    }
+
+    private int compareSlots(int a, int b) {
+        return compare(sizes[a], xs[a], ys[a], b);
+    }
+
+    private void move(int from, int to) {
+        set(to, sizes[from], xs[from], ys[from]);
+    }
+
+    private void set(int slot, int size, int x, int y) {
+        sizes[slot] = size;
+        xs[slot] = x;
+        ys[slot] = y;
+    }
+}
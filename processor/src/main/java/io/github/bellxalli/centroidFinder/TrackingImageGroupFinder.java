@@ -0,0 +1,307 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An ImageGroupFinder for consecutive video frames that only searches a window around
+ * where the target was in the previous frame.
+ *
+ * findLargestGroups(image, 1), which is what VideoProcessor asks for, remembers the
+ * bounding box of the group it returned. On the next frame only a window around that box
+ * is binarized and labeled: the box grows by a motion margin on every side and, when motion
+ * prediction is on, is shifted by the centroid's movement between the last two frames.
+ * Labeling is fused like FusedImageGroupFinder, so no mask is built.
+ *
+ * The window's answer is only trusted when its largest group lies entirely inside the
+ * window. The whole frame is searched instead when
+ *  there is no previous target (first frame, or the target was lost),
+ *  the window contains no matching pixels, or
+ *  the window's largest group touches a window edge that isn't also a frame edge
+ *  (it may continue outside, or a larger group may be cut off by the window), or
+ *  the window's largest group is less than half the size of the previous target
+ *  (the target probably left the window and something smaller was found instead).
+ *
+ * Whenever the tracked object is the largest group in the frame and stays within the
+ * window, the result is therefore identical to a full-frame search. If a larger group
+ * appears outside the window while the target is still tracked, the tracked target keeps
+ * being reported until it is lost.
+ *
+ * findConnectedGroups, and findLargestGroups with any k other than 1, always search the
+ * whole frame and leave the tracking state alone.
+ *
+ * Instances keep state between frames and are not thread-safe. Use one per video, or call
+ * reset() before the next one.
+ */
+public class TrackingImageGroupFinder implements ImageGroupFinder {
+
+    /** Pixels added to every side of the previous group's bounding box by default. */
+    public static final int DEFAULT_MARGIN = 16;
+
+    private final ColorMatcher matcher;
+    private final int margin;
+    private final boolean predictMotion;
+    private final GroupUnionFind sets = new GroupUnionFind();
+
+    // per-label bounding boxes and edge contact, indexed like the labels in sets
+    private int[] minX = new int[64];
+    private int[] maxX = new int[64];
+    private int[] minY = new int[64];
+    private int[] maxY = new int[64];
+    private boolean[] touchesEdge = new boolean[64];
+    private int seenLabels;
+    private int[] rgbRow = new int[0];
+
+    // the tracked group: its bounding box, centroid and movement since the previous frame
+    private boolean tracking;
+    private int frameWidth;
+    private int frameHeight;
+    private int boxMinX;
+    private int boxMaxX;
+    private int boxMinY;
+    private int boxMaxY;
+    private int lastX;
+    private int lastY;
+    private int lastSize;
+    private int velocityX;
+    private int velocityY;
+
+    private long windowSearches;
+    private long fullFrameSearches;
+    private long pixelsSearched;
+
+    /**
+     * Constructs a TrackingImageGroupFinder that marks a pixel white when its distance to the
+     * target color is less than or equal to the threshold, with the default margin and
+     * motion prediction on.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the distance threshold used to decide whether a pixel is white or black
+     */
+    public TrackingImageGroupFinder(ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+        this(distanceFinder.matcher(targetColor, threshold), DEFAULT_MARGIN, true);
+    }
+
+    /**
+     * Constructs a TrackingImageGroupFinder that marks a pixel white when the matcher accepts it.
+     *
+     * @param matcher the color test applied to every searched pixel
+     * @param margin pixels added to every side of the previous group's bounding box, at least 0
+     * @param predictMotion whether to shift the window by the centroid's last movement
+     */
+    public TrackingImageGroupFinder(ColorMatcher matcher, int margin, boolean predictMotion) {
+        if (margin < 0) throw new IllegalArgumentException("Margin can't be negative!");
+        this.matcher = matcher;
+        this.margin = margin;
+        this.predictMotion = predictMotion;
+    }
+
+    /**
+     * Forgets the tracked target, so the next frame is searched in full.
+     */
+    public void reset() {
+        tracking = false;
+    }
+
+    /**
+     * @return the number of frames answered from the window alone
+     */
+    public long getWindowSearches() {
+        return windowSearches;
+    }
+
+    /**
+     * @return the number of whole-frame searches, including fallbacks after a window search
+     */
+    public long getFullFrameSearches() {
+        return fullFrameSearches;
+    }
+
+    /**
+     * @return the total number of pixels binarized and labeled so far, across all searches
+     */
+    public long getPixelsSearched() {
+        return pixelsSearched;
+    }
+
+    /**
+     * Finds all connected groups of matching pixels in the whole image.
+     *
+     * @param image the input BufferedImage to process
+     * @return connected groups in the image sorted in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BufferedImage image) {
+        label(image, 0, 0, image.getWidth() - 1, image.getHeight() - 1);
+        return sets.groups();
+    }
+
+    /**
+     * Finds the k greatest connected groups. For k = 1 the search is limited to a window
+     * around the tracked target whenever that gives the same answer as the whole frame
+     * (see the class description); other values of k search the whole frame.
+     *
+     * @param image the next frame of the video
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups sorted in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BufferedImage image, int k) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        if (k != 1) {
+            label(image, 0, 0, image.getWidth() - 1, image.getHeight() - 1);
+            return sets.largestGroups(k);
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width != frameWidth || height != frameHeight) {
+            tracking = false;
+            frameWidth = width;
+            frameHeight = height;
+        }
+
+        if (tracking) {
+            int shiftX = predictMotion ? velocityX : 0;
+            int shiftY = predictMotion ? velocityY : 0;
+            int x0 = Math.max(0, boxMinX + shiftX - margin);
+            int x1 = Math.min(width - 1, boxMaxX + shiftX + margin);
+            int y0 = Math.max(0, boxMinY + shiftY - margin);
+            int y1 = Math.min(height - 1, boxMaxY + shiftY + margin);
+
+            boolean wholeFrame = x0 == 0 && y0 == 0 && x1 == width - 1 && y1 == height - 1;
+            if (!wholeFrame && x0 <= x1 && y0 <= y1) {
+                label(image, x0, y0, x1, y1);
+                int root = sets.largestRoot();
+                if (root != 0 && !trackedBox(root)) {
+                    Group group = sets.group(root);
+                    if (group.size() * 2L >= lastSize) {
+                        windowSearches++;
+                        return List.of(track(group, true));
+                    }
+                }
+            }
+        }
+
+        // lost, or the window can't be trusted: search the whole frame
+        fullFrameSearches++;
+        label(image, 0, 0, width - 1, height - 1);
+        int root = sets.largestRoot();
+        if (root == 0) {
+            tracking = false;
+            return List.of();
+        }
+        trackedBox(root);
+        return List.of(track(sets.group(root), false));
+    }
+
+    /**
+     * Makes the given group the tracked target. Its bounding box must already be in
+     * boxMinX..boxMaxY.
+     */
+    private Group track(Group group, boolean followed) {
+        int x = group.centroid().x();
+        int y = group.centroid().y();
+        // after a full-frame search the group may not be the one tracked before
+        velocityX = followed ? x - lastX : 0;
+        velocityY = followed ? y - lastY : 0;
+        lastX = x;
+        lastY = y;
+        lastSize = group.size();
+        tracking = true;
+        return group;
+    }
+
+    /**
+     * Collects the bounding box of the component with the given root into boxMinX..boxMaxY.
+     *
+     * @return whether any run of the component touches a window edge inside the frame
+     */
+    private boolean trackedBox(int root) {
+        boxMinX = Integer.MAX_VALUE;
+        boxMaxX = Integer.MIN_VALUE;
+        boxMinY = Integer.MAX_VALUE;
+        boxMaxY = Integer.MIN_VALUE;
+        boolean edge = false;
+        for (int label = 1; label <= seenLabels; label++) {
+            if (sets.find(label) != root) continue;
+            boxMinX = Math.min(boxMinX, minX[label]);
+            boxMaxX = Math.max(boxMaxX, maxX[label]);
+            boxMinY = Math.min(boxMinY, minY[label]);
+            boxMaxY = Math.max(boxMaxY, maxY[label]);
+            edge |= touchesEdge[label];
+        }
+        return edge;
+    }
+
+    /**
+     * Binarizes and labels the window from (x0, y0) to (x1, y1), inclusive, into sets.
+     * Labels use frame coordinates, so sums and bounding boxes need no offset.
+     */
+    private void label(BufferedImage image, int x0, int y0, int x1, int y1) {
+        int width = x1 - x0 + 1;
+        boolean leftInside = x0 > 0;
+        boolean rightInside = x1 < image.getWidth() - 1;
+        boolean topInside = y0 > 0;
+        boolean bottomInside = y1 < image.getHeight() - 1;
+
+        if (rgbRow.length < width) rgbRow = new int[width];
+        sets.reset();
+        seenLabels = 0;
+        RunLabeler labeler = new RunLabeler(width, sets);
+        pixelsSearched += (long) width * (y1 - y0 + 1);
+
+        for (int y = y0; y <= y1; y++) {
+            ImagePixels.readRow(image, x0, y, width, rgbRow);
+            labeler.startRow(y);
+
+            int i = 0;
+            while (i < width) {
+                if (!matcher.matches(rgbRow[i])) {
+                    i++;
+                    continue;
+                }
+                int start = i;
+                while (i < width && matcher.matches(rgbRow[i])) i++;
+                labeler.addRun(x0 + start, x0 + i - 1);
+            }
+
+            RunLabeler.Runs runs = labeler.endRow();
+            boolean edgeRow = (y == y0 && topInside) || (y == y1 && bottomInside);
+            for (int r = 0; r < runs.count; r++) {
+                int start = runs.start[r];
+                int end = runs.end[r];
+                boolean edge = edgeRow || (start == x0 && leftInside) || (end == x1 && rightInside);
+                addToBox(runs.label[r], start, end, y, edge);
+            }
+        }
+    }
+
+    private void addToBox(int label, int start, int end, int y, boolean edge) {
+        // labels first appear in increasing order, on the run that created them
+        while (seenLabels < label) {
+            int next = ++seenLabels;
+            if (next == minX.length) grow();
+            minX[next] = Integer.MAX_VALUE;
+            maxX[next] = Integer.MIN_VALUE;
+            minY[next] = y;
+            maxY[next] = y;
+            touchesEdge[next] = false;
+        }
+        minX[label] = Math.min(minX[label], start);
+        maxX[label] = Math.max(maxX[label], end);
+        maxY[label] = y;
+        touchesEdge[label] |= edge;
+    }
+
+    private void grow() {
+        int capacity = minX.length * 2;
+        minX = Arrays.copyOf(minX, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        touchesEdge = Arrays.copyOf(touchesEdge, capacity);
+    }
+}
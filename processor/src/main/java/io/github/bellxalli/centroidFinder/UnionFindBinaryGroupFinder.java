@@ -0,0 +1,112 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.List;
+
+/**
+ * A BinaryGroupFinder that uses classic two-pass connected component labeling with a
+ * union-find over provisional labels.
+ *
+ * The first pass walks the image once in row-major order. Each white pixel takes the label
+ * of its white neighbour above or to the left, or a new label if it has neither; when both
+ * neighbours are white with different labels, the two labels are unioned. The pixel's
+ * coordinates are added to its label's running size and coordinate sums as it is labeled.
+ * The second pass runs over the labels rather than the pixels: each label's sums are folded
+ * into its root, and every root becomes a Group.
+ *
+ * Labels live in one flat int[] of width * height, and no per-pixel objects or pixel lists
+ * are created. Results are identical to DfsBinaryGroupFinder, including the order of groups.
+ */
+public class UnionFindBinaryGroupFinder implements BinaryGroupFinder {
+
+    /**
+     * Finds connected pixel groups of 1s in an integer array representing a binary image,
+     * following the BinaryGroupFinder contract (including its NullPointerException and
+     * IllegalArgumentException rules).
+     *
+     * @param image a rectangular 2D array containing only 1s and 0s
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(int[][] image) {
+        return findConnectedGroups(BinaryMask.fromArray(image));
+    }
+
+    /**
+     * Finds connected groups of white pixels in a BinaryMask.
+     *
+     * @param mask the binary image to search
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BinaryMask mask) {
+        return label(mask).groups();
+    }
+
+    /**
+     * Finds only the k greatest connected groups of white pixels in a BinaryMask.
+     *
+     * @param mask the binary image to search
+     * @param k the maximum number of groups to return, at least 0
+     * @return at most k groups in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BinaryMask mask, int k) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        return label(mask).largestGroups(k);
+    }
+
+    /**
+     * Finds only the k greatest connected groups of white pixels in a BinaryMask, using the
+     * context's label array and union-find.
+     *
+     * @param mask the binary image to search
+     * @param k the maximum number of groups to return, at least 0
+     * @param context the caller's reusable buffers
+     * @return at most k groups in descending order
+     */
+    @Override
+    public List<Group> findLargestGroups(BinaryMask mask, int k, FrameContext context) {
+        if (k < 0) throw new IllegalArgumentException("Number of groups can't be negative!");
+        return label(mask, context.labels(mask.width() * mask.height()), context.sets()).largestGroups(k);
+    }
+
+    private GroupUnionFind label(BinaryMask mask) {
+        return label(mask, new int[mask.width() * mask.height()], new GroupUnionFind());
+    }
+
+    /**
+     * Labels the mask into the given sets, using labels (all 0, at least width * height
+     * long) for the label of every pixel.
+     */
+    private GroupUnionFind label(BinaryMask mask, int[] labels, GroupUnionFind sets) {
+        int width = mask.width();
+        int height = mask.height();
+        // labels: 0 = background
+
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * width;
+            for (int x = mask.nextSetBit(0, y); x >= 0; x = mask.nextSetBit(x + 1, y)) {
+                int index = rowStart + x;
+                int up = y > 0 ? labels[index - width] : 0;
+                int left = x > 0 ? labels[index - 1] : 0;
+
+                int label;
+                if (up == 0 && left == 0) {
+                    label = sets.newLabel();
+                } else if (up == 0) {
+                    label = left;
+                } else if (left == 0 || left == up) {
+                    label = up;
+                } else {
+                    label = up;
+                    sets.union(up, left);
+                }
+
+                labels[index] = label;
+                sets.add(label, 1, x, y);
+            }
+        }
+
+        return sets;
+    }
+}
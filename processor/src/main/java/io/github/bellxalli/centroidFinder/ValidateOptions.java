@@ -0,0 +1,67 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utility class for parsing optional command-line flags.
+ *
+ * Optional flags come after an application's positional arguments and take the
+ * form --name=value (or just --name, which is read as --name=true).
+ */
+public class ValidateOptions {
+
+    /**
+     * Parses every argument from index start onward as an optional flag.
+     *
+     * If an argument is not of the form --name or --name=value, an error message
+     * is printed and the method returns null.
+     *
+     * @param args the full command-line argument array
+     * @param start the index of the first optional argument
+     * @return a map from flag name (without the leading dashes) to its value,
+     *         in command-line order, or null if any argument is malformed
+     */
+    public Map<String, String> parseOptions(String[] args, int start) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = start; i < args.length; i++) {
+            String arg = args[i].trim();
+            if (!arg.startsWith("--") || arg.length() == 2) {
+                System.out.println("Invalid option: " + arg + ". Options must look like --name=value.");
+                return null;
+            }
+
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Reads an optional flag as a positive integer.
+     *
+     * If the flag is missing, defaultValue is returned. If it is present but not a
+     * positive integer, an error message is printed and null is returned.
+     *
+     * @param options the parsed options
+     * @param name the flag name, without the leading dashes
+     * @param defaultValue the value to use when the flag is missing
+     * @return the flag's value, defaultValue, or null if the value is invalid
+     */
+    public Integer positiveInt(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        if (value == null) return defaultValue;
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) return parsed;
+        } catch (NumberFormatException e) {
+            System.out.println(e.getMessage());
+        }
+        System.out.println("Invalid value for --" + name + ". Must be a positive integer.");
+        return null;
+    }
+}
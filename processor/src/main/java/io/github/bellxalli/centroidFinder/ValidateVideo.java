@@ -9,6 +9,12 @@ package io.github.bellxalli.centroidFinder;
  */
 public class ValidateVideo {
 
+    /**
+     * The most thresholds validateThresholds accepts: one for every whole color distance
+     * from 0 up to EuclideanColorDistance's maximum, beyond which every pixel matches.
+     */
+    public static final int MAX_THRESHOLDS = EuclideanColorDistance.MAX_DISTANCE + 1;
+
     /**
      * Validates and parses a color and threshold value from string inputs.
      * 
@@ -71,4 +77,64 @@ public class ValidateVideo {
         }
         return validColors;
     }
+
+    /**
+     * Validates and parses a list of thresholds to sweep.
+     *
+     * The list may be given as comma-separated integers (for example 20,40,80) or as an
+     * inclusive range with a step, FROM:TO:STEP (for example 20:200:20). At most
+     * MAX_THRESHOLDS thresholds may be given, one per possible color distance. If the list
+     * is invalid, an error message is printed and the method returns null.
+     *
+     * @param thresholdsArg a string listing the thresholds
+     * @return the thresholds in the order given, or null if the list is invalid
+     */
+    public int[] validateThresholds(String thresholdsArg) {
+        try
+        {
+            String[] range = thresholdsArg.split(":");
+            if(range.length == 3)
+            {
+                int from = Integer.parseInt(range[0].trim());
+                int to = Integer.parseInt(range[1].trim());
+                int step = Integer.parseInt(range[2].trim());
+                if(step <= 0 || to < from)
+                {
+                    System.out.println("Invalid threshold range. Use FROM:TO:STEP with FROM <= TO and a positive STEP.");
+                    return null;
+                }
+                long count = ((long) to - from) / step + 1;
+                if(count > MAX_THRESHOLDS)
+                {
+                    printTooMany(count);
+                    return null;
+                }
+                int[] thresholds = new int[(int) count];
+                for(int i = 0; i < count; i++)
+                    thresholds[i] = from + i * step;
+                return thresholds;
+            }
+
+            String[] parts = thresholdsArg.split(",");
+            if(parts.length > MAX_THRESHOLDS)
+            {
+                printTooMany(parts.length);
+                return null;
+            }
+            int[] thresholds = new int[parts.length];
+            for(int i = 0; i < parts.length; i++)
+                thresholds[i] = Integer.parseInt(parts[i].trim());
+            return thresholds;
+        }
+        catch (NumberFormatException e)
+        {
+            System.out.println(e.getMessage());
+            System.out.println("Invalid thresholds. Use a list such as 20,40,80 or a range such as 20:200:20.");
+            return null;
+        }
+    }
+
+    private static void printTooMany(long count) {
+        System.out.println("Too many thresholds: " + count + ". At most " + MAX_THRESHOLDS + " can be swept at once.");
+    }
 }
@@ -1,9 +1,7 @@
 package io.github.bellxalli.centroidFinder;
 
 import java.awt.image.BufferedImage;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 
@@ -17,8 +15,8 @@ import org.jcodec.scale.AWTUtil;
 /**
  * Processes a video by extracting frames, converting them to binary images,
  * detecting connected groups, and writing centroid information to a CSV file.
- * This class coordinates the workflow between a DistanceImageBinarizer and a 
- * DfsBinaryGroupFinder.
+ * This class coordinates the workflow between an ImageBinarizer (usually a
+ * DistanceImageBinarizer) and a BinaryGroupFinder (DfsBinaryGroupFinder by default).
  * For each decoded video frame, the procesor does the following:
  *  Converts the fram to a BufferedImage
  *  Generates a binary representation of the frame
@@ -32,12 +30,163 @@ import org.jcodec.scale.AWTUtil;
  */
 public class VideoProcessor {
 
-    protected DistanceImageBinarizer binarizer;
-    protected DfsBinaryGroupFinder groupFinder;
+    /** The first line of every CSV file written. */
+    protected static final String CSV_HEADER = "Frame Time, x, y\n";
 
-    public VideoProcessor(DistanceImageBinarizer binarizer, DfsBinaryGroupFinder groupFinder) {
+    /** The least time between progress reports, unless another interval is given. */
+    public static final long DEFAULT_PROGRESS_INTERVAL_MILLIS = 500;
+
+    /**
+     * The binarizer given to the constructor, or taken from a BinarizingImageGroupFinder.
+     * Null when frames are analyzed by any other kind of finder, such as a fused one.
+     */
+    protected ImageBinarizer binarizer;
+    /**
+     * The group finder given to the constructor, or taken from a BinarizingImageGroupFinder
+     * or BinarizingPictureGroupFinder. Null when frames are analyzed by any other kind of finder.
+     */
+    protected BinaryGroupFinder groupFinder;
+    /** The finder for RGB frames; null when constructed with a PictureGroupFinder. */
+    protected ImageGroupFinder imageGroupFinder;
+    protected PictureGroupFinder pictureGroupFinder;
+    private boolean binaryOutput;
+    private FrameContext sharedContext;
+    private ProgressListener progressListener;
+    private StageProfiler profiler;
+    private long progressIntervalMillis = DEFAULT_PROGRESS_INTERVAL_MILLIS;
+    /** The number of frames written by the last call to processVideo. */
+    protected int framesProcessed;
+
+    /**
+     * Constructs a VideoProcessor that binarizes frames with the given binarizer and
+     * labels them with the given group finder.
+     *
+     * @param binarizer the binarizer used to turn each frame into a binary mask
+     * @param groupFinder the group finder used to find connected groups in each mask
+     */
+    public VideoProcessor(ImageBinarizer binarizer, BinaryGroupFinder groupFinder) {
         this.binarizer = binarizer;
         this.groupFinder = groupFinder;
+        this.imageGroupFinder = new BinarizingImageGroupFinder(binarizer, groupFinder);
+        this.pictureGroupFinder = convertingFinder(imageGroupFinder);
+    }
+
+    /**
+     * Constructs a VideoProcessor that finds groups in each frame with the given image
+     * group finder, for example a FusedImageGroupFinder that never builds a binary mask.
+     * The binarizer and groupFinder fields are only set if it is a BinarizingImageGroupFinder.
+     *
+     * @param imageGroupFinder the finder used to find connected groups in each frame
+     */
+    public VideoProcessor(ImageGroupFinder imageGroupFinder) {
+        if (imageGroupFinder instanceof BinarizingImageGroupFinder binarizing) {
+            this.binarizer = binarizing.binarizer();
+            this.groupFinder = binarizing.groupFinder();
+        }
+        this.imageGroupFinder = imageGroupFinder;
+        this.pictureGroupFinder = convertingFinder(imageGroupFinder);
+    }
+
+    /**
+     * Constructs a VideoProcessor that finds groups in each decoded frame directly, for
+     * example a BinarizingPictureGroupFinder that never converts frames to RGB.
+     * The binarizer and imageGroupFinder fields stay null; the groupFinder field is only set
+     * if it is a BinarizingPictureGroupFinder.
+     *
+     * @param pictureGroupFinder the finder used to find connected groups in each frame
+     */
+    public VideoProcessor(PictureGroupFinder pictureGroupFinder) {
+        if (pictureGroupFinder instanceof BinarizingPictureGroupFinder binarizing)
+            this.groupFinder = binarizing.groupFinder();
+        this.pictureGroupFinder = pictureGroupFinder;
+    }
+
+    /**
+     * Chooses whether processVideo writes the compact binary format of BinaryResultWriter
+     * instead of a CSV. BinaryResultReader converts such a file back to the CSV.
+     *
+     * @param binaryOutput true to write binary results, false (the default) to write a CSV
+     */
+    public void setBinaryOutput(boolean binaryOutput) {
+        this.binaryOutput = binaryOutput;
+    }
+
+    /**
+     * @return whether processVideo writes binary results instead of a CSV
+     */
+    public boolean isBinaryOutput() {
+        return binaryOutput;
+    }
+
+    /**
+     * @return the number of frames written by the last call to processVideo
+     */
+    public int getFramesProcessed() {
+        return framesProcessed;
+    }
+
+    /**
+     * Makes processVideo report its progress to the given listener: once when it starts,
+     * at most every DEFAULT_PROGRESS_INTERVAL_MILLIS while frames are written, and once
+     * when every frame is written.
+     *
+     * @param listener the listener, or null (the default) for no reports
+     */
+    public void setProgressListener(ProgressListener listener) {
+        setProgressListener(listener, DEFAULT_PROGRESS_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Makes processVideo report its progress to the given listener: once when it starts,
+     * at most every intervalMillis while frames are written, and once when every frame is
+     * written.
+     *
+     * @param listener the listener, or null for no reports
+     * @param intervalMillis the least time between reports
+     */
+    public void setProgressListener(ProgressListener listener, long intervalMillis) {
+        this.progressListener = listener;
+        this.progressIntervalMillis = intervalMillis;
+    }
+
+    /**
+     * Starts reporting the progress through a video, if a listener was set.
+     *
+     * @param totalFrames the number of frames in the video, or -1 if unknown
+     * @return the tracker to give every written frame to, or null if there is no listener
+     */
+    ProgressTracker trackProgress(int totalFrames) {
+        return ProgressTracker.start(progressListener, totalFrames, progressIntervalMillis);
+    }
+
+    /**
+     * Makes processVideo time every stage of every frame (decoding, converting,
+     * binarizing, labeling and writing) with the given profiler. The results are the same
+     * as without it. Only sequential processing is profiled; the pipelined and segmented
+     * subclasses ignore the profiler.
+     *
+     * @param profiler the profiler, or null (the default) not to profile
+     */
+    public void setProfiler(StageProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Makes processVideo recycle the given context's buffers instead of allocating a new
+     * context for every video, for a worker thread that processes one video after another.
+     * The context must only be used by the thread that calls processVideo.
+     *
+     * @param context the context to use, or null for a new one per video
+     */
+    void setFrameContext(FrameContext context) {
+        this.sharedContext = context;
+    }
+
+    /**
+     * The context for one video: the shared one if set, otherwise a new one.
+     */
+    FrameContext frameContext() {
+        return sharedContext != null ? sharedContext : new FrameContext();
     }
 
     /**
@@ -45,15 +194,19 @@ public class VideoProcessor {
      * The method performs the following steps:
      *  Opens the input video using JCodec
      *  Reads each frame sequentially
-     *  Converts the frame into a BufferedImage
-     *  Binarizes it using the configured DistamceImageBinarizer
-     *  Detects connected pixel groups using the DfsBinaryGroupFinder
+     *  Converts the frame into a BufferedImage, unless a PictureGroupFinder was given
+     *  Binarizes it and detects connected pixel groups using the configured
+     *  ImageGroupFinder (by default the ImageBinarizer followed by the BinaryGroupFinder)
+     *  or PictureGroupFinder
      *  Computes the timestamp based on frame index and FPS
      *  Writes the timestamp and centroid coordinates to the CSV output file
      * 
      * Fallback FPS of 30.0 is used if metadate is missing or unreadable.
      * If no group is detected in a frame, the method writes: time, -1, -1
      * 
+     * If setBinaryOutput(true) was called, the same rows (plus each frame's index and
+     * group size) are written in BinaryResultWriter's format instead.
+     *
      * Both the input video file and output CSV file must be non-null.
      * If either is null, the method exits without processing.  
      *    
@@ -62,84 +215,195 @@ public class VideoProcessor {
      * @throws RuntimeException if an I/O or JCodec error occurs during processing.
      */
     public void processVideo(File input, File csvOutput) {
-        // initializing to null for later use
-        SeekableByteChannel channel = null;
-        BufferedWriter writer = null;
+        // handle null safely for test case
+        if (input == null || csvOutput == null)
+            return;
 
-        try 
+        // open the video file for reading
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(input))
         {
-            // handle null safely for test case
-            if (input == null || csvOutput == null) 
-                return;
-            
-            // open the video file for reading
-            channel = NIOUtils.readableChannel(input);
             FrameGrab grab = FrameGrab.createFrameGrab(channel);
 
-            // create the CSV file for writing output
-            writer = new BufferedWriter(new FileWriter(csvOutput));
-            writer.write("Frame Time, x, y\n"); // write header of CSV
-            int frameIndex = 0;
+            // a tracking finder must not carry its target over from a previous video
+            if (imageGroupFinder instanceof TrackingImageGroupFinder tracker)
+                tracker.reset();
 
             // calculate frames per second (fps) safely
-            double fps = 30.0; // default fallback if metadata is missing
-            try 
-            {
-                var meta = grab.getVideoTrack().getMeta();
-                if (meta.getTotalDuration() > 0 && meta.getTotalFrames() > 0) 
-                    fps = meta.getTotalFrames() / meta.getTotalDuration(); // get timestamp for frames
-    
-            } 
-            catch (Exception e) 
-            {
-                System.out.println("Warning: Could not determine FPS, using default 30.");
-            }
+            double fps = frameRate(grab);
 
-            Picture picture;
-            while ((picture = grab.getNativeFrame()) != null)
+            // create the CSV (or binary results) file for writing output
+            try (ResultSink writer = openResults(csvOutput, fps))
             {
-                // convert to BufferedImage
-                BufferedImage frame = AWTUtil.toBufferedImage(picture);
+                int frameIndex = 0;
+                framesProcessed = 0;
 
-                // convert to binary
-                int[][] binary = binarizer.toBinaryArray(frame);
+                // buffers recycled from frame to frame
+                FrameContext context = frameContext();
+                ProgressTracker progress = trackProgress(totalFrames(grab));
+                if (profiler != null) profiler.start();
 
-                // find groups and centroids
-                List<Group> groups = groupFinder.findConnectedGroups(binary);
+                Picture picture;
+                while ((picture = grab.getNativeFrame()) != null)
+                {
+                    // binarize and find the largest group; only its centroid is written
+                    List<Group> groups;
+                    if (profiler == null)
+                    {
+                        groups = pictureGroupFinder.findLargestGroups(picture, 1, context);
+                    }
+                    else
+                    {
+                        profiler.lap(StageProfiler.Stage.DECODE);
+                        groups = findLargestProfiled(picture, context);
+                    }
 
-                // calculate time for given frame
-                double timeInSeconds = frameIndex / fps;
+                    // calculate time for given frame
+                    double timeInSeconds = frameIndex / fps;
 
-                // adding data from frame to CSV regardless if centroid found or not
-                if (!groups.isEmpty())
-                {
-                    Group largest = groups.get(0);
-                    int x = largest.centroid().x();
-                    int y = largest.centroid().y();
+                    // adding data from frame to CSV regardless if centroid found or not
+                    writer.writeFrame(frameIndex, timeInSeconds, groups);
+                    if (profiler != null)
+                    {
+                        profiler.lap(StageProfiler.Stage.WRITE);
+                        profiler.endFrame(frameIndex);
+                    }
 
-                    writer.write(String.format("%.3f,%d,%d\n", timeInSeconds, x, y));
-                }
-                else
-                {
-                    writer.write(String.format("%.3f,-1,-1\n", timeInSeconds)); // no groups were found
+                    frameIndex++;
+                    if (progress != null) progress.frames(frameIndex);
                 }
-
-                frameIndex++;
+                framesProcessed = frameIndex;
+                if (profiler != null) profiler.finish();
+                if (progress != null) progress.finish(frameIndex);
             }
-
         }
         catch (IOException | JCodecException e)
         {
             throw new RuntimeException("Error processing video: " + e.getMessage(), e);
         }
-        finally
+    }
+
+    /**
+     * Finds the frame's largest group exactly as pictureGroupFinder would, but one stage at
+     * a time so the profiler can time converting, binarizing and labeling apart. Finders
+     * that don't binarize separately are timed as a single analyze stage.
+     */
+    private List<Group> findLargestProfiled(Picture picture, FrameContext context) {
+        List<Group> groups;
+        if (imageGroupFinder == null)
         {
-            try 
+            if (pictureGroupFinder instanceof BinarizingPictureGroupFinder finder)
             {
-                if (writer != null) writer.close();
-                if (channel != null) channel.close(); // close the underlying channel instead of grab
-            } 
-            catch (IOException ignored) {}
+                BinaryMask mask = finder.binarizer().toBinaryMask(picture, context);
+                profiler.lap(StageProfiler.Stage.BINARIZE);
+                groups = finder.groupFinder().findLargestGroups(mask, 1, context);
+                profiler.lap(StageProfiler.Stage.LABEL);
+            }
+            else
+            {
+                groups = pictureGroupFinder.findLargestGroups(picture, 1, context);
+                profiler.lap(StageProfiler.Stage.ANALYZE);
+            }
+            return groups;
+        }
+
+        BufferedImage image = context.image(picture);
+        profiler.lap(StageProfiler.Stage.CONVERT);
+        if (imageGroupFinder instanceof BinarizingImageGroupFinder finder)
+        {
+            BinaryMask mask = finder.binarizer().toBinaryMask(image, context);
+            profiler.lap(StageProfiler.Stage.BINARIZE);
+            groups = finder.groupFinder().findLargestGroups(mask, 1, context);
+            profiler.lap(StageProfiler.Stage.LABEL);
+        }
+        else
+        {
+            groups = imageGroupFinder.findLargestGroups(image, 1, context);
+            profiler.lap(StageProfiler.Stage.ANALYZE);
+        }
+        return groups;
+    }
+
+    /**
+     * Creates the output file for a video with the given frame rate: a CSV with its header
+     * already written, or a binary results file if binary output was chosen.
+     *
+     * @param output the file to write
+     * @param fps the video's frames per second
+     * @return the sink to write every frame's row to
+     * @throws IOException if the file can't be created
+     */
+    ResultSink openResults(File output, double fps) throws IOException {
+        return openResults(output, fps, binaryOutput);
+    }
+
+    /**
+     * Creates the output file for a video with the given frame rate: a CSV with its header
+     * already written, or a binary results file.
+     */
+    static ResultSink openResults(File output, double fps, boolean binary) throws IOException {
+        if (binary)
+            return new BinaryResultWriter(output, fps);
+        CsvResultWriter writer = new CsvResultWriter(output);
+        writer.write(CSV_HEADER); // write header of CSV
+        return writer;
+    }
+
+    /**
+     * Adapts an ImageGroupFinder to decoded frames by converting each frame to a
+     * BufferedImage first, with AWTUtil or into the context's recycled image.
+     */
+    private static PictureGroupFinder convertingFinder(ImageGroupFinder imageGroupFinder) {
+        return new PictureGroupFinder() {
+            @Override
+            public List<Group> findLargestGroups(Picture picture, int k) {
+                return imageGroupFinder.findLargestGroups(AWTUtil.toBufferedImage(picture), k);
+            }
+
+            @Override
+            public List<Group> findLargestGroups(Picture picture, int k, FrameContext context) {
+                return imageGroupFinder.findLargestGroups(context.image(picture), k, context);
+            }
+        };
+    }
+
+    /**
+     * Returns the frames per second of the video, from its total frames and duration.
+     * Fallback FPS of 30.0 is used if metadata is missing or unreadable.
+     *
+     * @param grab the opened video
+     * @return the video's frames per second
+     */
+    protected static double frameRate(FrameGrab grab) {
+        double fps = 30.0; // default fallback if metadata is missing
+        try 
+        {
+            var meta = grab.getVideoTrack().getMeta();
+            if (meta.getTotalDuration() > 0 && meta.getTotalFrames() > 0) 
+                fps = meta.getTotalFrames() / meta.getTotalDuration(); // get timestamp for frames
+
+        } 
+        catch (Exception e) 
+        {
+            System.out.println("Warning: Could not determine FPS, using default 30.");
+        }
+        return fps;
+    }
+
+    /**
+     * Returns the number of frames in the video from its metadata.
+     *
+     * @param grab the opened video
+     * @return the number of frames, or -1 if the metadata is missing or unreadable
+     */
+    protected static int totalFrames(FrameGrab grab) {
+        try
+        {
+            int frames = grab.getVideoTrack().getMeta().getTotalFrames();
+            return frames > 0 ? frames : -1;
+        }
+        catch (Exception e)
+        {
+            return -1;
         }
     }
-}
\ No newline at end of file
+}
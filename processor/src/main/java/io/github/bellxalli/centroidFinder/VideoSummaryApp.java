@@ -1,6 +1,12 @@
 package io.github.bellxalli.centroidFinder;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Command-line application for processing a video and generating a CSV summary
@@ -12,6 +18,38 @@ import java.io.File;
  *  TargetColor – color to track (formats: #RRGGBB, 0xRRGGBB, or RRGGBB)
  *  Threshold   – integer distance threshold used during binarization
  *
+ * Optional flags may follow the four arguments:
+ *  --finder=NAME – group finder engine: dfs (default), union-find, runs, parallel, fused,
+ *                  tracking (searches only around the previous frame's centroid) or
+ *                  pyramid (finds candidates on a 4x coarser grid, then refines them)
+ *  --parallelism=N – threads used by the parallel engine (default: available processors)
+ *  --workers=N – decode, analyze and write concurrently with N analysis threads
+ *                (default: everything on one thread)
+ *  --queue=N – frames decoded ahead of the CSV writer when --workers is given (default: 32)
+ *  --segments=N – decode up to N keyframe-aligned segments of the video in parallel
+ *                 (takes precedence over --workers)
+ *  --yuv – binarize decoded frames straight from their YUV planes instead of converting
+ *          them to RGB (works with the dfs, union-find, runs and parallel engines)
+ *  --format=binary – write the compact binary results format instead of a CSV
+ *                    (ResultsToCsvApp converts it back to the CSV)
+ *  --progress – report progress on stderr while processing, as machine-readable lines
+ *               PROGRESS frames total fps eta finished, separated by tabs (see Progress)
+ *  --profile[=FILE] – time every stage of every frame (decode, convert, binarize, label,
+ *                     write) and print a JSON summary with p50/p99/max times and bytes
+ *                     allocated per stage, or write it to FILE; frames are processed
+ *                     sequentially, and each is also recorded as a JFR event
+ *
+ * Several comma-separated target colors (with one threshold for all of them, or one
+ * comma-separated threshold per color) are tracked in a single pass over the video with
+ * MultiTargetVideoProcessor. Each target gets its own output file, named after the output
+ * path with the target's color and threshold inserted, for example out-FF0000-60.csv;
+ * --workers and --segments don't apply to several targets.
+ *
+ * With --sweep, the threshold argument lists thresholds to try for a single color, as
+ * 20,40,80 or as the range 20:200:20, and the output CSV gets one summary row per
+ * threshold (how often a group was found, its mean, smallest and largest size, and how
+ * far its centroid jumped from frame to frame), all computed in one pass over the video.
+ *
  * The application validates input values, initializes the processing components,
  * and uses VideoProcessor to analyze the video and generate the CSV output.
  * 
@@ -36,16 +74,19 @@ public class VideoSummaryApp {
      * Command-line arguments:
      *   args[0] – input video file path
      *   args[1] – output CSV file path
-     *   args[2] – target color string
-     *   args[3] – threshold value
+     *   args[2] – target color string, or several separated by commas
+     *   args[3] – threshold value, or one per target color separated by commas
+     *   args[4..] – optional --name=value flags
      */
     public static void main(String[] args)
     {
         //checking number of arguments
         if(args.length < 4)
         {
-            System.out.println("Usage: java -jar videoprocessor.jar <inputPath> <outputCsv> <targetColor> <threshold>");
+            System.out.println("Usage: java -jar videoprocessor.jar <inputPath> <outputCsv> <targetColor> <threshold> [--finder=NAME] [--parallelism=N] [--workers=N] [--queue=N] [--segments=N] [--yuv] [--format=csv|binary] [--progress] [--profile[=FILE]] [--sweep]");
             System.out.println("Example: java -jar videoprocessor.jar ballsMoving.mp4 output.csv 0xFF0000 60");
+            System.out.println("Several targets: java -jar videoprocessor.jar ballsMoving.mp4 output.csv FF0000,00FF00 60,80");
+            System.out.println("Threshold sweep: java -jar videoprocessor.jar ballsMoving.mp4 sweep.csv 0xFF0000 20:200:20 --sweep");
             return; 
         }
         
@@ -53,34 +94,204 @@ public class VideoSummaryApp {
         File input = new File(args[0]);
         File output = new File(args[1]);
 
-        //vlaidating and getting targetColor and threshold
-        String colorArg = args[2].trim();
-        String thresholdArg = args[3].trim();
+        //validating and getting optional flags
+        Map<String, String> options = new ValidateOptions().parseOptions(args, 4);
+        if(options == null) return;
+
+        //sweep mode: try a list of thresholds for one color in a single pass
+        if(options.containsKey("sweep"))
+        {
+            sweep(input, output, args[2].trim(), args[3].trim());
+            return;
+        }
+
+        //vlaidating and getting targetColor and threshold; several comma-separated colors
+        //track several targets in one pass, with one threshold for all or one per color
+        String[] colorArgs = args[2].trim().split(",");
+        String[] thresholdArgs = args[3].trim().split(",");
+        if(thresholdArgs.length != 1 && thresholdArgs.length != colorArgs.length)
+        {
+            System.out.println("Give one threshold, or one per target color.");
+            return;
+        }
+        int[] targetColors = new int[colorArgs.length];
+        int[] thresholds = new int[colorArgs.length];
         ValidateVideo validateNumbers = new ValidateVideo();
-        int[] validIntInputs = validateNumbers.validateColorAndThreshold(colorArg, thresholdArg);
-        int targetColor = validIntInputs[0];
-        int threshold = validIntInputs[1];
+        for(int i = 0; i < colorArgs.length; i++)
+        {
+            String thresholdArg = thresholdArgs[Math.min(i, thresholdArgs.length - 1)];
+            int[] validIntInputs = validateNumbers.validateColorAndThreshold(colorArgs[i].trim(), thresholdArg.trim());
+            if(validIntInputs == null) return;
+            targetColors[i] = validIntInputs[0];
+            thresholds[i] = validIntInputs[1];
+        }
+
+        //write a csv unless the compact binary format was asked for
+        String format = options.getOrDefault("format", "csv");
+        if(!format.equals("csv") && !format.equals("binary"))
+        {
+            System.out.println("Unknown output format: " + format + ". Use csv or binary.");
+            return;
+        }
 
         //validating and getting file
         ValidateFileInput validInput = new ValidateFileInput();
         input = validInput.fileValidate(input);       
 
-        //use euclidean color distance finder, binarizer, dsfgroupfinder
+        //use euclidean color distance finder with the chosen engine (binarizer + dfs by default)
         ColorDistanceFinder distance = new EuclideanColorDistance();
-        DistanceImageBinarizer binarizer = new DistanceImageBinarizer(distance, targetColor, threshold);
-        DfsBinaryGroupFinder groupFinder = new DfsBinaryGroupFinder();
+        String finderName = options.getOrDefault("finder", GroupFinderFactory.DEFAULT_FINDER);
+        Integer parallelism = new ValidateOptions().positiveInt(options, "parallelism", Runtime.getRuntime().availableProcessors());
+        if(parallelism == null) return;
+        try(GroupFinderFactory factory = new GroupFinderFactory(parallelism))
+        {
+            boolean yuv = options.containsKey("yuv");
+            ImageGroupFinder[] groupFinders = new ImageGroupFinder[targetColors.length];
+            PictureGroupFinder[] pictureFinders = new PictureGroupFinder[targetColors.length];
+            for(int i = 0; i < targetColors.length; i++)
+            {
+                if(yuv)
+                {
+                    BinaryGroupFinder binaryFinder = factory.create(finderName);
+                    if(binaryFinder == null) return;
+                    pictureFinders[i] = new BinarizingPictureGroupFinder(new YuvPictureBinarizer(distance, targetColors[i], thresholds[i]), binaryFinder);
+                }
+                else
+                {
+                    groupFinders[i] = factory.createImageFinder(finderName, distance, targetColors[i], thresholds[i]);
+                    if(groupFinders[i] == null) return;
+                }
+            }
+
+            if(targetColors.length > 1)
+            {
+                //decode once and search every frame for every target, one output file each
+                List<File> outputs = new ArrayList<>();
+                for(int i = 0; i < targetColors.length; i++)
+                    outputs.add(targetOutput(output, targetColors[i], thresholds[i]));
+                MultiTargetVideoProcessor processor = yuv ? new MultiTargetVideoProcessor(pictureFinders) : new MultiTargetVideoProcessor(groupFinders);
+                processor.setBinaryOutput(format.equals("binary"));
+                processor.processVideo(input, outputs);
+
+                System.out.println("✅ Video processed successfully!");
+                System.out.println("   Input file: " + input.getName());
+                for(int i = 0; i < targetColors.length; i++)
+                    System.out.println("   Target " + String.format("#%06X", targetColors[i]) + " (threshold " + thresholds[i] + "): " + outputs.get(i).getAbsolutePath());
+                System.out.println("   Group finder: " + finderName + (yuv ? " (YUV planes)" : ""));
+                return;
+            }
+            int targetColor = targetColors[0];
+            int threshold = thresholds[0];
+            ImageGroupFinder groupFinder = groupFinders[0];
+            PictureGroupFinder pictureFinder = pictureFinders[0];
 
-        //use video processor
-        VideoProcessor processor = new VideoProcessor(binarizer, groupFinder);
+            //use video processor, segmented or pipelined if asked for
+            Integer workers = new ValidateOptions().positiveInt(options, "workers", 1);
+            Integer queueDepth = new ValidateOptions().positiveInt(options, "queue", PipelinedVideoProcessor.DEFAULT_QUEUE_DEPTH);
+            Integer segments = new ValidateOptions().positiveInt(options, "segments", 1);
+            if(workers == null || queueDepth == null || segments == null) return;
+            //profiling times the stages of sequential processing
+            boolean profile = options.containsKey("profile");
+            if(profile && (options.containsKey("segments") || options.containsKey("workers")))
+            {
+                System.out.println("Note: --profile processes frames sequentially; ignoring --workers and --segments.");
+                options.remove("segments");
+                options.remove("workers");
+            }
+            VideoProcessor processor;
+            if(options.containsKey("segments"))
+                processor = yuv ? new SegmentedVideoProcessor(pictureFinder, segments) : new SegmentedVideoProcessor(groupFinder, segments);
+            else if(options.containsKey("workers"))
+                processor = yuv ? new PipelinedVideoProcessor(pictureFinder, workers, queueDepth) : new PipelinedVideoProcessor(groupFinder, workers, queueDepth);
+            else
+                processor = yuv ? new VideoProcessor(pictureFinder) : new VideoProcessor(groupFinder);
+            processor.setBinaryOutput(format.equals("binary"));
+            if(options.containsKey("progress"))
+                processor.setProgressListener(progress -> System.err.println("PROGRESS\t" + progress.toTabSeparated()));
+            StageProfiler profiler = profile ? new StageProfiler() : null;
+            processor.setProfiler(profiler);
 
-        //process video and get csv
-        processor.processVideo(input, output);
+            //process video and get csv
+            processor.processVideo(input, output);
 
-        //tells me what's happened
-        System.out.println("✅ Video processed successfully!");
+            //tells me what's happened
+            System.out.println("✅ Video processed successfully!");
+            System.out.println("   Input file: " + input.getName());
+            System.out.println("   Output " + (format.equals("binary") ? "file" : "CSV") + ": " + output.getAbsolutePath());
+            System.out.println("   Target color: " + String.format("#%06X", targetColor));
+            System.out.println("   Threshold: " + threshold);
+            System.out.println("   Group finder: " + finderName + (yuv ? " (YUV planes)" : ""));
+
+            //print the profile, or write it to the file given as --profile=FILE
+            if(profiler != null)
+            {
+                String profilePath = options.get("profile");
+                if(profilePath.equals("true"))
+                {
+                    System.out.print(profiler.toJson());
+                }
+                else
+                {
+                    try
+                    {
+                        Files.writeString(Path.of(profilePath), profiler.toJson());
+                        System.out.println("   Profile: " + Path.of(profilePath).toAbsolutePath());
+                    }
+                    catch(IOException e)
+                    {
+                        System.out.println("Could not write profile: " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the threshold sweep: finds the largest group of every frame at every threshold
+     * in one pass and writes one summary row per threshold to the output CSV.
+     *
+     * @param input the video file
+     * @param output the summary CSV
+     * @param colorArg the target color string
+     * @param thresholdsArg the thresholds to try, as a list or FROM:TO:STEP range
+     */
+    private static void sweep(File input, File output, String colorArg, String thresholdsArg)
+    {
+        ValidateVideo validateNumbers = new ValidateVideo();
+        int[] thresholds = validateNumbers.validateThresholds(thresholdsArg);
+        if(thresholds == null) return;
+        //only the color is used; the thresholds were validated above
+        int[] validIntInputs = validateNumbers.validateColorAndThreshold(colorArg, "0");
+        if(validIntInputs == null) return;
+        int targetColor = validIntInputs[0];
+        input = new ValidateFileInput().fileValidate(input);
+
+        ThresholdSweepProcessor processor = new ThresholdSweepProcessor(new EuclideanColorDistance(), targetColor, thresholds);
+        List<ThresholdSummary> summaries = processor.processVideo(input, output);
+
+        System.out.println("✅ Threshold sweep finished!");
         System.out.println("   Input file: " + input.getName());
-        System.out.println("   Output CSV: " + output.getAbsolutePath());
+        System.out.println("   Summary CSV: " + output.getAbsolutePath());
         System.out.println("   Target color: " + String.format("#%06X", targetColor));
-        System.out.println("   Threshold: " + threshold);    
+        for(ThresholdSummary summary : summaries)
+            System.out.println(String.format("   Threshold %d: group in %d of %d frames, mean size %.1f, mean jump %.1f px",
+                summary.threshold(), summary.framesWithGroup(), summary.frames(), summary.meanSize(), summary.meanJump()));
+    }
+
+    /**
+     * Names the output file of one of several targets by inserting the target's color and
+     * threshold before the extension, for example output.csv becomes output-FF0000-60.csv.
+     *
+     * @param output the output path given on the command line
+     * @param color the target color
+     * @param threshold the target's threshold
+     * @return the target's output file, next to output
+     */
+    static File targetOutput(File output, int color, int threshold) {
+        String name = output.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        return new File(output.getParentFile(), base + String.format("-%06X-%d", color, threshold) + extension);
     }
 }
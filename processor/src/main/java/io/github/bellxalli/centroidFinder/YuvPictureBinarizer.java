@@ -0,0 +1,229 @@
+package io.github.bellxalli.centroidFinder;
+
+import org.jcodec.common.model.ColorSpace;
+import org.jcodec.common.model.Picture;
+import org.jcodec.scale.AWTUtil;
+import org.jcodec.scale.Yuv420jToRgb;
+import org.jcodec.scale.Yuv420pToRgb;
+
+/**
+ * Binarizes decoded video frames straight from their YUV planes, without converting them
+ * to RGB or allocating a BufferedImage.
+ *
+ * The target color and threshold are translated into YUV once, when the binarizer first
+ * sees a color space: for every chroma pair (U, V) it records the range of luma values Y
+ * whose RGB color, as JCodec's own YUV to RGB conversion would produce it, is within the
+ * threshold. Binarizing a frame is then one table lookup and two comparisons per pixel.
+ *
+ * For nearly every (U, V) the matching luma values form one unbroken range, so the range
+ * test gives exactly the same mask as converting the frame with AWTUtil and binarizing it
+ * with a DistanceImageBinarizer. Where the matching lumas have gaps, the exact-RGB mode
+ * converts just the pixels inside the range and tests their RGB color; the approximate
+ * mode accepts the whole range.
+ *
+ * 8-bit YUV420 (what the H.264 decoder produces) and YUV420J frames with even dimensions
+ * are binarized from their planes. Any other frame is converted with AWTUtil and
+ * binarized like a BufferedImage, so every frame still gets a correct mask.
+ *
+ * Instances are thread-safe.
+ */
+public class YuvPictureBinarizer {
+    private final ColorMatcher matcher;
+    private final boolean exactRgb;
+    private final DistanceImageBinarizer fallback;
+    private volatile LumaRanges yuv420;
+    private volatile LumaRanges yuv420j;
+
+    /**
+     * Constructs a YuvPictureBinarizer in exact-RGB mode.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the distance threshold used to decide whether a pixel is white or black
+     */
+    public YuvPictureBinarizer(ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+        this(distanceFinder, targetColor, threshold, true);
+    }
+
+    /**
+     * Constructs a YuvPictureBinarizer.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the distance threshold used to decide whether a pixel is white or black
+     * @param exactRgb whether pixels whose luma falls in a gap of the matching range are
+     *                 converted to RGB and tested exactly, instead of accepted
+     */
+    public YuvPictureBinarizer(ColorDistanceFinder distanceFinder, int targetColor, int threshold, boolean exactRgb) {
+        this.matcher = distanceFinder.matcher(targetColor, threshold);
+        this.exactRgb = exactRgb;
+        this.fallback = new DistanceImageBinarizer(distanceFinder, targetColor, threshold);
+    }
+
+    /**
+     * Converts a decoded frame into a BinaryMask. A pixel is white when its color is within
+     * the threshold of the target color, exactly as for the BufferedImage AWTUtil would
+     * convert the frame to. The mask has the frame's cropped width and height.
+     *
+     * @param picture the decoded frame
+     * @return the binary mask of the frame
+     */
+    public BinaryMask toBinaryMask(Picture picture) {
+        LumaRanges ranges = ranges(picture);
+        if (ranges == null) {
+            return fallback.toBinaryMask(AWTUtil.toBufferedImage(picture));
+        }
+        PackedBinaryMask mask = new PackedBinaryMask(picture.getCroppedWidth(), picture.getCroppedHeight());
+        fill(picture, ranges, mask);
+        return mask;
+    }
+
+    /**
+     * Converts a decoded frame into a BinaryMask like toBinaryMask(picture), but into the
+     * context's mask (or, for frames converted to RGB, the context's BufferedImage and mask).
+     *
+     * @param picture the decoded frame
+     * @param context the caller's reusable buffers
+     * @return the binary mask of the frame, valid until the context binarizes another frame
+     */
+    public BinaryMask toBinaryMask(Picture picture, FrameContext context) {
+        LumaRanges ranges = ranges(picture);
+        if (ranges == null) {
+            return fallback.toBinaryMask(context.image(picture), context);
+        }
+        PackedBinaryMask mask = context.mask(picture.getCroppedWidth(), picture.getCroppedHeight());
+        fill(picture, ranges, mask);
+        return mask;
+    }
+
+    /**
+     * Overwrites every word of the mask with the binarized pixels of the frame's planes.
+     */
+    private void fill(Picture picture, LumaRanges ranges, PackedBinaryMask mask) {
+        // AWTUtil keeps the top-left cropped width x height of a cropped frame, whatever the
+        // crop's offset; H.264 only crops at the right and bottom, so the two always agree
+        int width = picture.getCroppedWidth();
+        int height = picture.getCroppedHeight();
+
+        byte[] lumas = picture.getPlaneData(0);
+        byte[] us = picture.getPlaneData(1);
+        byte[] vs = picture.getPlaneData(2);
+        int lumaStride = picture.getPlaneWidth(0);
+        int chromaStride = picture.getPlaneWidth(1);
+        byte[] rgb = new byte[3];
+
+        int wordsPerRow = (width + 63) >>> 6;
+        for (int y = 0; y < height; y++) {
+            int lumaRow = y * lumaStride;
+            int chromaRow = (y >> 1) * chromaStride;
+
+            for (int i = 0; i < wordsPerRow; i++) {
+                int from = i << 6;
+                int to = Math.min(width, from + 64);
+                long bits = 0;
+                for (int x = from; x < to; x++) {
+                    int chroma = chromaRow + (x >> 1);
+                    byte u = us[chroma];
+                    byte v = vs[chroma];
+                    int key = ((u & 0xFF) << 8) | (v & 0xFF);
+                    byte luma = lumas[lumaRow + x];
+
+                    if (luma < ranges.min[key] || luma > ranges.max[key]) continue;
+                    if (exactRgb && ranges.gaps[key] && !matches(ranges.converter, luma, u, v, rgb)) continue;
+                    bits |= 1L << (x - from);
+                }
+                mask.setWord(y, i, bits);
+            }
+        }
+    }
+
+    /**
+     * Returns the luma ranges for the picture's color space, building them the first time,
+     * or null if the picture must be converted with AWTUtil instead.
+     */
+    private LumaRanges ranges(Picture picture) {
+        if (picture.isHiBD() || picture.getData().length < 3) return null;
+        if ((picture.getWidth() & 1) != 0 || (picture.getHeight() & 1) != 0) return null;
+
+        ColorSpace color = picture.getColor();
+        if (color == ColorSpace.YUV420) {
+            LumaRanges ranges = yuv420;
+            if (ranges == null) {
+                synchronized (this) {
+                    if (yuv420 == null) yuv420 = new LumaRanges(Yuv420pToRgb::YUV420pToRGBN2N, matcher);
+                    ranges = yuv420;
+                }
+            }
+            return ranges;
+        }
+        if (color == ColorSpace.YUV420J) {
+            LumaRanges ranges = yuv420j;
+            if (ranges == null) {
+                synchronized (this) {
+                    if (yuv420j == null) yuv420j = new LumaRanges(Yuv420jToRgb::YUVJtoRGB, matcher);
+                    ranges = yuv420j;
+                }
+            }
+            return ranges;
+        }
+        return null;
+    }
+
+    private boolean matches(YuvToRgb converter, byte y, byte u, byte v, byte[] rgb) {
+        converter.convert(y, u, v, rgb, 0);
+        return matcher.matches(toRgb(rgb));
+    }
+
+    // JCodec stores samples as signed bytes offset by -128
+    private static int toRgb(byte[] rgb) {
+        return ((rgb[0] + 128) << 16) | ((rgb[1] + 128) << 8) | (rgb[2] + 128);
+    }
+
+    /**
+     * One of JCodec's per-pixel YUV to RGB conversions, writing R, G and B to out[off..off+2].
+     */
+    @FunctionalInterface
+    private interface YuvToRgb {
+        void convert(byte y, byte u, byte v, byte[] out, int off);
+    }
+
+    /**
+     * For every chroma pair (U, V), the lowest and highest luma whose converted color
+     * matches, and whether any luma between them doesn't match.
+     */
+    private static final class LumaRanges {
+        final YuvToRgb converter;
+        final byte[] min = new byte[1 << 16];
+        final byte[] max = new byte[1 << 16];
+        final boolean[] gaps = new boolean[1 << 16];
+
+        LumaRanges(YuvToRgb converter, ColorMatcher matcher) {
+            this.converter = converter;
+            byte[] rgb = new byte[3];
+            for (int key = 0; key < 1 << 16; key++) {
+                byte u = (byte) (key >>> 8);
+                byte v = (byte) key;
+                int first = Integer.MAX_VALUE;
+                int last = Integer.MIN_VALUE;
+                int count = 0;
+                for (int y = -128; y <= 127; y++) {
+                    converter.convert((byte) y, u, v, rgb, 0);
+                    if (matcher.matches(toRgb(rgb))) {
+                        if (first == Integer.MAX_VALUE) first = y;
+                        last = y;
+                        count++;
+                    }
+                }
+                if (count == 0) {
+                    // an empty range: no luma is both >= 127 and <= -128
+                    min[key] = 127;
+                    max[key] = -128;
+                } else {
+                    min[key] = (byte) first;
+                    max[key] = (byte) last;
+                    gaps[key] = count != last - first + 1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for BatchProcessor.
+ *
+ * Every job's output must be exactly what VideoProcessor writes for that video alone, and
+ * a failing job must not stop the others.
+ */
+public class BatchProcessorTests {
+
+    @TempDir
+    static File dir;
+
+    private static File videos;
+    private static File moving;
+    private static File squares;
+
+    @BeforeAll
+    public static void writeVideos() throws IOException {
+        videos = new File(dir, "videos");
+        videos.mkdirs();
+        moving = TestVideos.movingSquare(new File(videos, "a-moving.mp4"), 30, 25);
+        squares = TestVideos.twoSquares(new File(videos, "b-squares.mp4"), 40, 25);
+        Files.writeString(new File(videos, "notes.txt").toPath(), "not a video");
+    }
+
+    @Test
+    public void testJobsMatchTheirOwnRuns() throws IOException {
+        File out = new File(dir, "out");
+        List<BatchJob> jobs = List.of(
+            new BatchJob(moving, TestVideos.WHITE, 50, new File(out, "moving.csv")),
+            new BatchJob(squares, TestVideos.RED, 100, new File(out, "red.csv")),
+            new BatchJob(squares, TestVideos.GREEN, 100, new File(out, "green.csv")),
+            new BatchJob(moving, TestVideos.WHITE, 50, new File(out, "nested/again.csv")));
+
+        List<BatchResult> finished = Collections.synchronizedList(new ArrayList<>());
+        List<BatchResult> results = new BatchProcessor(new GroupFinderFactory(), "dfs", 2).run(jobs, finished::add);
+
+        assertEquals(4, results.size());
+        assertEquals(4, finished.size(), "Every result should be reported as it finishes");
+        int[] frames = {30, 40, 40, 30};
+        for (int i = 0; i < jobs.size(); i++) {
+            BatchResult result = results.get(i);
+            BatchJob job = jobs.get(i);
+            assertSame(job, result.job(), "Results should be in job order");
+            assertTrue(result.succeeded(), "Job " + i + " failed: " + result.error());
+            assertEquals(frames[i], result.frames());
+            assertTrue(result.framesPerSecond() > 0);
+            assertEquals(run(job), Files.readString(job.output().toPath()), "Job " + i + " differs");
+        }
+    }
+
+    @Test
+    public void testFailedJobIsReported() throws IOException {
+        File missing = new File(dir, "missing.mp4");
+        List<BatchJob> jobs = List.of(
+            new BatchJob(missing, TestVideos.WHITE, 50, new File(dir, "missing.csv")),
+            new BatchJob(moving, TestVideos.WHITE, 50, new File(dir, "fine.csv")));
+
+        List<BatchResult> results = new BatchProcessor(new GroupFinderFactory(), "fused", 1).run(jobs);
+
+        assertFalse(results.get(0).succeeded());
+        assertEquals(0, results.get(0).frames());
+        assertTrue(results.get(0).toCsvRow().contains(",failed,"));
+        assertTrue(results.get(1).succeeded());
+        assertEquals(30, results.get(1).frames());
+        assertTrue(results.get(1).toCsvRow().contains(",ok,30,"));
+    }
+
+    @Test
+    public void testErrorsAreNotJobFailures() {
+        GroupFinderFactory exhausted = new GroupFinderFactory() {
+            @Override
+            public ImageGroupFinder createImageFinder(String name, ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+                throw new OutOfMemoryError("simulated");
+            }
+        };
+        List<BatchJob> jobs = List.of(new BatchJob(moving, TestVideos.WHITE, 50, new File(dir, "oom.csv")));
+
+        assertThrows(OutOfMemoryError.class, () -> new BatchProcessor(exhausted, "fused", 1).run(jobs));
+    }
+
+    @Test
+    public void testBinaryOutput() throws IOException {
+        BatchProcessor processor = new BatchProcessor(new GroupFinderFactory(), "runs", 2);
+        processor.setBinaryOutput(true);
+        List<BatchJob> jobs = BatchProcessor.directoryJobs(videos, new File(dir, "binary"), TestVideos.RED, 100, true);
+        List<BatchResult> results = processor.run(jobs);
+
+        for (BatchResult result : results) {
+            assertTrue(result.succeeded(), "Job failed: " + result.error());
+            File converted = new File(dir, "converted.csv");
+            BinaryResultReader.toCsv(result.job().output(), converted);
+            assertEquals(run(result.job()), Files.readString(converted.toPath()));
+        }
+    }
+
+    @Test
+    public void testDirectoryJobs() throws IOException {
+        File out = new File(dir, "results");
+        List<BatchJob> jobs = BatchProcessor.directoryJobs(videos, out, TestVideos.RED, 60, false);
+        assertEquals(List.of(
+            new BatchJob(moving, TestVideos.RED, 60, new File(out, "a-moving.csv")),
+            new BatchJob(squares, TestVideos.RED, 60, new File(out, "b-squares.csv"))), jobs);
+        assertThrows(IOException.class, () -> BatchProcessor.directoryJobs(moving, out, 0, 0, false));
+    }
+
+    @Test
+    public void testReadManifest() throws IOException {
+        File manifest = new File(dir, "jobs.txt");
+        Files.writeString(manifest.toPath(), String.join("\n",
+            "# video, color, threshold, output",
+            "videos/a-moving.mp4, #FFFFFF, 50, out/a.csv",
+            "",
+            moving.getAbsolutePath() + ",0xFF0000,60," + new File(dir, "b.csv").getAbsolutePath()));
+
+        List<BatchJob> jobs = BatchProcessor.readManifest(manifest);
+        assertEquals(2, jobs.size());
+        assertEquals(new BatchJob(new File(dir.getAbsoluteFile(), "videos/a-moving.mp4"), 0xFFFFFF, 50,
+            new File(dir.getAbsoluteFile(), "out/a.csv")), jobs.get(0));
+        assertEquals(new BatchJob(moving.getAbsoluteFile(), 0xFF0000, 60, new File(dir, "b.csv").getAbsoluteFile()), jobs.get(1));
+
+        Files.writeString(manifest.toPath(), "# fine\nvideo.mp4,FFFFFF,50\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BatchProcessor.readManifest(manifest));
+        assertTrue(e.getMessage().contains("line 2"));
+    }
+
+    @Test
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchProcessor(new GroupFinderFactory(), "dfs", 0));
+        assertThrows(IllegalArgumentException.class, () -> new BatchProcessor(new GroupFinderFactory(), "nonsense", 2));
+    }
+
+    private static String run(BatchJob job) throws IOException {
+        ImageGroupFinder finder = new GroupFinderFactory().createImageFinder("dfs", new EuclideanColorDistance(), job.targetColor(), job.threshold());
+        File csv = new File(dir, "single.csv");
+        new VideoProcessor(finder).processVideo(job.video(), csv);
+        return Files.readString(csv.toPath());
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BinaryMaskTest {
+
+    private static int[][] randomArray(int width, int height, double density, long seed) {
+        Random random = new Random(seed);
+        int[][] image = new int[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image[y][x] = random.nextDouble() < density ? 1 : 0;
+            }
+        }
+        return image;
+    }
+
+    private static void assertScansMatchArray(BinaryMask mask, int[][] image) {
+        for (int y = 0; y < image.length; y++) {
+            for (int x = 0; x <= image[y].length; x++) {
+                int expectedSet = -1;
+                int expectedClear = image[y].length;
+                for (int i = image[y].length - 1; i >= x; i--) {
+                    if (image[y][i] == 1) expectedSet = i;
+                    else expectedClear = i;
+                }
+                assertEquals(expectedSet, mask.nextSetBit(x, y), "nextSetBit(" + x + ", " + y + ")");
+                assertEquals(expectedClear, mask.nextClearBit(x, y), "nextClearBit(" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testFromArrayRoundTripsAcrossWordBoundaries() {
+        // 130 columns spans three words per row, the last one partial
+        int[][] image = randomArray(130, 7, 0.3, 1);
+        BinaryMask mask = BinaryMask.fromArray(image);
+
+        assertEquals(130, mask.width());
+        assertEquals(7, mask.height());
+        assertArrayEquals(image, mask.toArray());
+        assertScansMatchArray(mask, image);
+    }
+
+    @Test
+    public void testByteMaskBehavesLikePackedMask() {
+        int[][] image = randomArray(70, 5, 0.5, 2);
+        ByteBinaryMask mask = new ByteBinaryMask(70, 5);
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 70; x++) {
+                mask.set(x, y, image[y][x] == 1);
+            }
+        }
+
+        assertArrayEquals(image, mask.toArray());
+        assertScansMatchArray(mask, image);
+    }
+
+    @Test
+    public void testSetClearAndCopyAreIndependent() {
+        PackedBinaryMask mask = new PackedBinaryMask(65, 2);
+        mask.set(64, 1, true);
+        PackedBinaryMask copy = mask.copy();
+        mask.set(64, 1, false);
+
+        assertFalse(mask.get(64, 1));
+        assertTrue(copy.get(64, 1), "Copy should not see later changes");
+
+        copy.clear();
+        assertEquals(-1, copy.nextSetBit(0, 1));
+    }
+
+    @Test
+    public void testSetWordIgnoresBitsPastRowEnd() {
+        PackedBinaryMask mask = new PackedBinaryMask(10, 1);
+        mask.setWord(0, 0, -1L);
+
+        assertEquals(10, mask.nextClearBit(0, 0), "Bits past the row end must not be stored");
+        assertEquals(0x3FFL, mask.word(0, 0));
+    }
+
+    @Test
+    public void testFromArrayValidatesLikeGroupFinder() {
+        assertThrows(NullPointerException.class, () -> BinaryMask.fromArray(null));
+        assertThrows(NullPointerException.class, () -> BinaryMask.fromArray(new int[][] {{0}, null}));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMask.fromArray(new int[][] {{0, 1}, {1}}));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMask.fromArray(new int[][] {{0, 2}}));
+        assertEquals(0, BinaryMask.fromArray(new int[0][]).height());
+    }
+
+    @Test
+    public void testOutOfBoundsAccessThrows() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new PackedBinaryMask(3, 3).get(3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> new ByteBinaryMask(3, 3).set(0, -1, true));
+    }
+}
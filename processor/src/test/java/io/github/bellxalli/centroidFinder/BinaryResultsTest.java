@@ -0,0 +1,185 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for BinaryResultWriter and BinaryResultReader.
+ *
+ * Rows written in the binary format and converted back must give exactly the CSV that
+ * CsvResultWriter writes for the same rows, and time-range reads must return exactly the
+ * rows in the range.
+ */
+public class BinaryResultsTest {
+
+    private static final double FPS = 30000.0 / 1001;
+
+    @TempDir
+    File dir;
+
+    @Test
+    public void testConvertsBackToIdenticalCsv() throws IOException {
+        for (int blockRows : new int[] {1, 7, 4096}) {
+            List<int[]> rows = track(new Random(blockRows), 10_000);
+            File binary = new File(dir, "results.bin");
+            File expected = new File(dir, "expected.csv");
+            File actual = new File(dir, "actual.csv");
+
+            try (CsvResultWriter csv = new CsvResultWriter(expected);
+                 BinaryResultWriter writer = new BinaryResultWriter(binary, FPS, blockRows)) {
+                csv.write(VideoProcessor.CSV_HEADER);
+                for (int frame = 0; frame < rows.size(); frame++) {
+                    int[] row = rows.get(frame);
+                    csv.writeFrame(frame, frame / FPS, row[0], row[1], row[2]);
+                    writer.writeFrame(frame, frame / FPS, row[0], row[1], row[2]);
+                }
+            }
+            BinaryResultReader.toCsv(binary, actual);
+
+            assertEquals(Files.readString(expected.toPath()), Files.readString(actual.toPath()),
+                "CSV differs with " + blockRows + " rows per block");
+        }
+    }
+
+    @Test
+    public void testCompactForTypicalVideo() throws IOException {
+        File binary = new File(dir, "results.bin");
+        File csv = new File(dir, "results.csv");
+        List<int[]> rows = track(new Random(18), 100_000);
+        try (CsvResultWriter csvWriter = new CsvResultWriter(csv);
+             BinaryResultWriter writer = new BinaryResultWriter(binary, FPS)) {
+            csvWriter.write(VideoProcessor.CSV_HEADER);
+            for (int frame = 0; frame < rows.size(); frame++) {
+                int[] row = rows.get(frame);
+                csvWriter.writeFrame(frame, frame / FPS, row[0], row[1], row[2]);
+                writer.writeFrame(frame, frame / FPS, row[0], row[1], row[2]);
+            }
+        }
+        // the CSV doesn't even hold the frame indexes and sizes
+        assertTrue(binary.length() * 2 < csv.length(),
+            "Binary results are " + binary.length() + " bytes, the CSV " + csv.length());
+    }
+
+    @Test
+    public void testTimeRangeReadsReturnOnlyRowsInRange() throws IOException {
+        File binary = new File(dir, "results.bin");
+        List<int[]> rows = track(new Random(19), 20_000);
+        try (BinaryResultWriter writer = new BinaryResultWriter(binary, FPS, 512)) {
+            for (int frame = 0; frame < rows.size(); frame++) {
+                int[] row = rows.get(frame);
+                writer.writeFrame(frame, frame / FPS, row[0], row[1], row[2]);
+            }
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(binary)) {
+            assertEquals(FPS, reader.getFps());
+            assertEquals(20_000, reader.getRowCount());
+            assertEquals(40, reader.getBlockCount());
+
+            for (double[] range : new double[][] {{100, 101.5}, {0, 0}, {-5, 0.1}, {600, 700}, {700, 800}}) {
+                List<Integer> frames = new ArrayList<>();
+                reader.read(range[0], range[1], (frame, time, x, y, size) -> {
+                    assertEquals(frame / FPS, time);
+                    assertArrayEquals(rows.get(frame), new int[] {x, y, size});
+                    frames.add(frame);
+                });
+
+                List<Integer> expected = new ArrayList<>();
+                for (int frame = 0; frame < rows.size(); frame++) {
+                    if (frame / FPS >= range[0] && frame / FPS <= range[1]) expected.add(frame);
+                }
+                assertEquals(expected, frames, "Rows differ between " + range[0] + " and " + range[1]);
+            }
+        }
+    }
+
+    @Test
+    public void testStoresArbitraryTimesAndValues() throws IOException {
+        File binary = new File(dir, "results.bin");
+        int[][] rows = {{Integer.MIN_VALUE, -1, 0}, {Integer.MAX_VALUE, 5, 1}, {0, Integer.MAX_VALUE, Integer.MAX_VALUE},
+            {7, 7, 7}, {-1, -1, 0}};
+        double[] times = {-0.0, 1e20, 0.0005, Double.NaN, 3};
+        int[] frames = {0, 100, 3, Integer.MAX_VALUE, -5};
+        try (BinaryResultWriter writer = new BinaryResultWriter(binary, 25, 3)) {
+            for (int i = 0; i < rows.length; i++) {
+                writer.writeFrame(frames[i], times[i], rows[i][0], rows[i][1], rows[i][2]);
+            }
+        }
+
+        List<Object> read = new ArrayList<>();
+        try (BinaryResultReader reader = new BinaryResultReader(binary)) {
+            reader.read((frame, time, x, y, size) -> read.add(List.of(frame, time, x, y, size)));
+        }
+        // NaN isn't inside any time range, so only a full read returns it
+        assertEquals(rows.length, read.size());
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(List.of(frames[i], times[i], rows[i][0], rows[i][1], rows[i][2]), read.get(i));
+        }
+    }
+
+    @Test
+    public void testRejectsIncompleteFiles() throws IOException {
+        File binary = new File(dir, "results.bin");
+        try (BinaryResultWriter writer = new BinaryResultWriter(binary, FPS)) {
+            writer.writeFrame(0, 0, 1, 2, 3);
+        }
+        byte[] complete = Files.readAllBytes(binary.toPath());
+        Files.write(binary.toPath(), Arrays.copyOf(complete, complete.length - 1));
+        assertThrows(IOException.class, () -> new BinaryResultReader(binary));
+
+        Files.writeString(binary.toPath(), "Frame Time, x, y\n0.000,1,2\n");
+        assertThrows(IOException.class, () -> new BinaryResultReader(binary));
+
+        assertThrows(IllegalArgumentException.class, () -> new BinaryResultWriter(new File(dir, "x.bin"), FPS, 0));
+    }
+
+    @Test
+    public void testVideoProcessorsWriteBinaryResults() throws IOException {
+        File video = TestVideos.movingSquare(new File(dir, "square.mp4"), 60, 25);
+        ImageGroupFinder finder = new FusedImageGroupFinder(new EuclideanColorDistance(), TestVideos.WHITE, 100);
+        File csv = new File(dir, "square.csv");
+        new VideoProcessor(finder).processVideo(video, csv);
+        String expected = Files.readString(csv.toPath());
+
+        for (VideoProcessor processor : List.of(new VideoProcessor(finder),
+                new PipelinedVideoProcessor(finder, 2, 4), new SegmentedVideoProcessor(finder, 2))) {
+            File binary = new File(dir, "square.bin");
+            File converted = new File(dir, "converted.csv");
+            processor.setBinaryOutput(true);
+            processor.processVideo(video, binary);
+            BinaryResultReader.toCsv(binary, converted);
+            assertEquals(expected, Files.readString(converted.toPath()), processor.getClass().getSimpleName() + " differs");
+        }
+    }
+
+    /**
+     * A target wandering around a 1080p frame and growing and shrinking, lost now and then.
+     */
+    private static List<int[]> track(Random random, int frames) {
+        List<int[]> rows = new ArrayList<>(frames);
+        int x = 960;
+        int y = 540;
+        int size = 5000;
+        for (int frame = 0; frame < frames; frame++) {
+            x = Math.max(0, Math.min(1919, x + random.nextInt(21) - 10));
+            y = Math.max(0, Math.min(1079, y + random.nextInt(21) - 10));
+            size = Math.max(1, size + random.nextInt(201) - 100);
+            if (random.nextInt(50) == 0) {
+                rows.add(new int[] {-1, -1, 0});
+            } else {
+                rows.add(new int[] {x, y, size});
+            }
+        }
+        return rows;
+    }
+}
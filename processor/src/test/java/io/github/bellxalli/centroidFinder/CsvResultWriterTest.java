@@ -0,0 +1,120 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for CsvResultWriter.
+ *
+ * Every test writes rows with the writer and with String.format and compares the bytes.
+ */
+public class CsvResultWriterTest {
+
+    private static final double[] FRAME_RATES = {24000.0 / 1001, 24, 25, 30000.0 / 1001, 30, 60000.0 / 1001, 60, 120};
+
+    @TempDir
+    File dir;
+
+    @Test
+    public void testFrameTimestampsMatchStringFormat() throws IOException {
+        for (double fps : FRAME_RATES) {
+            File file = new File(dir, "frames.csv");
+            StringBuilder expected = new StringBuilder();
+            try (CsvResultWriter writer = new CsvResultWriter(file)) {
+                for (int frame = 0; frame < 20_000; frame++) {
+                    double time = frame / fps;
+                    int x = frame % 1920;
+                    int y = frame % 1080;
+                    writer.writeRow(time, x, y);
+                    expected.append(String.format("%.3f,%d,%d\n", time, x, y));
+                }
+            }
+            assertEquals(expected.toString(), Files.readString(file.toPath()), "Differs at " + fps + " fps");
+        }
+    }
+
+    @Test
+    public void testRandomAndAwkwardValuesMatchStringFormat() throws IOException {
+        Random random = new Random(17);
+        StringBuilder expected = new StringBuilder();
+        File file = new File(dir, "values.csv");
+        // a tiny buffer also exercises writes in many small blocks
+        try (CsvResultWriter writer = new CsvResultWriter(file, 64)) {
+            double[] awkward = {0, -0.0, 0.0005, 0.0015, 1.0005, 2.675, 999.9995, 0.9999999, 1e6 - 0.0005, 1e6,
+                1e20, -1.5, Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE, 123456.789};
+            int[] ints = {0, -1, 7, Integer.MAX_VALUE, Integer.MIN_VALUE};
+            for (double value : awkward) {
+                for (int x : ints) {
+                    writer.writeRow(value, x, -x - 1);
+                    expected.append(String.format("%.3f,%d,%d\n", value, x, -x - 1));
+                }
+            }
+            for (int i = 0; i < 50_000; i++) {
+                double value = i % 2 == 0 ? random.nextDouble() * 1e4 : random.nextInt(1_000_000) / 1000.0 + 0.0005;
+                writer.writeRow(value, i, i * 3);
+                expected.append(String.format("%.3f,%d,%d\n", value, i, i * 3));
+            }
+        }
+        assertEquals(expected.toString(), Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void testRoundingTiesMatchStringFormat() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        File file = new File(dir, "ties.csv");
+        try (CsvResultWriter writer = new CsvResultWriter(file)) {
+            for (long k = 0; k < 2_000_000; k += 7) {
+                // the double nearest to k.5 thousandths, and its neighbours on either side
+                double tie = (k * 10 + 5) / 10000.0;
+                for (double value : new double[] {Math.nextDown(tie), tie, Math.nextUp(tie)}) {
+                    writer.writeRow(value, 0, 0);
+                    expected.append(String.format("%.3f,%d,%d\n", value, 0, 0));
+                }
+            }
+        }
+        assertEquals(expected.toString(), Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void testGroupRowsMatchVideoCsv() throws IOException {
+        File file = new File(dir, "groups.csv");
+        try (CsvResultWriter writer = new CsvResultWriter(file)) {
+            writer.write("Frame Time, x, y\n");
+            writer.writeRow(0.0, List.of());
+            writer.writeRow(1 / 30.0, List.of(new Group(10, new Coordinate(4, 5)), new Group(3, new Coordinate(9, 9))));
+        }
+        assertEquals("Frame Time, x, y\n0.000,-1,-1\n0.033,4,5\n", Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void testOtherLocalesMatchStringFormat() throws IOException {
+        Locale original = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            File file = new File(dir, "locale.csv");
+            try (CsvResultWriter writer = new CsvResultWriter(file)) {
+                writer.writeRow(12.3456, 7, -8);
+                writer.writeRow(1.0, List.of());
+            }
+            assertEquals(String.format("%.3f,%d,%d\n", 12.3456, 7, -8) + String.format("%.3f,-1,-1\n", 1.0),
+                Files.readString(file.toPath()));
+            assertEquals("12,346,7,-8\n1,000,-1,-1\n", Files.readString(file.toPath()));
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, original);
+        }
+    }
+
+    @Test
+    public void testRejectsTinyBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> new CsvResultWriter(new File(dir, "x.csv"), 16));
+    }
+}
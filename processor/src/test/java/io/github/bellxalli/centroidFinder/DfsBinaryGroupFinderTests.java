@@ -3,7 +3,10 @@ package io.github.bellxalli.centroidFinder;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -210,5 +213,74 @@ public class DfsBinaryGroupFinderTests {
         assertEquals(new Group(1, new Coordinate(0, 0)), result.get(0));
     }
 
+    @Test
+    public void testMaskOverloadsMatchArrayResults() {
+        Random random = new Random(334);
+        for (int trial = 0; trial < 20; trial++) {
+            int width = 1 + random.nextInt(90);
+            int height = 1 + random.nextInt(40);
+            int[][] image = new int[height][width];
+            ByteBinaryMask byteMask = new ByteBinaryMask(width, height);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    image[y][x] = random.nextInt(100) < 45 ? 1 : 0;
+                    byteMask.set(x, y, image[y][x] == 1);
+                }
+            }
 
+            List<Group> expected = floodFill(image);
+            assertEquals(expected, finder.findConnectedGroups(image));
+            assertEquals(expected, finder.findConnectedGroups(BinaryMask.fromArray(image)));
+            assertEquals(expected, finder.findConnectedGroups(byteMask));
+        }
+    }
+
+    /**
+     * A straightforward flood fill with a visited array, independent of the finder's BFS,
+     * returning the groups in descending order.
+     */
+    private static List<Group> floodFill(int[][] image) {
+        int height = image.length;
+        int width = image[0].length;
+        boolean[][] visited = new boolean[height][width];
+        List<Group> groups = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (image[y][x] != 1 || visited[y][x]) continue;
+                ArrayDeque<int[]> stack = new ArrayDeque<>();
+                stack.push(new int[] {x, y});
+                visited[y][x] = true;
+                int size = 0;
+                int sumX = 0;
+                int sumY = 0;
+                while (!stack.isEmpty()) {
+                    int[] pixel = stack.pop();
+                    size++;
+                    sumX += pixel[0];
+                    sumY += pixel[1];
+                    int[][] neighbours = {{pixel[0], pixel[1] - 1}, {pixel[0], pixel[1] + 1}, {pixel[0] - 1, pixel[1]}, {pixel[0] + 1, pixel[1]}};
+                    for (int[] n : neighbours) {
+                        if (n[0] < 0 || n[1] < 0 || n[0] >= width || n[1] >= height) continue;
+                        if (image[n[1]][n[0]] != 1 || visited[n[1]][n[0]]) continue;
+                        visited[n[1]][n[0]] = true;
+                        stack.push(n);
+                    }
+                }
+                groups.add(new Group(size, new Coordinate(sumX / size, sumY / size)));
+            }
+        }
+        groups.sort(Collections.reverseOrder());
+        return groups;
+    }
+
+    @Test
+    public void testMaskIsNotModified() {
+        int[][] image = {
+            {1, 1, 0},
+            {0, 1, 1}
+        };
+        BinaryMask mask = BinaryMask.fromArray(image);
+        finder.findConnectedGroups(mask);
+        assertArrayEquals(image, mask.toArray(), "Finding groups should leave the mask untouched");
+    }
 }
@@ -3,6 +3,7 @@ package io.github.bellxalli.centroidFinder;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.awt.image.BufferedImage;
+import java.util.Random;
 
 public class DistanceImageBinarizerTest {
 
@@ -113,4 +114,58 @@ public class DistanceImageBinarizerTest {
         int[][] result = binarizer.toBinaryArray(image);
         assertEquals(0, result[0][0], "Alpha should be ignored; pixel should be classified as black");
     }
+
+    // Reference answer computed one pixel at a time through getRGB
+    private static int[][] expectedBinary(BufferedImage image, ColorDistanceFinder finder, int target, int threshold) {
+        int[][] expected = new int[image.getHeight()][image.getWidth()];
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgb = image.getRGB(x, y) & 0x00FFFFFF;
+                expected[y][x] = finder.distance(rgb, target) <= threshold ? 1 : 0;
+            }
+        }
+        return expected;
+    }
+
+    private static BufferedImage randomImage(int type, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Random random = new Random(334);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = random.nextBoolean() ? 0x80FF4020 + random.nextInt(0x202020) : random.nextInt();
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testToBinaryArray_rasterFastPathsMatchGetRGB() {
+        ColorDistanceFinder finder = new SimpleColorDistanceFinder();
+        DistanceImageBinarizer binarizer = new DistanceImageBinarizer(finder, 0xFF4020, 40);
+
+        int[] types = {
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_BGR // not a fast path, exercises the generic fallback
+        };
+        for (int type : types) {
+            BufferedImage image = randomImage(type, 31, 17);
+            assertArrayEquals(expectedBinary(image, finder, 0xFF4020, 40), binarizer.toBinaryArray(image),
+                "Binary array differs for image type " + type);
+        }
+    }
+
+    @Test
+    public void testToBinaryArray_subimageUsesCorrectOffsets() {
+        ColorDistanceFinder finder = new SimpleColorDistanceFinder();
+        DistanceImageBinarizer binarizer = new DistanceImageBinarizer(finder, 0xFF4020, 40);
+
+        for (int type : new int[] {BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_INT_RGB}) {
+            BufferedImage sub = randomImage(type, 40, 30).getSubimage(7, 5, 20, 11);
+            assertArrayEquals(expectedBinary(sub, finder, 0xFF4020, 40), binarizer.toBinaryArray(sub),
+                "Binary array differs for subimage of type " + type);
+        }
+    }
 }
@@ -3,6 +3,7 @@ package io.github.bellxalli.centroidFinder;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -55,6 +56,42 @@ public class ErrorAndEdgecaseTests {
         assertEquals(10, result[1]);
     }
 
+    // ---------------------------
+    // ValidateOptions / GroupFinderFactory edge cases
+    // ---------------------------
+    @Test
+    public void testOptionsParseNameValuePairs() {
+        String[] args = {"in.mp4", "out.csv", "--finder=union-find", "--verbose"};
+        Map<String, String> options = new ValidateOptions().parseOptions(args, 2);
+        assertNotNull(options);
+        assertEquals("union-find", options.get("finder"));
+        assertEquals("true", options.get("verbose"));
+    }
+
+    @Test
+    public void testMalformedOptionReturnsNull() {
+        assertNull(new ValidateOptions().parseOptions(new String[] {"finder=dfs"}, 0), "Options must start with --");
+    }
+
+    @Test
+    public void testPositiveIntOption() {
+        ValidateOptions validator = new ValidateOptions();
+        assertEquals(4, validator.positiveInt(Map.of("parallelism", "4"), "parallelism", 1));
+        assertEquals(2, validator.positiveInt(Map.of(), "parallelism", 2), "Missing option uses the default");
+        assertNull(validator.positiveInt(Map.of("parallelism", "0"), "parallelism", 1));
+        assertNull(validator.positiveInt(Map.of("parallelism", "many"), "parallelism", 1));
+    }
+
+    @Test
+    public void testGroupFinderFactoryNames() {
+        GroupFinderFactory factory = new GroupFinderFactory();
+        assertTrue(factory.create("dfs") instanceof DfsBinaryGroupFinder);
+        assertTrue(factory.create("Union-Find") instanceof UnionFindBinaryGroupFinder);
+        assertTrue(factory.create("runs") instanceof RunLengthBinaryGroupFinder);
+        assertTrue(factory.create("parallel") instanceof ParallelBinaryGroupFinder);
+        assertNull(factory.create("nope"), "Unknown finder should return null");
+    }
+
     // ---------------------------
     // DfsBinaryGroupFinder edge cases
     // ---------------------------
@@ -155,5 +155,30 @@ public class EuclideanColorDistanceTest {
         assertTrue(nearDistance < farDistance, "Closer color should have smaller distance");
     }
 
+    @Test
+    void testMatcherIncludesExactThreshold() {
+        // (255,0,0) vs (0,0,0) is exactly 255 away
+        ColorMatcher matcher = distanceFinder.matcher(0x000000, 255);
+        assertTrue(matcher.matches(0xFF0000), "Distance equal to threshold should match");
+        assertFalse(distanceFinder.matcher(0x000000, 254).matches(0xFF0000), "Distance above threshold should not match");
+    }
 
+    @Test
+    void testMatcherNegativeAndHugeThresholds() {
+        assertFalse(distanceFinder.matcher(0x123456, -1).matches(0x123456), "Negative threshold never matches");
+        assertTrue(distanceFinder.matcher(0x000000, 1000).matches(0xFFFFFF), "Huge threshold always matches");
+    }
+
+    @Test
+    void testMatcherAgreesWithDistance() {
+        java.util.Random random = new java.util.Random(334);
+        for (int i = 0; i < 20000; i++) {
+            int target = random.nextInt(0x1000000);
+            int color = random.nextInt(0x1000000);
+            int threshold = random.nextInt(460);
+            boolean expected = distanceFinder.distance(color, target) <= threshold;
+            assertEquals(expected, distanceFinder.matcher(target, threshold).matches(color),
+                "Matcher disagrees with distance for " + Integer.toHexString(color) + " vs " + Integer.toHexString(target));
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+import org.jcodec.common.model.ColorSpace;
+import org.jcodec.common.model.Picture;
+import org.jcodec.common.model.Rect;
+import org.jcodec.scale.AWTUtil;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for FrameContext and the overloads that recycle its buffers.
+ *
+ * Every overload must give the same groups as its allocating counterpart, frame after
+ * frame, and once warmed up the context path must allocate almost nothing per frame.
+ */
+public class FrameContextTest {
+
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 480;
+    private static final int WHITE = TestFrames.WHITE;
+
+    private final EuclideanColorDistance distance = new EuclideanColorDistance();
+    private final DistanceImageBinarizer binarizer = new DistanceImageBinarizer(distance, WHITE, 10);
+
+    @Test
+    public void testBinaryFindersMatchWithoutContext() {
+        List<BinaryGroupFinder> finders = List.of(
+            new DfsBinaryGroupFinder(), new UnionFindBinaryGroupFinder(),
+            new RunLengthBinaryGroupFinder(), new ParallelBinaryGroupFinder(2));
+        FrameContext context = new FrameContext();
+        Random random = new Random(16);
+
+        for (int frame = 0; frame < 10; frame++) {
+            BufferedImage image = randomFrame(random);
+            BinaryMask expected = binarizer.toBinaryMask(image);
+            BinaryMask mask = binarizer.toBinaryMask(image, context);
+            assertEquals(expected.toArray().length, mask.height());
+            assertArrayEquals(expected.toArray(), mask.toArray(), "Frame " + frame + " mask differs");
+
+            for (BinaryGroupFinder finder : finders) {
+                assertEquals(finder.findLargestGroups(expected, 3), finder.findLargestGroups(mask, 3, context),
+                    finder.getClass().getSimpleName() + " differs on frame " + frame);
+            }
+        }
+    }
+
+    @Test
+    public void testImageFindersMatchWithoutContext() {
+        List<ImageGroupFinder> finders = List.of(
+            new BinarizingImageGroupFinder(binarizer, new RunLengthBinaryGroupFinder()),
+            new FusedImageGroupFinder(distance, WHITE, 10));
+        FrameContext context = new FrameContext();
+        Random random = new Random(17);
+
+        for (int frame = 0; frame < 10; frame++) {
+            BufferedImage image = randomFrame(random);
+            for (ImageGroupFinder finder : finders) {
+                assertEquals(finder.findLargestGroups(image, 2), finder.findLargestGroups(image, 2, context),
+                    finder.getClass().getSimpleName() + " differs on frame " + frame);
+            }
+        }
+    }
+
+    @Test
+    public void testContextHandlesFramesOfDifferentSizes() {
+        ImageGroupFinder finder = new BinarizingImageGroupFinder(binarizer, new DfsBinaryGroupFinder());
+        FrameContext context = new FrameContext();
+        for (int size : new int[] {100, 37, 200, 37}) {
+            BufferedImage image = TestFrames.blank(size, size / 2 + 1);
+            TestFrames.fillRect(image, 3, 0, size / 3, size / 4);
+            assertEquals(finder.findLargestGroups(image, 1), finder.findLargestGroups(image, 1, context));
+        }
+    }
+
+    @Test
+    public void testImageMatchesAwtConversion() {
+        FrameContext context = new FrameContext();
+        Picture picture = AWTUtil.fromBufferedImage(randomFrame(new Random(18)), ColorSpace.YUV420);
+        assertSamePixels(AWTUtil.toBufferedImage(picture), context.image(picture));
+
+        // a cropped frame, like a 1080p H.264 frame decoded as 1088 rows
+        Picture cropped = Picture.createCropped(80, 64, ColorSpace.YUV420, new Rect(0, 0, 70, 50));
+        Random random = new Random(19);
+        for (int plane = 0; plane < 3; plane++) {
+            random.nextBytes(cropped.getPlaneData(plane));
+        }
+        assertSamePixels(AWTUtil.toBufferedImage(cropped), context.image(cropped));
+    }
+
+    @Test
+    public void testPictureFinderMatchesWithoutContext() {
+        YuvPictureBinarizer yuv = new YuvPictureBinarizer(distance, WHITE, 10);
+        PictureGroupFinder finder = new BinarizingPictureGroupFinder(yuv, new DfsBinaryGroupFinder());
+        FrameContext context = new FrameContext();
+        Random random = new Random(20);
+        for (int frame = 0; frame < 5; frame++) {
+            Picture picture = AWTUtil.fromBufferedImage(randomFrame(random), ColorSpace.YUV420);
+            assertEquals(finder.findLargestGroups(picture, 1), finder.findLargestGroups(picture, 1, context));
+        }
+    }
+
+    @Test
+    public void testSteadyStateAllocatesAlmostNothing() {
+        ThreadAllocation allocation = ThreadAllocation.current();
+        assumeTrue(allocation != null, "Thread allocation counting is not supported");
+
+        ImageGroupFinder finder = new BinarizingImageGroupFinder(binarizer, new RunLengthBinaryGroupFinder());
+        BufferedImage image = randomFrame(new Random(21));
+        FrameContext context = new FrameContext();
+
+        long withContext = allocation.perCall(() -> finder.findLargestGroups(image, 1, context));
+        long without = allocation.perCall(() -> finder.findLargestGroups(image, 1));
+
+        // a fresh 640x480 mask alone is 38400 bytes
+        assertTrue(without > 38_400, "Expected the allocating path to allocate a mask, got " + without);
+        assertTrue(withContext < 1_024, "Allocated " + withContext + " bytes per frame with a context");
+    }
+
+    private static BufferedImage randomFrame(Random random) {
+        BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+        for (int i = 0; i < 6; i++) {
+            TestFrames.fillRect(image, random.nextInt(WIDTH - 10), random.nextInt(HEIGHT - 10), 5 + random.nextInt(80), 5 + random.nextInt(60));
+        }
+        return image;
+    }
+
+    private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "Pixel (" + x + ", " + y + ") differs");
+            }
+        }
+    }
+
+    /**
+     * Measures the bytes the current thread allocates, where the JVM supports it.
+     */
+    private record ThreadAllocation(com.sun.management.ThreadMXBean bean) {
+
+        static ThreadAllocation current() {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return new ThreadAllocation(bean);
+            }
+            return null;
+        }
+
+        // average over many calls, after warming up, so one-off allocations don't count
+        long perCall(Runnable call) {
+            for (int i = 0; i < 20; i++) call.run();
+            int calls = 100;
+            long before = bean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < calls; i++) call.run();
+            return (bean.getCurrentThreadAllocatedBytes() - before) / calls;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for FusedImageGroupFinder.
+ *
+ * The fused finder must give exactly the same groups as binarizing with a
+ * DistanceImageBinarizer and then labeling with DfsBinaryGroupFinder.
+ */
+public class FusedImageGroupFinderTests {
+
+    private static BufferedImage randomImage(Random random, int type, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                // mostly red-ish so there are plenty of connected groups
+                image.setRGB(x, y, random.nextInt(100) < 55 ? 0xF01010 + random.nextInt(0x0F0F0F) : random.nextInt(0x1000000));
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testMatchesBinarizeThenLabel() {
+        Random random = new Random(334);
+        ColorDistanceFinder distance = new EuclideanColorDistance();
+        ImageGroupFinder fused = new FusedImageGroupFinder(distance, 0xFF0000, 60);
+        ImageGroupFinder reference = new BinarizingImageGroupFinder(
+            new DistanceImageBinarizer(distance, 0xFF0000, 60), new DfsBinaryGroupFinder());
+
+        for (int type : new int[] {BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_INT_RGB}) {
+            for (int trial = 0; trial < 10; trial++) {
+                BufferedImage image = randomImage(random, type, 1 + random.nextInt(100), 1 + random.nextInt(60));
+                assertEquals(reference.findConnectedGroups(image), fused.findConnectedGroups(image),
+                    "Groups differ for image type " + type + " on trial " + trial);
+            }
+        }
+    }
+
+    @Test
+    public void testCustomMatcher() {
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFFFFFF);
+        image.setRGB(1, 0, 0xFFFFFF);
+        image.setRGB(2, 1, 0xFFFFFF);
+
+        ImageGroupFinder fused = new FusedImageGroupFinder(rgb -> rgb == 0xFFFFFF);
+        List<Group> groups = fused.findConnectedGroups(image);
+
+        assertEquals(List.of(new Group(2, new Coordinate(0, 0)), new Group(1, new Coordinate(2, 1))), groups);
+    }
+
+    @Test
+    public void testFactoryCreatesFusedFinder() {
+        GroupFinderFactory factory = new GroupFinderFactory();
+        assertTrue(factory.createImageFinder("fused", new EuclideanColorDistance(), 0, 10) instanceof FusedImageGroupFinder);
+        assertTrue(factory.createImageFinder("runs", new EuclideanColorDistance(), 0, 10) instanceof BinarizingImageGroupFinder);
+        assertNull(factory.createImageFinder("nope", new EuclideanColorDistance(), 0, 10));
+    }
+}
@@ -22,8 +22,8 @@ public class IntegrationTests {
         }
     }
 
-    // Minimal group finder stub extending the concrete DfsBinaryGroupFinder
-    private static class TestGroupFinder extends DfsBinaryGroupFinder {
+    // Minimal group finder stub; the interface's mask methods all adapt to findConnectedGroups(int[][])
+    private static class TestGroupFinder implements BinaryGroupFinder {
         @Override
         public List<Group> findConnectedGroups(int[][] binaryArray) {
             Group dummyGroup = new Group(1, new Coordinate(0, 0));
@@ -0,0 +1,57 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LookupTableImageBinarizerTest {
+
+    @Test
+    public void testLookupTableAgreesWithSourceMatcher() {
+        ColorMatcher source = new EuclideanColorDistance().matcher(0xFFA200, 100);
+        ColorLookupTable table = new ColorLookupTable(source);
+
+        Random random = new Random(334);
+        for (int i = 0; i < 100000; i++) {
+            int rgb = random.nextInt(0x1000000);
+            assertEquals(source.matches(rgb), table.matches(rgb), "Mismatch for color " + Integer.toHexString(rgb));
+        }
+        assertTrue(table.matches(0xFFA200), "Target color should match itself");
+        assertTrue(table.matches(0xFFFFA200), "Alpha bits should be ignored");
+    }
+
+    @Test
+    public void testLookupTableWorksWithCustomDistance() {
+        // Manhattan-style metric that only implements distance(), exercising the default matcher
+        ColorDistanceFinder manhattan = (a, b) ->
+            Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF))
+            + Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF))
+            + Math.abs((a & 0xFF) - (b & 0xFF));
+        ColorLookupTable table = new ColorLookupTable(manhattan.matcher(0x000000, 30));
+
+        assertTrue(table.matches(0x0A0A0A), "Distance 30 should match");
+        assertFalse(table.matches(0x0A0A0B), "Distance 31 should not match");
+    }
+
+    @Test
+    public void testBinaryArrayMatchesDistanceImageBinarizer() {
+        BufferedImage image = new BufferedImage(37, 23, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                // bias toward the target so both classes are well represented
+                int rgb = random.nextBoolean() ? 0xFF0000 + random.nextInt(0x4040) : random.nextInt(0x1000000);
+                image.setRGB(x, y, rgb);
+            }
+        }
+
+        ColorDistanceFinder distance = new EuclideanColorDistance();
+        int[][] expected = new DistanceImageBinarizer(distance, 0xFF0000, 50).toBinaryArray(image);
+        int[][] actual = new LookupTableImageBinarizer(distance, 0xFF0000, 50).toBinaryArray(image);
+
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for MultiTargetVideoProcessor.
+ *
+ * Every target's output must be exactly what VideoProcessor writes for that target alone.
+ */
+public class MultiTargetVideoProcessorTests {
+
+    @TempDir
+    static File dir;
+
+    private static File video;
+
+    private final EuclideanColorDistance distance = new EuclideanColorDistance();
+
+    @BeforeAll
+    public static void writeVideo() throws IOException {
+        video = TestVideos.twoSquares(new File(dir, "squares.mp4"), 40, 25);
+    }
+
+    @Test
+    public void testEveryTargetMatchesItsOwnRun() throws IOException {
+        ImageGroupFinder red = new FusedImageGroupFinder(distance, TestVideos.RED, 100);
+        ImageGroupFinder green = new BinarizingImageGroupFinder(
+            new DistanceImageBinarizer(distance, TestVideos.GREEN, 100), new DfsBinaryGroupFinder());
+        ImageGroupFinder white = new FusedImageGroupFinder(distance, TestVideos.WHITE, 50);
+
+        List<File> outputs = List.of(new File(dir, "red.csv"), new File(dir, "green.csv"), new File(dir, "white.csv"));
+        new MultiTargetVideoProcessor(red, green, white).processVideo(video, outputs);
+
+        String redCsv = run(new VideoProcessor(red));
+        String greenCsv = run(new VideoProcessor(green));
+        assertEquals(redCsv, Files.readString(outputs.get(0).toPath()));
+        assertEquals(greenCsv, Files.readString(outputs.get(1).toPath()));
+        assertEquals(run(new VideoProcessor(white)), Files.readString(outputs.get(2).toPath()));
+
+        // the squares are missing on different frames, so the targets really differ
+        assertNotEquals(redCsv, greenCsv);
+        assertEquals(41, redCsv.lines().count(), "Expected a header and one row per frame");
+        assertTrue(redCsv.contains(",-1,-1") && greenCsv.contains(",-1,-1"));
+    }
+
+    @Test
+    public void testPictureFindersAndBinaryOutput() throws IOException {
+        PictureGroupFinder red = new BinarizingPictureGroupFinder(
+            new YuvPictureBinarizer(distance, TestVideos.RED, 100), new RunLengthBinaryGroupFinder());
+        PictureGroupFinder green = new BinarizingPictureGroupFinder(
+            new YuvPictureBinarizer(distance, TestVideos.GREEN, 100), new RunLengthBinaryGroupFinder());
+
+        MultiTargetVideoProcessor processor = new MultiTargetVideoProcessor(red, green);
+        processor.setBinaryOutput(true);
+        List<File> outputs = List.of(new File(dir, "red.bin"), new File(dir, "green.bin"));
+        processor.processVideo(video, outputs);
+
+        List<PictureGroupFinder> finders = List.of(red, green);
+        for (int t = 0; t < 2; t++) {
+            File converted = new File(dir, "converted.csv");
+            BinaryResultReader.toCsv(outputs.get(t), converted);
+            assertEquals(run(new VideoProcessor(finders.get(t))), Files.readString(converted.toPath()), "Target " + t + " differs");
+        }
+    }
+
+    @Test
+    public void testInvalidTargetsAndOutputs() {
+        ImageGroupFinder finder = new FusedImageGroupFinder(distance, TestVideos.RED, 100);
+        assertThrows(IllegalArgumentException.class, () -> new MultiTargetVideoProcessor(new ImageGroupFinder[0]));
+        assertThrows(IllegalArgumentException.class, () -> new MultiTargetVideoProcessor(new PictureGroupFinder[0]));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MultiTargetVideoProcessor(finder, finder).processVideo(video, List.of(new File(dir, "one.csv"))));
+        assertDoesNotThrow(() -> new MultiTargetVideoProcessor(finder).processVideo(null, null));
+        assertThrows(RuntimeException.class,
+            () -> new MultiTargetVideoProcessor(finder).processVideo(new File(dir, "missing.mp4"), List.of(new File(dir, "out.csv"))));
+    }
+
+    @Test
+    public void testCloseAllClosesEveryWriterAndReportsTheFirstFailure() {
+        boolean[] closed = new boolean[3];
+        ResultSink[] writers = new ResultSink[4];
+        for (int i = 0; i < closed.length; i++) {
+            int index = i;
+            writers[i] = new ResultSink() {
+                @Override
+                public void writeFrame(int frameIndex, double timeInSeconds, int x, int y, int size) {}
+
+                @Override
+                public void close() throws IOException {
+                    closed[index] = true;
+                    if (index < 2) throw new IOException("close " + index);
+                }
+            };
+        }
+
+        // the last writer was never opened
+        IOException e = assertThrows(IOException.class, () -> ResultSink.closeAll(writers));
+        assertEquals("close 0", e.getMessage());
+        assertEquals("close 1", e.getSuppressed()[0].getMessage());
+        assertArrayEquals(new boolean[] {true, true, true}, closed);
+    }
+
+    @Test
+    public void testTargetOutputNames() {
+        assertEquals(new File("results", "out-FF0000-60.csv"), VideoSummaryApp.targetOutput(new File("results", "out.csv"), 0xFF0000, 60));
+        assertEquals(new File("out-00FF00-7"), VideoSummaryApp.targetOutput(new File("out"), 0x00FF00, 7));
+    }
+
+    private static String run(VideoProcessor processor) throws IOException {
+        File csv = new File(dir, "single.csv");
+        processor.processVideo(video, csv);
+        return Files.readString(csv.toPath());
+    }
+}
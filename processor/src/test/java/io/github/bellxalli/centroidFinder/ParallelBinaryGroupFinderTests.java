@@ -0,0 +1,92 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ParallelBinaryGroupFinder.
+ *
+ * The finder must give exactly the same groups, in the same order, as the sequential
+ * DfsBinaryGroupFinder, so the tests compare the two on masks tall enough to be split.
+ */
+public class ParallelBinaryGroupFinderTests {
+
+    private final BinaryGroupFinder reference = new DfsBinaryGroupFinder();
+
+    private static int[][] randomImage(Random random, int width, int height, int percentWhite) {
+        int[][] image = new int[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image[y][x] = random.nextInt(100) < percentWhite ? 1 : 0;
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testColumnSpanningEveryStripIsOneGroup() {
+        int[][] image = new int[400][9];
+        for (int y = 0; y < 400; y++) image[y][4] = 1;
+
+        try (ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(4)) {
+            List<Group> groups = finder.findConnectedGroups(image);
+            assertEquals(List.of(new Group(400, new Coordinate(4, 199))), groups);
+        }
+    }
+
+    @Test
+    public void testMatchesDfsForSeveralParallelismLevels() {
+        Random random = new Random(334);
+        for (int parallelism : new int[] {1, 2, 3, 8}) {
+            try (ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(parallelism)) {
+                for (int trial = 0; trial < 10; trial++) {
+                    int[][] image = randomImage(random, 1 + random.nextInt(200), 64 + random.nextInt(400), 30 + random.nextInt(40));
+                    assertEquals(reference.findConnectedGroups(image), finder.findConnectedGroups(image),
+                        "Groups differ with parallelism " + parallelism + " on trial " + trial);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSmallMaskIsLabeledSequentially() {
+        int[][] image = randomImage(new Random(7), 20, 10, 50);
+        try (ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(8)) {
+            assertEquals(reference.findConnectedGroups(image), finder.findConnectedGroups(image));
+            assertTrue(finder.findConnectedGroups(new int[0][]).isEmpty());
+        }
+    }
+
+    @Test
+    public void testInvalidParallelismThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBinaryGroupFinder(0));
+        try (ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(3)) {
+            assertEquals(3, finder.getParallelism());
+        }
+    }
+
+    @Test
+    public void testFactoryFindersShareOnePool() {
+        GroupFinderFactory factory = new GroupFinderFactory(3);
+        ParallelBinaryGroupFinder first = (ParallelBinaryGroupFinder) factory.create("parallel");
+        ParallelBinaryGroupFinder second = (ParallelBinaryGroupFinder) factory.create("parallel");
+        assertEquals(3, first.getParallelism());
+
+        // closing a finder on a shared pool leaves the pool running for the others
+        first.close();
+        int[][] image = randomImage(new Random(8), 50, 300, 40);
+        assertEquals(reference.findConnectedGroups(image), second.findConnectedGroups(image));
+    }
+
+    @Test
+    public void testFactoryKnowsNamesWithoutCreatingFinders() {
+        GroupFinderFactory factory = new GroupFinderFactory();
+        for (String name : new String[] {"dfs", "Union-Find", "runs", "parallel", "fused", "tracking", "PYRAMID"})
+            assertTrue(factory.isKnown(name), name);
+        assertFalse(factory.isKnown("nope"));
+    }
+}
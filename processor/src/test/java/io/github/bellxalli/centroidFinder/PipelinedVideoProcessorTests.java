@@ -0,0 +1,95 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for PipelinedVideoProcessor.
+ *
+ * The pipeline must write exactly the same CSV as VideoProcessor, so each test decodes a
+ * small generated video with both and compares the files byte for byte.
+ */
+public class PipelinedVideoProcessorTests {
+
+    @TempDir
+    static File dir;
+
+    private static File video;
+
+    private final EuclideanColorDistance distance = new EuclideanColorDistance();
+
+    @BeforeAll
+    public static void writeVideo() throws IOException {
+        video = TestVideos.movingSquare(new File(dir, "square.mp4"), 75, 25);
+    }
+
+    @Test
+    public void testMatchesSequentialOutput() throws IOException {
+        ImageGroupFinder finder = new FusedImageGroupFinder(distance, TestVideos.WHITE, 100);
+        String expected = run(new VideoProcessor(finder), "sequential.csv");
+        assertEquals(76, expected.lines().count(), "Expected a header and one row per frame");
+        assertTrue(expected.contains(",-1,-1\n"), "Expected rows for frames without a group");
+
+        for (int workers : new int[] {1, 3}) {
+            for (int queueDepth : new int[] {1, 4, 64}) {
+                String actual = run(new PipelinedVideoProcessor(finder, workers, queueDepth), "pipelined.csv");
+                assertEquals(expected, actual, "CSV differs with " + workers + " workers and queue depth " + queueDepth);
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesSequentialOutputWithBinarizingFinder() throws IOException {
+        ImageGroupFinder finder = new BinarizingImageGroupFinder(
+            new DistanceImageBinarizer(distance, TestVideos.WHITE, 100), new DfsBinaryGroupFinder());
+        assertEquals(run(new VideoProcessor(finder), "sequential.csv"),
+                     run(new PipelinedVideoProcessor(finder, 4, 2), "pipelined.csv"));
+    }
+
+    @Test
+    public void testTrackingFinderRunsOnOneWorker() throws IOException {
+        PipelinedVideoProcessor processor = new PipelinedVideoProcessor(
+            new TrackingImageGroupFinder(distance, TestVideos.WHITE, 100), 8, 4);
+        assertEquals(1, processor.getWorkers());
+
+        ImageGroupFinder reference = new FusedImageGroupFinder(distance, TestVideos.WHITE, 100);
+        assertEquals(run(new VideoProcessor(reference), "sequential.csv"), run(processor, "pipelined.csv"));
+    }
+
+    @Test
+    public void testMissingVideoThrows() {
+        PipelinedVideoProcessor processor = new PipelinedVideoProcessor(new FusedImageGroupFinder(rgb -> true));
+        assertThrows(RuntimeException.class,
+            () -> processor.processVideo(new File(dir, "missing.mp4"), new File(dir, "out.csv")));
+    }
+
+    @Test
+    public void testErrorInAnalysisIsRethrownUnwrapped() {
+        PipelinedVideoProcessor processor = new PipelinedVideoProcessor(
+            new FusedImageGroupFinder(rgb -> { throw new OutOfMemoryError("test"); }), 2, 4);
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () ->
+            assertThrows(OutOfMemoryError.class, () -> processor.processVideo(video, new File(dir, "error.csv"))));
+    }
+
+    @Test
+    public void testInvalidSettingsAndNullArgs() {
+        ImageGroupFinder finder = new FusedImageGroupFinder(rgb -> true);
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedVideoProcessor(finder, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedVideoProcessor(finder, 2, 0));
+        assertDoesNotThrow(() -> new PipelinedVideoProcessor(finder).processVideo(null, null));
+    }
+
+    private static String run(VideoProcessor processor, String name) throws IOException {
+        File csv = new File(dir, name);
+        processor.processVideo(video, csv);
+        return Files.readString(csv.toPath());
+    }
+}
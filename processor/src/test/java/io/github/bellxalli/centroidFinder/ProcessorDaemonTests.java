@@ -0,0 +1,84 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for ProcessorDaemon's line protocol.
+ */
+public class ProcessorDaemonTests {
+
+    @TempDir
+    static File dir;
+
+    private static File video;
+
+    @BeforeAll
+    public static void writeVideo() throws IOException {
+        video = TestVideos.movingSquare(new File(dir, "moving.mp4"), 30, 25);
+    }
+
+    @Test
+    public void testJobsAreRunAndReported() throws IOException {
+        File first = new File(dir, "first.csv");
+        File second = new File(dir, "results/second.csv");
+        List<String> replies = serve(
+            "PING",
+            job("a", video, first, "0xFFFFFF", "50"),
+            job("b", video, second, "#FF0000", "60"),
+            job("c", new File(dir, "missing.mp4"), new File(dir, "missing.csv"), "FFFFFF", "50"));
+
+        assertEquals("READY", replies.get(0));
+        assertEquals("PONG", replies.get(1));
+        assertTrue(replies.contains("PROGRESS\ta\t0\t30\t0.0\t-1.0\t0"), replies.toString());
+        assertTrue(replies.stream().anyMatch(reply -> reply.startsWith("PROGRESS\tb\t30\t30\t") && reply.endsWith("\t1")), replies.toString());
+        assertEquals(5, replies.stream().filter(reply -> !reply.startsWith("PROGRESS")).count());
+        assertTrue(replies.stream().anyMatch(reply -> reply.startsWith("DONE\ta\t30\t")), replies.toString());
+        assertTrue(replies.stream().anyMatch(reply -> reply.startsWith("DONE\tb\t30\t")), replies.toString());
+        assertTrue(replies.stream().anyMatch(reply -> reply.startsWith("FAILED\tc\tVideo not found")), replies.toString());
+
+        File expected = new File(dir, "expected.csv");
+        new VideoProcessor(new FusedImageGroupFinder(new EuclideanColorDistance(), 0xFFFFFF, 50)).processVideo(video, expected);
+        assertEquals(Files.readString(expected.toPath()), Files.readString(first.toPath()));
+        assertTrue(second.isFile());
+    }
+
+    @Test
+    public void testInvalidRequests() throws IOException {
+        List<String> replies = serve(
+            "JOB\tshort\tvideo.mp4",
+            job("color", video, new File(dir, "x.csv"), "not-a-color", "50"),
+            "STOP");
+
+        assertEquals(List.of(
+            "READY",
+            "FAILED\tshort\tExpected JOB id video output targetColor threshold",
+            "FAILED\tcolor\tExpected JOB id video output targetColor threshold",
+            "FAILED\t-\tUnknown request: STOP"), replies);
+    }
+
+    private static String job(String id, File video, File output, String color, String threshold) {
+        return String.join("\t", "JOB", id, video.getPath(), output.getPath(), color, threshold);
+    }
+
+    private static List<String> serve(String... requests) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        ProcessorDaemon daemon = new ProcessorDaemon(new BatchProcessor(new GroupFinderFactory(), "fused", 2));
+        daemon.serve(new BufferedReader(new StringReader(String.join("\n", requests) + "\n")), out);
+        return bytes.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the progress reports of VideoProcessor and its subclasses.
+ */
+public class ProgressTests {
+
+    @TempDir
+    static File dir;
+
+    private static File video;
+
+    private final ImageGroupFinder finder = new FusedImageGroupFinder(new EuclideanColorDistance(), TestVideos.WHITE, 50);
+
+    @BeforeAll
+    public static void writeVideo() throws IOException {
+        video = TestVideos.movingSquare(new File(dir, "moving.mp4"), 40, 25);
+    }
+
+    @Test
+    public void testSequentialReportsEveryFrame() {
+        List<Progress> reports = process(new VideoProcessor(finder), 0);
+
+        // the start, every frame with no interval, and the end
+        assertEquals(42, reports.size());
+        assertEquals(new Progress(0, 40, 0, -1, false), reports.get(0));
+        for (int i = 1; i <= 40; i++) {
+            Progress report = reports.get(i);
+            assertEquals(i, report.frames());
+            assertEquals(40, report.totalFrames());
+            assertFalse(report.finished());
+            assertTrue(report.etaSeconds() >= 0);
+        }
+        assertEquals(0.0, reports.get(40).etaSeconds());
+        assertFinished(reports);
+    }
+
+    @Test
+    public void testIntervalThrottlesReports() {
+        List<Progress> reports = process(new VideoProcessor(finder), 60_000);
+
+        assertEquals(2, reports.size(), "Expected only the first and final reports: " + reports);
+        assertEquals(0, reports.get(0).frames());
+        assertFinished(reports);
+    }
+
+    @Test
+    public void testPipelinedAndSegmentedReport() {
+        assertFinished(process(new PipelinedVideoProcessor(finder, 2, 4), 0));
+        assertFinished(process(new SegmentedVideoProcessor(finder, 2), 0));
+    }
+
+    @Test
+    public void testNoListenerNoReports() {
+        assertNull(ProgressTracker.start(null, 10, 0));
+        assertEquals("12\t40\t25.5\t1.1\t0", new Progress(12, 40, 25.46, 1.1, false).toTabSeparated());
+        assertEquals("40\t-1\t30.0\t0.0\t1", new Progress(40, -1, 30, 0, true).toTabSeparated());
+    }
+
+    private static void assertFinished(List<Progress> reports) {
+        Progress last = reports.get(reports.size() - 1);
+        assertTrue(last.finished());
+        assertEquals(40, last.frames());
+        assertTrue(last.framesPerSecond() > 0);
+        for (int i = 1; i < reports.size(); i++)
+            assertTrue(reports.get(i).frames() >= reports.get(i - 1).frames(), "Progress went backwards: " + reports);
+    }
+
+    private static List<Progress> process(VideoProcessor processor, long intervalMillis) {
+        List<Progress> reports = new ArrayList<>();
+        processor.setProgressListener(reports::add, intervalMillis);
+        processor.processVideo(video, new File(dir, "out.csv"));
+        return reports;
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PyramidImageGroupFinder.
+ *
+ * Results are compared against a full-resolution search with FusedImageGroupFinder.
+ */
+public class PyramidImageGroupFinderTests {
+
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 240;
+    private static final int WHITE = TestFrames.WHITE;
+
+    private final EuclideanColorDistance distance = new EuclideanColorDistance();
+    private final ImageGroupFinder reference = new FusedImageGroupFinder(distance, WHITE, 10);
+    private final PyramidImageGroupFinder pyramid = new PyramidImageGroupFinder(distance, WHITE, 10);
+
+    @Test
+    public void testLargeBlobsMatchFullResolution() {
+        BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 13, 7, 41, 29);
+        TestFrames.fillRect(image, 200, 150, 60, 33);
+        TestFrames.fillRect(image, 301, 221, 19, 19); // touches the right and bottom edges
+        assertEquals(reference.findLargestGroups(image, 1), pyramid.findLargestGroups(image, 1));
+        assertEquals(reference.findLargestGroups(image, 3), pyramid.findLargestGroups(image, 3));
+    }
+
+    @Test
+    public void testIrregularShapesMatchFullResolution() {
+        // thin arms reach out of the blob's candidate blocks, so the border check must catch them
+        BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 100, 100, 30, 30);
+        TestFrames.fillRect(image, 130, 114, 120, 1);
+        TestFrames.fillRect(image, 114, 20, 1, 80);
+        TestFrames.fillRect(image, 10, 200, 4, 4);
+        assertEquals(reference.findLargestGroups(image, 1), pyramid.findLargestGroups(image, 1));
+        assertEquals(reference.findLargestGroups(image, 2), pyramid.findLargestGroups(image, 2));
+    }
+
+    @Test
+    public void testRandomBlobsMatchFullResolution() {
+        Random random = new Random(15);
+        for (int trial = 0; trial < 50; trial++) {
+            BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+            int blobs = 1 + random.nextInt(6);
+            for (int i = 0; i < blobs; i++) {
+                int size = 4 + random.nextInt(40);
+                TestFrames.fillRect(image, random.nextInt(WIDTH - 4), random.nextInt(HEIGHT - 4), size, 4 + random.nextInt(40));
+            }
+            assertEquals(reference.findLargestGroups(image, 1), pyramid.findLargestGroups(image, 1),
+                "Trial " + trial + " differs from a full-resolution search");
+        }
+    }
+
+    @Test
+    public void testSpecksBetweenSamplesMayBeMissed() {
+        // a group with no factor x factor square can fall between the sampled pixels
+        BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 0, 0, 1, 1);
+        assertEquals(1, reference.findLargestGroups(image, 1).size());
+        assertEquals(List.of(), pyramid.findLargestGroups(image, 1));
+        assertEquals(List.of(), pyramid.findLargestGroups(TestFrames.blank(WIDTH, HEIGHT), 1));
+
+        // findConnectedGroups always searches at full resolution
+        assertEquals(reference.findConnectedGroups(image), pyramid.findConnectedGroups(image));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> pyramid.findLargestGroups(TestFrames.blank(WIDTH, HEIGHT), -1));
+        assertThrows(IllegalArgumentException.class, () -> new PyramidImageGroupFinder(rgb -> true, 1));
+    }
+
+    @Test
+    public void testFactoryCreatesPyramidFinder() {
+        ImageGroupFinder finder = new GroupFinderFactory().createImageFinder("pyramid", distance, WHITE, 10);
+        assertInstanceOf(PyramidImageGroupFinder.class, finder);
+    }
+}
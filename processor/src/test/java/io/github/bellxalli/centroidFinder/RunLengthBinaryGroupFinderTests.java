@@ -0,0 +1,75 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for RunLengthBinaryGroupFinder.
+ *
+ * The finder must give exactly the same groups, in the same order, as DfsBinaryGroupFinder,
+ * so most tests compare the two on the same input.
+ */
+public class RunLengthBinaryGroupFinderTests {
+
+    private final BinaryGroupFinder finder = new RunLengthBinaryGroupFinder();
+    private final BinaryGroupFinder reference = new DfsBinaryGroupFinder();
+
+    @Test
+    public void testRunsTouchingOnlyDiagonallyStaySeparate() {
+        int[][] image = {
+            {1, 1, 0, 0},
+            {0, 0, 1, 1}
+        };
+        assertEquals(2, finder.findConnectedGroups(image).size());
+    }
+
+    @Test
+    public void testOneRunBridgesSeveralRunsAbove() {
+        int[][] image = {
+            {1, 0, 1, 0, 1},
+            {1, 1, 1, 1, 1}
+        };
+        List<Group> groups = finder.findConnectedGroups(image);
+        // x sum = 0+2+4 + 0+1+2+3+4 = 16, y sum = 5 -> centroid (2, 0)
+        assertEquals(List.of(new Group(8, new Coordinate(2, 0))), groups);
+    }
+
+    @Test
+    public void testRunsEndingAtWordAndRowBoundaries() {
+        int[][] image = new int[3][130];
+        for (int x = 60; x < 130; x++) image[0][x] = 1;  // crosses a word boundary and ends at the row end
+        for (int x = 0; x < 64; x++) image[1][x] = 1;    // ends exactly at a word boundary
+        image[2][129] = 1;                               // lone pixel in the last column
+        assertEquals(reference.findConnectedGroups(image), finder.findConnectedGroups(image));
+    }
+
+    @Test
+    public void testMatchesDfsOnRandomImages() {
+        Random random = new Random(334);
+        for (int trial = 0; trial < 200; trial++) {
+            int width = 1 + random.nextInt(150);
+            int height = 1 + random.nextInt(60);
+            int percentWhite = random.nextInt(101);
+            int[][] image = new int[height][width];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    image[y][x] = random.nextInt(100) < percentWhite ? 1 : 0;
+                }
+            }
+            assertEquals(reference.findConnectedGroups(image), finder.findConnectedGroups(image),
+                "Groups differ from DfsBinaryGroupFinder on trial " + trial);
+        }
+    }
+
+    @Test
+    public void testInvalidInputsThrowLikeDfs() {
+        assertThrows(NullPointerException.class, () -> finder.findConnectedGroups(new int[][] {null}));
+        assertThrows(IllegalArgumentException.class, () -> finder.findConnectedGroups(new int[][] {{1, 0}, {1}}));
+        assertThrows(IllegalArgumentException.class, () -> finder.findConnectedGroups(new int[][] {{-1}}));
+        assertTrue(finder.findConnectedGroups(new int[0][]).isEmpty());
+    }
+}
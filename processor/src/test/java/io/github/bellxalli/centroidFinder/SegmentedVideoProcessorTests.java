@@ -0,0 +1,80 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for SegmentedVideoProcessor.
+ *
+ * The generated test video has a keyframe every 25 frames, so it can be split into up
+ * to four segments. Every split must give exactly the same CSV as VideoProcessor.
+ */
+public class SegmentedVideoProcessorTests {
+
+    @TempDir
+    static File dir;
+
+    private static File video;
+
+    private final ImageGroupFinder finder = new FusedImageGroupFinder(new EuclideanColorDistance(), TestVideos.WHITE, 100);
+
+    @BeforeAll
+    public static void writeVideo() throws IOException {
+        video = TestVideos.movingSquare(new File(dir, "square.mp4"), 90, 25);
+    }
+
+    @Test
+    public void testMatchesSequentialOutput() throws IOException {
+        String expected = run(new VideoProcessor(finder), "sequential.csv");
+        assertEquals(91, expected.lines().count(), "Expected a header and one row per frame");
+
+        for (int segments : new int[] {1, 2, 3, 4, 16}) {
+            assertEquals(expected, run(new SegmentedVideoProcessor(finder, segments), "segmented.csv"),
+                "CSV differs with " + segments + " segments");
+        }
+    }
+
+    @Test
+    public void testTrackingFinderFallsBackToSequential() throws IOException {
+        ImageGroupFinder tracker = new TrackingImageGroupFinder(new EuclideanColorDistance(), TestVideos.WHITE, 100);
+        assertEquals(run(new VideoProcessor(finder), "sequential.csv"),
+                     run(new SegmentedVideoProcessor(tracker, 4), "segmented.csv"));
+    }
+
+    @Test
+    public void testSegmentStartsAreKeyframesNearEvenShares() {
+        int[] keyframes = {0, 25, 50, 75};
+        assertArrayEquals(new int[] {0}, SegmentedVideoProcessor.segmentStarts(keyframes, 90, 1));
+        assertArrayEquals(new int[] {0, 50}, SegmentedVideoProcessor.segmentStarts(keyframes, 90, 2));
+        assertArrayEquals(new int[] {0, 50, 75}, SegmentedVideoProcessor.segmentStarts(keyframes, 90, 3));
+        assertArrayEquals(new int[] {0, 25, 50, 75}, SegmentedVideoProcessor.segmentStarts(keyframes, 90, 100));
+    }
+
+    @Test
+    public void testSegmentStartsWithoutKeyframes() {
+        assertArrayEquals(new int[] {0}, SegmentedVideoProcessor.segmentStarts(null, 90, 4));
+        assertArrayEquals(new int[] {0}, SegmentedVideoProcessor.segmentStarts(new int[] {0}, 90, 4));
+        assertArrayEquals(new int[] {0}, SegmentedVideoProcessor.segmentStarts(new int[] {0, 25}, 0, 4));
+    }
+
+    @Test
+    public void testInvalidSettingsAndNullArgs() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedVideoProcessor(finder, 0));
+        assertDoesNotThrow(() -> new SegmentedVideoProcessor(finder).processVideo(null, null));
+        assertThrows(RuntimeException.class,
+            () -> new SegmentedVideoProcessor(finder, 2).processVideo(new File(dir, "missing.mp4"), new File(dir, "out.csv")));
+    }
+
+    private static String run(VideoProcessor processor, String name) throws IOException {
+        File csv = new File(dir, name);
+        processor.processVideo(video, csv);
+        return Files.readString(csv.toPath());
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.bellxalli.centroidFinder.StageProfiler.Stage;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for StageProfiler, its LatencyHistogram, and profiled VideoProcessor runs.
+ */
+public class StageProfilerTests {
+
+    @TempDir
+    static File dir;
+
+    private static File video;
+
+    private final EuclideanColorDistance distance = new EuclideanColorDistance();
+
+    @BeforeAll
+    public static void writeVideo() throws IOException {
+        video = TestVideos.movingSquare(new File(dir, "moving.mp4"), 30, 25);
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+        for (long value = 1; value <= 100_000; value++)
+            histogram.record(value * 1000);
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000_000, histogram.max());
+        assertEquals(50_000_500.0, histogram.mean(), 1e-6);
+        assertEquals(50_000_000, histogram.percentile(50), 50_000_000 / 32.0);
+        assertEquals(99_000_000, histogram.percentile(99), 99_000_000 / 32.0);
+        assertEquals(100_000_000, histogram.percentile(100));
+
+        // small values are exact, negative ones count as 0
+        LatencyHistogram small = new LatencyHistogram();
+        small.record(7);
+        small.record(-3);
+        assertEquals(0, small.percentile(50));
+        assertEquals(7, small.percentile(100));
+    }
+
+    @Test
+    public void testProfiledRunTimesEveryStage() throws IOException {
+        ImageGroupFinder finder = new BinarizingImageGroupFinder(
+            new DistanceImageBinarizer(distance, TestVideos.WHITE, 50), new DfsBinaryGroupFinder());
+        StageProfiler profiler = new StageProfiler();
+        String profiled = run(new VideoProcessor(finder), profiler);
+
+        assertEquals(run(new VideoProcessor(finder), null), profiled, "Profiling must not change the results");
+        assertEquals(30, profiler.getFrames());
+        for (Stage stage : List.of(Stage.DECODE, Stage.CONVERT, Stage.BINARIZE, Stage.LABEL, Stage.WRITE)) {
+            assertEquals(30, profiler.getCount(stage), stage.key());
+            assertTrue(profiler.getTotalNanos(stage) > 0, stage.key());
+            assertTrue(profiler.getPercentileNanos(stage, 50) <= profiler.getPercentileNanos(stage, 99), stage.key());
+        }
+        assertEquals(0, profiler.getCount(Stage.ANALYZE));
+
+        String json = profiler.toJson();
+        assertTrue(json.contains("\"frames\": 30,"), json);
+        assertTrue(json.contains("\"binarize\": {\"count\": 30,"), json);
+        assertFalse(json.contains("\"analyze\""), json);
+    }
+
+    @Test
+    public void testFusedAndYuvFinders() throws IOException {
+        StageProfiler fused = new StageProfiler();
+        run(new VideoProcessor(new FusedImageGroupFinder(distance, TestVideos.WHITE, 50)), fused);
+        assertEquals(30, fused.getCount(Stage.CONVERT));
+        assertEquals(30, fused.getCount(Stage.ANALYZE));
+        assertEquals(0, fused.getCount(Stage.BINARIZE));
+
+        PictureGroupFinder yuvFinder = new BinarizingPictureGroupFinder(
+            new YuvPictureBinarizer(distance, TestVideos.WHITE, 50), new RunLengthBinaryGroupFinder());
+        StageProfiler yuv = new StageProfiler();
+        String profiled = run(new VideoProcessor(yuvFinder), yuv);
+        assertEquals(run(new VideoProcessor(yuvFinder), null), profiled);
+        assertEquals(0, yuv.getCount(Stage.CONVERT));
+        assertEquals(30, yuv.getCount(Stage.BINARIZE));
+        assertEquals(30, yuv.getCount(Stage.LABEL));
+    }
+
+    @Test
+    public void testFrameEventsAreRecorded() throws IOException {
+        File recording = new File(dir, "frames.jfr");
+        try (Recording jfr = new Recording()) {
+            jfr.enable(FrameEvent.class);
+            jfr.start();
+            run(new VideoProcessor(new FusedImageGroupFinder(distance, TestVideos.WHITE, 50)), new StageProfiler());
+            jfr.stop();
+            jfr.dump(recording.toPath());
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recording.toPath()).stream()
+            .filter(event -> event.getEventType().getName().equals("io.github.bellxalli.centroidFinder.Frame"))
+            .toList();
+        assertEquals(30, events.size());
+        assertTrue(events.stream().allMatch(event -> event.getLong("analyze") > 0 && event.getLong("binarize") == 0));
+    }
+
+    private static String run(VideoProcessor processor, StageProfiler profiler) throws IOException {
+        File csv = new File(dir, "out.csv");
+        processor.setProfiler(profiler);
+        processor.processVideo(video, csv);
+        return Files.readString(csv.toPath());
+    }
+}
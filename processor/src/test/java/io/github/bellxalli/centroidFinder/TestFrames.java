@@ -0,0 +1,35 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws synthetic frames for the image group finder tests: white rectangles on a black
+ * background, in the TYPE_3BYTE_BGR layout that decoded video frames have.
+ */
+final class TestFrames {
+
+    static final int WHITE = 0xFFFFFF;
+
+    private TestFrames() {}
+
+    /**
+     * @param width the frame's width
+     * @param height the frame's height
+     * @return an all-black frame
+     */
+    static BufferedImage blank(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+    }
+
+    /**
+     * Fills a rectangle of the image with white.
+     */
+    static void fillRect(BufferedImage image, int x, int y, int width, int height) {
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(WHITE));
+        g.fillRect(x, y, width, height);
+        g.dispose();
+    }
+}
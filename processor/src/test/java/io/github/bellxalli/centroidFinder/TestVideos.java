@@ -0,0 +1,77 @@
+package io.github.bellxalli.centroidFinder;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import org.jcodec.api.awt.AWTSequenceEncoder;
+
+/**
+ * Writes small synthetic MP4 videos for tests that need real decoding.
+ *
+ * Every video shows a white square moving over a black background, and every tenth
+ * frame shows no square at all so the "-1,-1" rows are exercised too.
+ */
+final class TestVideos {
+
+    static final int WHITE = 0xFFFFFF;
+    static final int RED = 0xFF0000;
+    static final int GREEN = 0x00FF00;
+
+    private TestVideos() {}
+
+    /**
+     * Encodes a video of the moving square.
+     *
+     * @param file where to write the MP4
+     * @param frames the number of frames
+     * @param fps the frame rate
+     * @return the file
+     */
+    static File movingSquare(File file, int frames, int fps) throws IOException {
+        AWTSequenceEncoder encoder = AWTSequenceEncoder.createSequenceEncoder(file, fps);
+        for (int i = 0; i < frames; i++) {
+            BufferedImage frame = new BufferedImage(96, 64, BufferedImage.TYPE_3BYTE_BGR);
+            if (i % 10 != 9) {
+                Graphics2D g = frame.createGraphics();
+                g.setColor(new Color(WHITE));
+                g.fillRect(4 + (i * 3) % 70, 8 + (i % 20), 16, 12);
+                g.dispose();
+            }
+            encoder.encodeImage(frame);
+        }
+        encoder.finish();
+        return file;
+    }
+
+    /**
+     * Encodes a video of a red and a green square moving in opposite directions, with the
+     * red one missing from every seventh frame and the green one from every fifth.
+     *
+     * @param file where to write the MP4
+     * @param frames the number of frames
+     * @param fps the frame rate
+     * @return the file
+     */
+    static File twoSquares(File file, int frames, int fps) throws IOException {
+        AWTSequenceEncoder encoder = AWTSequenceEncoder.createSequenceEncoder(file, fps);
+        for (int i = 0; i < frames; i++) {
+            BufferedImage frame = new BufferedImage(96, 64, BufferedImage.TYPE_3BYTE_BGR);
+            Graphics2D g = frame.createGraphics();
+            if (i % 7 != 6) {
+                g.setColor(new Color(RED));
+                g.fillRect(4 + (i * 3) % 60, 6, 14, 14);
+            }
+            if (i % 5 != 4) {
+                g.setColor(new Color(GREEN));
+                g.fillRect(74 - (i * 2) % 60, 38, 16, 12);
+            }
+            g.dispose();
+            encoder.encodeImage(frame);
+        }
+        encoder.finish();
+        return file;
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for ThresholdSweep and ThresholdSweepProcessor.
+ *
+ * At every threshold the sweep must find exactly the largest group that a finder built for
+ * that threshold finds, ties included.
+ */
+public class ThresholdSweepProcessorTests {
+
+    @TempDir
+    static File dir;
+
+    private static File video;
+
+    private final EuclideanColorDistance distance = new EuclideanColorDistance();
+
+    @BeforeAll
+    public static void writeVideo() throws IOException {
+        video = TestVideos.movingSquare(new File(dir, "square.mp4"), 30, 25);
+    }
+
+    @Test
+    public void testSweepMatchesFinderAtEveryThreshold() {
+        int[] thresholds = {0, 1, 5, 20, 60, 61, 100, 150, 255, 300, 442, 1000};
+        ThresholdSweep sweep = new ThresholdSweep(distance, 0x808080, thresholds);
+        Group[] largest = new Group[thresholds.length];
+        Random random = new Random(20);
+
+        for (int frame = 0; frame < 12; frame++) {
+            // few distinct colors, so groups of every size and plenty of ties appear
+            int width = 20 + random.nextInt(60);
+            int height = 10 + random.nextInt(40);
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+            int[] palette = {0x808080, 0x818181, 0x908070, 0x404040, 0xFFFFFF, 0x000000, 0x80FF80};
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    image.setRGB(x, y, palette[random.nextInt(frame % 2 == 0 ? palette.length : 3)]);
+                }
+            }
+
+            sweep.findLargest(image, largest);
+            for (int t = 0; t < thresholds.length; t++) {
+                List<Group> expected = new FusedImageGroupFinder(distance, 0x808080, thresholds[t]).findLargestGroups(image, 1);
+                assertEquals(expected.isEmpty() ? null : expected.get(0), largest[t],
+                    "Frame " + frame + " differs at threshold " + thresholds[t]);
+            }
+        }
+    }
+
+    @Test
+    public void testFrameOutputsMatchVideoProcessor() throws IOException {
+        int[] thresholds = {150, 20, 100, 20};
+        List<File> outputs = new ArrayList<>();
+        for (int i = 0; i < thresholds.length; i++) outputs.add(new File(dir, "sweep-" + i + ".csv"));
+        ThresholdSweepProcessor processor = new ThresholdSweepProcessor(distance, TestVideos.WHITE, thresholds);
+        List<ThresholdSummary> summaries = processor.processVideo(video, new File(dir, "summary.csv"), outputs);
+
+        assertEquals(thresholds.length, summaries.size());
+        for (int i = 0; i < thresholds.length; i++) {
+            File single = new File(dir, "single.csv");
+            new VideoProcessor(new FusedImageGroupFinder(distance, TestVideos.WHITE, thresholds[i])).processVideo(video, single);
+            String expected = Files.readString(single.toPath());
+            assertEquals(expected, Files.readString(outputs.get(i).toPath()), "Threshold " + thresholds[i] + " differs");
+
+            ThresholdSummary summary = summaries.get(i);
+            assertEquals(thresholds[i], summary.threshold());
+            assertEquals(30, summary.frames());
+            assertEquals(expected.lines().skip(1).filter(line -> !line.endsWith(",-1,-1")).count(), summary.framesWithGroup());
+        }
+        // every tenth frame has no square
+        assertEquals(27, summaries.get(0).framesWithGroup());
+        assertTrue(summaries.get(0).minSize() > 0 && summaries.get(0).minSize() <= summaries.get(0).maxSize());
+    }
+
+    @Test
+    public void testSummaryCsv() throws IOException {
+        File summary = new File(dir, "summary.csv");
+        List<ThresholdSummary> summaries = new ThresholdSweepProcessor(distance, TestVideos.WHITE, 100, -1).processVideo(video, summary);
+        List<String> lines = Files.readAllLines(summary.toPath());
+        assertEquals(ThresholdSummary.CSV_HEADER.trim(), lines.get(0));
+        assertEquals(summaries.get(0).toCsvRow(), lines.get(1));
+        // no distance is negative, so nothing is ever found below 0
+        assertEquals("-1,30,0,0.000,0,0,0.000", lines.get(2));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ThresholdSweepProcessor(distance, TestVideos.WHITE));
+        assertThrows(IllegalArgumentException.class, () -> new ThresholdSweepProcessor(distance, TestVideos.WHITE, 10, 20)
+            .processVideo(video, new File(dir, "s.csv"), List.of(new File(dir, "one.csv"))));
+        assertTrue(new ThresholdSweepProcessor(distance, TestVideos.WHITE, 10).processVideo(null, null).isEmpty());
+    }
+
+    @Test
+    public void testThresholdListsAndRanges() {
+        ValidateVideo validate = new ValidateVideo();
+        assertArrayEquals(new int[] {20, 40, 80}, validate.validateThresholds("20, 40,80"));
+        assertArrayEquals(new int[] {20, 60, 100}, validate.validateThresholds("20:100:40"));
+        assertArrayEquals(new int[] {5}, validate.validateThresholds("5:5:1"));
+        assertNull(validate.validateThresholds("20:10:5"));
+        assertNull(validate.validateThresholds("1:10:0"));
+        assertNull(validate.validateThresholds("ten"));
+        assertNull(validate.validateThresholds("0:2000000000:1"), "A huge range must be rejected, not allocated");
+        assertEquals(ValidateVideo.MAX_THRESHOLDS, validate.validateThresholds("0:" + (ValidateVideo.MAX_THRESHOLDS - 1) + ":1").length);
+        assertNull(validate.validateThresholds("0:" + ValidateVideo.MAX_THRESHOLDS + ":1"));
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the top-K API (findLargestGroups) and the TopGroups heap behind it.
+ *
+ * findLargestGroups must always return exactly the first k groups of findConnectedGroups,
+ * so the tests compare every finder against that on the same input.
+ */
+public class TopGroupsTests {
+
+    private final List<BinaryGroupFinder> finders = List.of(
+        new DfsBinaryGroupFinder(),
+        new UnionFindBinaryGroupFinder(),
+        new RunLengthBinaryGroupFinder(),
+        new ParallelBinaryGroupFinder(3)
+    );
+
+    @Test
+    public void testHeapKeepsGreatestInDescendingOrder() {
+        TopGroups top = new TopGroups(3);
+        top.offer(5, 1, 1);
+        top.offer(9, 0, 0);
+        top.offer(5, 2, 0);
+        top.offer(1, 7, 7);
+        top.offer(5, 1, 2);
+        assertEquals(List.of(
+            new Group(9, new Coordinate(0, 0)),
+            new Group(5, new Coordinate(2, 0)),
+            new Group(5, new Coordinate(1, 2))
+        ), top.toList());
+    }
+
+    @Test
+    public void testHeapWithZeroCapacityKeepsNothing() {
+        TopGroups top = new TopGroups(0);
+        top.offer(5, 1, 1);
+        assertTrue(top.toList().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new TopGroups(-1));
+    }
+
+    @Test
+    public void testLargestGroupMatchesFirstOfFullListOnRandomImages() {
+        Random random = new Random(334);
+        for (int trial = 0; trial < 150; trial++) {
+            int width = 1 + random.nextInt(120);
+            int height = 1 + random.nextInt(140);
+            int percentWhite = random.nextInt(101);
+            BinaryMask mask = new PackedBinaryMask(width, height);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    if (random.nextInt(100) < percentWhite) mask.set(x, y, true);
+                }
+            }
+
+            List<Group> all = finders.get(0).findConnectedGroups(mask);
+            for (int k : new int[] {0, 1, 3, all.size() + 2}) {
+                List<Group> expected = all.subList(0, Math.min(k, all.size()));
+                for (BinaryGroupFinder finder : finders) {
+                    assertEquals(expected, finder.findLargestGroups(mask, k),
+                        finder.getClass().getSimpleName() + " differs on trial " + trial + " with k = " + k);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHugeKReturnsEveryGroup() {
+        // isolated pixels on every other row and column: 50 groups, more than the heap starts with
+        BinaryMask mask = new PackedBinaryMask(20, 20);
+        for (int y = 0; y < 20; y += 2) {
+            for (int x = 0; x < 20; x += 4) mask.set(x, y, true);
+        }
+        List<Group> all = finders.get(0).findConnectedGroups(mask);
+        assertEquals(50, all.size());
+        for (BinaryGroupFinder finder : finders) {
+            assertEquals(all, finder.findLargestGroups(mask, Integer.MAX_VALUE), finder.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void testDefaultAdapterTakesPrefixOfFullList() {
+        // only implements the int[][] method, so every other method goes through the defaults
+        BinaryGroupFinder fake = image -> List.of(
+            new Group(4, new Coordinate(1, 1)),
+            new Group(2, new Coordinate(0, 0))
+        );
+        assertEquals(List.of(new Group(4, new Coordinate(1, 1))), fake.findLargestGroups(new int[][] {{1}}, 1));
+        assertEquals(2, fake.findLargestGroups(new int[][] {{1}}, 5).size());
+        assertThrows(IllegalArgumentException.class, () -> fake.findLargestGroups(new int[][] {{1}}, -1));
+    }
+
+    @Test
+    public void testNegativeKThrows() {
+        BinaryMask mask = BinaryMask.fromArray(new int[][] {{1, 0, 1}});
+        for (BinaryGroupFinder finder : finders) {
+            assertThrows(IllegalArgumentException.class, () -> finder.findLargestGroups(mask, -1));
+        }
+    }
+
+    @Test
+    public void testImageFindersReturnLargestGroup() {
+        BufferedImage image = new BufferedImage(6, 3, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFFFFFF);
+        for (int x = 2; x < 6; x++) image.setRGB(x, 2, 0xFFFFFF);
+
+        EuclideanColorDistance distance = new EuclideanColorDistance();
+        List<ImageGroupFinder> imageFinders = List.of(
+            new FusedImageGroupFinder(distance, 0xFFFFFF, 10),
+            new BinarizingImageGroupFinder(new DistanceImageBinarizer(distance, 0xFFFFFF, 10), new RunLengthBinaryGroupFinder())
+        );
+        for (ImageGroupFinder finder : imageFinders) {
+            assertEquals(List.of(new Group(4, new Coordinate(3, 2))), finder.findLargestGroups(image, 1));
+            assertEquals(finder.findConnectedGroups(image), finder.findLargestGroups(image, 10));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TrackingImageGroupFinder.
+ *
+ * Each test plays a short synthetic "video" of a white blob moving over a black frame and
+ * compares every frame against a full-frame search with FusedImageGroupFinder.
+ */
+public class TrackingImageGroupFinderTests {
+
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 480;
+    private static final int WHITE = TestFrames.WHITE;
+
+    private final EuclideanColorDistance distance = new EuclideanColorDistance();
+    private final ImageGroupFinder reference = new FusedImageGroupFinder(distance, WHITE, 10);
+
+    @Test
+    public void testMatchesFullFrameWhileTargetMovesSlowly() {
+        TrackingImageGroupFinder tracker = new TrackingImageGroupFinder(distance, WHITE, 10);
+        for (int frame = 0; frame < 60; frame++) {
+            BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+            TestFrames.fillRect(image, 100 + frame * 5, 200 + frame * 2, 30, 20);
+            TestFrames.fillRect(image, 600, 20, 3, 3); // a small distractor far away
+            assertEquals(reference.findLargestGroups(image, 1), tracker.findLargestGroups(image, 1),
+                "Frame " + frame + " differs from a full-frame search");
+        }
+
+        assertEquals(1, tracker.getFullFrameSearches());
+        assertEquals(59, tracker.getWindowSearches());
+        // 60 full frames would be 60 * 640 * 480 pixels; tracking searches far less
+        assertTrue(tracker.getPixelsSearched() * 10 < 60L * WIDTH * HEIGHT,
+            "Searched " + tracker.getPixelsSearched() + " pixels");
+    }
+
+    @Test
+    public void testFallsBackWhenTargetJumpsOrDisappears() {
+        TrackingImageGroupFinder tracker = new TrackingImageGroupFinder(distance, WHITE, 10);
+        BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 50, 50, 20, 20);
+        assertEquals(reference.findLargestGroups(image, 1), tracker.findLargestGroups(image, 1));
+
+        // the target jumps across the frame, far outside the window
+        image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 500, 400, 20, 20);
+        assertEquals(reference.findLargestGroups(image, 1), tracker.findLargestGroups(image, 1));
+
+        // nothing at all
+        assertEquals(List.of(), tracker.findLargestGroups(TestFrames.blank(WIDTH, HEIGHT), 1));
+
+        // found again after being lost
+        image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 300, 10, 20, 20);
+        assertEquals(reference.findLargestGroups(image, 1), tracker.findLargestGroups(image, 1));
+        assertEquals(4, tracker.getFullFrameSearches());
+    }
+
+    @Test
+    public void testFallsBackWhenGroupGrowsPastWindow() {
+        TrackingImageGroupFinder tracker = new TrackingImageGroupFinder(distance, WHITE, 10);
+        BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 200, 200, 10, 10);
+        tracker.findLargestGroups(image, 1);
+
+        // the blob now reaches far beyond the window on the right
+        image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 200, 200, 300, 10);
+        assertEquals(reference.findLargestGroups(image, 1), tracker.findLargestGroups(image, 1));
+        assertEquals(2, tracker.getFullFrameSearches());
+    }
+
+    @Test
+    public void testLargerGroupCutByWindowForcesFullSearch() {
+        TrackingImageGroupFinder tracker = new TrackingImageGroupFinder(distance, WHITE, 10);
+        BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 200, 200, 10, 10);
+        tracker.findLargestGroups(image, 1);
+
+        // a much larger blob enters the window from below
+        image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 200, 200, 10, 10);
+        TestFrames.fillRect(image, 150, 220, 100, 200);
+        assertEquals(reference.findLargestGroups(image, 1), tracker.findLargestGroups(image, 1));
+    }
+
+    @Test
+    public void testOtherQueriesSearchWholeFrame() {
+        TrackingImageGroupFinder tracker = new TrackingImageGroupFinder(distance, WHITE, 10);
+        BufferedImage image = TestFrames.blank(WIDTH, HEIGHT);
+        TestFrames.fillRect(image, 10, 10, 5, 5);
+        TestFrames.fillRect(image, 400, 300, 8, 8);
+        assertEquals(reference.findConnectedGroups(image), tracker.findConnectedGroups(image));
+        assertEquals(reference.findLargestGroups(image, 2), tracker.findLargestGroups(image, 2));
+        assertThrows(IllegalArgumentException.class, () -> tracker.findLargestGroups(TestFrames.blank(WIDTH, HEIGHT), -1));
+        assertThrows(IllegalArgumentException.class, () -> new TrackingImageGroupFinder(rgb -> true, -1, true));
+    }
+
+    @Test
+    public void testFactoryCreatesTrackingFinder() {
+        ImageGroupFinder finder = new GroupFinderFactory().createImageFinder("tracking", distance, WHITE, 10);
+        assertInstanceOf(TrackingImageGroupFinder.class, finder);
+    }
+}
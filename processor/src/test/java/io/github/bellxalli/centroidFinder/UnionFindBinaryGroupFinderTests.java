@@ -0,0 +1,82 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for UnionFindBinaryGroupFinder.
+ *
+ * The finder must give exactly the same groups, in the same order, as DfsBinaryGroupFinder,
+ * so most tests compare the two on the same input.
+ */
+public class UnionFindBinaryGroupFinderTests {
+
+    private final BinaryGroupFinder finder = new UnionFindBinaryGroupFinder();
+    private final BinaryGroupFinder reference = new DfsBinaryGroupFinder();
+
+    private static int[][] randomImage(Random random, int width, int height, int percentWhite) {
+        int[][] image = new int[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image[y][x] = random.nextInt(100) < percentWhite ? 1 : 0;
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testUShapeMergesLabelsIntoOneGroup() {
+        // the two arms get different provisional labels until the bottom row joins them
+        int[][] image = {
+            {1, 0, 1},
+            {1, 0, 1},
+            {1, 1, 1}
+        };
+        List<Group> groups = finder.findConnectedGroups(image);
+        assertEquals(List.of(new Group(7, new Coordinate(1, 1))), groups);
+    }
+
+    @Test
+    public void testStaircaseMergesManyLabels() {
+        int[][] image = {
+            {0, 0, 0, 1},
+            {0, 0, 1, 1},
+            {0, 1, 1, 0},
+            {1, 1, 0, 0}
+        };
+        assertEquals(reference.findConnectedGroups(image), finder.findConnectedGroups(image));
+        assertEquals(1, finder.findConnectedGroups(image).size());
+    }
+
+    @Test
+    public void testDiagonalPixelsAreSeparateGroups() {
+        int[][] image = {
+            {1, 0},
+            {0, 1}
+        };
+        assertEquals(2, finder.findConnectedGroups(image).size());
+    }
+
+    @Test
+    public void testMatchesDfsOnRandomImages() {
+        Random random = new Random(334);
+        for (int trial = 0; trial < 200; trial++) {
+            int[][] image = randomImage(random, 1 + random.nextInt(120), 1 + random.nextInt(60), random.nextInt(101));
+            assertEquals(reference.findConnectedGroups(image), finder.findConnectedGroups(image),
+                "Groups differ from DfsBinaryGroupFinder on trial " + trial);
+        }
+    }
+
+    @Test
+    public void testInvalidInputsThrowLikeDfs() {
+        assertThrows(NullPointerException.class, () -> finder.findConnectedGroups((int[][]) null));
+        assertThrows(NullPointerException.class, () -> finder.findConnectedGroups(new int[][] {{1}, null}));
+        assertThrows(IllegalArgumentException.class, () -> finder.findConnectedGroups(new int[][] {{1, 0}, {1}}));
+        assertThrows(IllegalArgumentException.class, () -> finder.findConnectedGroups(new int[][] {{3}}));
+        assertTrue(finder.findConnectedGroups(new int[0][]).isEmpty());
+    }
+}
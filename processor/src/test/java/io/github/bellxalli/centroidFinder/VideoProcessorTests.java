@@ -2,8 +2,10 @@ package io.github.bellxalli.centroidFinder;
 
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.awt.image.BufferedImage;
@@ -139,5 +141,46 @@ public class VideoProcessorTests {
         assertDoesNotThrow(() -> vp.processVideo(null, null),
                 "ProcessVideo should not crash when given null inputs");
     }
-    
+
+    // -----------------------------------------------------
+    // TEST: Fields seen by subclasses with each constructor
+    // -----------------------------------------------------
+    @Test
+    public void testFieldsFromImageGroupFinderConstructor() {
+        DistanceImageBinarizer binarizer = new DistanceImageBinarizer(new EuclideanColorDistance(), 0xFFFFFF, 10);
+        DfsBinaryGroupFinder finder = new DfsBinaryGroupFinder();
+
+        VideoProcessor binarizing = new VideoProcessor(new BinarizingImageGroupFinder(binarizer, finder));
+        assertSame(binarizer, binarizing.binarizer);
+        assertSame(finder, binarizing.groupFinder);
+
+        VideoProcessor fused = new VideoProcessor(new FusedImageGroupFinder(new EuclideanColorDistance(), 0xFFFFFF, 10));
+        assertNull(fused.binarizer, "A fused finder has no separate binarizer");
+        assertNull(fused.groupFinder, "A fused finder has no separate group finder");
+    }
+
+    // -----------------------------------------------------
+    // TEST: A writer that fails to close fails the run
+    // -----------------------------------------------------
+    @Test
+    public void testCloseFailureIsReported(@TempDir File dir) throws IOException {
+        File video = TestVideos.movingSquare(new File(dir, "square.mp4"), 5, 25);
+        VideoProcessor vp = new VideoProcessor(new FusedImageGroupFinder(new EuclideanColorDistance(), 0xFFFFFF, 10)) {
+            @Override
+            ResultSink openResults(File output, double fps) {
+                return new ResultSink() {
+                    @Override
+                    public void writeFrame(int frameIndex, double timeInSeconds, int x, int y, int size) {}
+
+                    @Override
+                    public void close() throws IOException {
+                        throw new IOException("disk full");
+                    }
+                };
+            }
+        };
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> vp.processVideo(video, new File(dir, "out.csv")));
+        assertEquals("disk full", e.getCause().getMessage());
+    }
 }
@@ -0,0 +1,113 @@
+package io.github.bellxalli.centroidFinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.jcodec.common.model.ColorSpace;
+import org.jcodec.common.model.Picture;
+import org.jcodec.common.model.Rect;
+import org.jcodec.scale.AWTUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for YuvPictureBinarizer and BinarizingPictureGroupFinder.
+ *
+ * The binarizer must give exactly the same mask as converting the frame with AWTUtil and
+ * binarizing the BufferedImage with a DistanceImageBinarizer, so most tests compare the two.
+ */
+public class YuvPictureBinarizerTest {
+
+    private static final int TARGET = 0xFFA200;
+
+    private final EuclideanColorDistance distance = new EuclideanColorDistance();
+    private final YuvPictureBinarizer binarizer = new YuvPictureBinarizer(distance, TARGET, 60);
+    private final DistanceImageBinarizer reference = new DistanceImageBinarizer(distance, TARGET, 60);
+
+    @TempDir
+    File dir;
+
+    @Test
+    public void testMatchesRgbConversionOnYuv420() {
+        Picture picture = randomPicture(ColorSpace.YUV420, 64, 48, null, 1);
+        assertMatchesReference(picture);
+    }
+
+    @Test
+    public void testMatchesRgbConversionOnYuv420j() {
+        Picture picture = randomPicture(ColorSpace.YUV420J, 64, 48, null, 2);
+        assertMatchesReference(picture);
+    }
+
+    @Test
+    public void testMatchesRgbConversionOnCroppedPicture() {
+        // like a 1080p H.264 frame, which is decoded as 1088 rows and cropped at the bottom
+        Picture picture = randomPicture(ColorSpace.YUV420, 80, 64, new Rect(0, 0, 70, 50), 3);
+        BinaryMask mask = binarizer.toBinaryMask(picture);
+        assertEquals(70, mask.width());
+        assertEquals(50, mask.height());
+        assertMatchesReference(picture);
+    }
+
+    @Test
+    public void testApproximateModeOnlyAddsPixels() {
+        YuvPictureBinarizer approximate = new YuvPictureBinarizer(distance, TARGET, 60, false);
+        Picture picture = randomPicture(ColorSpace.YUV420, 128, 64, null, 4);
+        BinaryMask exact = binarizer.toBinaryMask(picture);
+        BinaryMask loose = approximate.toBinaryMask(picture);
+        for (int y = 0; y < exact.height(); y++) {
+            for (int x = 0; x < exact.width(); x++) {
+                if (exact.get(x, y)) assertTrue(loose.get(x, y), "Approximate mode lost pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    public void testOtherColorSpacesFallBackToRgbConversion() {
+        Picture picture = randomPicture(ColorSpace.YUV422, 32, 16, null, 5);
+        assertMatchesReference(picture);
+    }
+
+    @Test
+    public void testVideoProcessorGivesSameCsv() throws IOException {
+        File video = TestVideos.movingSquare(new File(dir, "square.mp4"), 30, 25);
+        VideoProcessor rgb = new VideoProcessor(new FusedImageGroupFinder(distance, TestVideos.WHITE, 100));
+        VideoProcessor yuv = new VideoProcessor(new BinarizingPictureGroupFinder(
+            new YuvPictureBinarizer(distance, TestVideos.WHITE, 100), new RunLengthBinaryGroupFinder()));
+
+        File expected = new File(dir, "rgb.csv");
+        File actual = new File(dir, "yuv.csv");
+        rgb.processVideo(video, expected);
+        yuv.processVideo(video, actual);
+        assertEquals(Files.readString(expected.toPath()), Files.readString(actual.toPath()));
+    }
+
+    private void assertMatchesReference(Picture picture) {
+        BinaryMask expected = reference.toBinaryMask(AWTUtil.toBufferedImage(picture));
+        BinaryMask actual = binarizer.toBinaryMask(picture);
+        assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+
+    /**
+     * Fills the planes with colors near the target so that the masks have plenty of
+     * white and black pixels, plus fully random samples.
+     */
+    private static Picture randomPicture(ColorSpace color, int width, int height, Rect crop, long seed) {
+        Picture picture = crop == null ? Picture.create(width, height, color) : Picture.createCropped(width, height, color, crop);
+        Random random = new Random(seed);
+        for (int plane = 0; plane < picture.getData().length; plane++) {
+            byte[] data = picture.getPlaneData(plane);
+            // Y near 170, U below and V above the middle: an orange that is near the target
+            int center = plane == 0 ? 170 - 128 : plane == 1 ? 20 - 128 : 180 - 128;
+            for (int i = 0; i < data.length; i++) {
+                int value = random.nextInt(4) == 0 ? random.nextInt(256) - 128 : center + random.nextInt(61) - 30;
+                data[i] = (byte) Math.max(-128, Math.min(127, value));
+            }
+        }
+        return picture;
+    }
+}
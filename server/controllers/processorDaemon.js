@@ -0,0 +1,196 @@
+/*
+ * This is the processorDaemon.js file.
+ * This file keeps one long-lived Java processor (ProcessorDaemon) running for the
+ * server, so a processing request doesn't pay for starting a JVM and warming it up
+ * every time. Jobs are written to the daemon's stdin and its replies are read from
+ * its stdout, one tab-separated line each:
+ *  JOB id video output targetColor threshold  ->  DONE id frames ms | FAILED id message
+ * with any number of PROGRESS id frames total fps eta finished lines in between.
+ * The functions in this file include:
+ *  submitJob() -runs a job on the daemon, starting it if needed
+ *  isDaemonAvailable() -whether jobs should be sent to the daemon at all
+ *  parseProgress() -reads the fields of a PROGRESS line
+ *
+ * The daemon runs the JAR it was started from even after that file is rebuilt, so
+ * submitJob() is told the hash of the JAR the job is meant for. A daemon started
+ * from another JAR is retired: it gets no more jobs, finishes the ones it has and
+ * exits, and a new daemon is started for the job.
+ *
+ * If the daemon can't be started or dies, submitJob() rejects with
+ * err.code === 'DAEMON_UNAVAILABLE' so the caller can fall back to spawning a
+ * one-off java process. Set PROCESSOR_DAEMON=off to never use the daemon.
+ *
+ * Authors: Xalli Bell and Emily Menken
+ * 2025
+*/
+
+import { spawn } from 'child_process';
+import readline from 'readline';
+
+const DAEMON_CLASS = 'io.github.bellxalli.centroidFinder.ProcessorDaemon';
+
+// how long to wait for READY before giving up on the daemon
+const START_TIMEOUT_MS = 30000;
+
+// after a failed start, spawn one-off processes for this long before trying again
+const RETRY_DELAY_MS = 60000;
+
+let daemon = null;        // the running child process
+let ready = null;         // resolves once the daemon has sent READY
+let daemonJarHash = null; // the hash of the JAR the daemon was started from
+let disabledUntil = 0;
+let nextId = 1;
+const pending = new Map(); // job id -> { child, resolve, reject, onProgress }
+
+function unavailable(message) {
+  const err = new Error(message);
+  err.code = 'DAEMON_UNAVAILABLE';
+  return err;
+}
+
+// ---------------------------
+// Daemon lifecycle
+// ---------------------------
+function startDaemon(jarPath, jarHash) {
+  const args = ['-cp', jarPath, DAEMON_CLASS];
+  if (process.env.PROCESSOR_THREADS) args.push(`--threads=${process.env.PROCESSOR_THREADS}`);
+
+  const child = spawn('java', args, { shell: false, stdio: ['pipe', 'pipe', 'pipe'] });
+  daemon = child;
+  daemonJarHash = jarHash;
+
+  ready = new Promise((resolve, reject) => {
+    const timer = setTimeout(() => reject(unavailable('Processor daemon did not start in time')), START_TIMEOUT_MS);
+
+    readline.createInterface({ input: child.stdout }).on('line', (line) => {
+      const [kind, id, ...rest] = line.split('\t');
+      if (kind === 'READY') {
+        clearTimeout(timer);
+        resolve();
+        return;
+      }
+
+      const job = pending.get(id);
+      if (!job) return;
+      if (kind === 'PROGRESS') {
+        if (job.onProgress) job.onProgress(parseProgress(rest));
+        return;
+      }
+      pending.delete(id);
+      if (kind === 'DONE') {
+        job.resolve({ frames: parseInt(rest[0]), millis: parseInt(rest[1]) });
+      } else {
+        job.reject(new Error(rest.join('\t') || 'Processing failed'));
+      }
+    });
+
+    child.stderr.on('data', (data) => {
+      console.error(`[Java daemon] ${data.toString().trim()}`);
+    });
+
+    // writing to a daemon that just died must not crash the server
+    child.stdin.on('error', (err) => {
+      console.error('Processor daemon stdin error:', err.message);
+    });
+
+    child.on('error', (err) => {
+      clearTimeout(timer);
+      reject(unavailable(`Failed to start processor daemon: ${err.message}`));
+    });
+
+    child.on('exit', (code) => {
+      clearTimeout(timer);
+      console.warn(`Processor daemon exited with code ${code}`);
+      reject(unavailable('Processor daemon exited'));
+      stopDaemon(child, 'Processor daemon exited');
+    });
+  });
+
+  // a daemon that never becomes ready is not retried for a while
+  ready.catch((err) => {
+    console.error(err.message);
+    disabledUntil = Date.now() + RETRY_DELAY_MS;
+    stopDaemon(child, err.message);
+  });
+}
+
+// forgets the daemon and hands its unfinished jobs back to the callers
+function stopDaemon(child, reason) {
+  if (daemon === child) {
+    daemon = null;
+    ready = null;
+  }
+  child.kill();
+  for (const [id, job] of pending) {
+    if (job.child !== child) continue;
+    pending.delete(id);
+    job.reject(unavailable(reason));
+  }
+}
+
+// sends the daemon no more jobs; it exits once the ones it has are finished
+function retireDaemon(child) {
+  if (daemon !== child) return;
+  daemon = null;
+  ready = null;
+  child.stdin.end();
+}
+
+// ---------------------------
+// Public API
+// ---------------------------
+
+/**
+ * Reads the fields of a PROGRESS line after its job id (or after PROGRESS itself
+ * for a one-off process): frames, total frames (-1 if unknown), frames per
+ * second, ETA in seconds (-1 if unknown) and whether processing has finished.
+ */
+export function parseProgress([frames, totalFrames, fps, etaSeconds, finished]) {
+  return {
+    frames: parseInt(frames),
+    totalFrames: parseInt(totalFrames),
+    fps: parseFloat(fps),
+    etaSeconds: parseFloat(etaSeconds),
+    finished: finished === '1'
+  };
+}
+
+export function isDaemonAvailable() {
+  return process.env.PROCESSOR_DAEMON !== 'off' && Date.now() >= disabledUntil;
+}
+
+/**
+ * Runs a job on the daemon, starting the daemon first if it isn't running or was
+ * started from a JAR other than the one jarHash (see hashFile) belongs to.
+ * Resolves with { frames, millis } once the output has been written, rejects with
+ * the processor's message if the job failed, or with code DAEMON_UNAVAILABLE if
+ * the daemon couldn't run it at all. onProgress, if given, is called with every
+ * progress report (see parseProgress) while the job runs.
+ */
+export async function submitJob(jarPath, jarHash, { inputPath, outputCsv, targetColor, threshold }, onProgress) {
+  if (!isDaemonAvailable()) throw unavailable('Processor daemon disabled');
+  if (daemon && daemonJarHash !== jarHash) {
+    console.log('Processor JAR changed, restarting the processor daemon');
+    retireDaemon(daemon);
+  }
+  if (!daemon) startDaemon(jarPath, jarHash);
+  const child = daemon;
+  await ready;
+  if (daemon !== child) throw unavailable('Processor daemon exited');
+
+  const id = String(nextId++);
+  const fields = ['JOB', id, inputPath, outputCsv, targetColor, String(threshold)];
+  if (fields.some((field) => /[\t\r\n]/.test(field))) {
+    throw new Error('Job fields must not contain tabs or line breaks');
+  }
+
+  return new Promise((resolve, reject) => {
+    pending.set(id, { child, resolve, reject, onProgress });
+    child.stdin.write(fields.join('\t') + '\n');
+  });
+}
+
+// don't leave the JVM running when the server stops
+process.on('exit', () => {
+  if (daemon) daemon.kill();
+});
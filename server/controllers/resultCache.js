@@ -0,0 +1,173 @@
+/*
+ * This is the resultCache.js file.
+ * This file keeps processed results on disk so that re-running a video with the same
+ * target color and threshold returns the earlier result instead of processing the
+ * video again. Results are keyed on a hash of the video's contents (not its name), the
+ * color, the threshold and a hash of the processor JAR, so a renamed video still hits
+ * and a rebuilt processor never serves stale results.
+ * The cache is bounded in size: once it grows past its limit, the least recently used
+ * results are deleted. Recency is kept in the files' modification times, so it
+ * survives restarts.
+ * The functions in this file include:
+ *  hashFile() -hashes a file's contents, such as the processor JAR's
+ *  keyFor() -computes the cache key of a processing request
+ *  lookup() -copies a cached result to its destination, if there is one
+ *  store() -adds a finished result to the cache
+ *  moveIntoPlace() -moves a finished file to where it is served from
+ *
+ * Authors: Xalli Bell and Emily Menken
+ * 2025
+*/
+
+import fs from 'fs';
+import path from 'path';
+import crypto from 'crypto';
+
+// hashes of files already read, so an unchanged video or JAR is only hashed once
+const fileHashes = new Map(); // path -> { size, mtimeMs, hash }
+
+/**
+ * Resolves with the SHA-256 of a file's contents, in hex. A file whose size and
+ * modification time haven't changed since it was last hashed isn't read again.
+ */
+export async function hashFile(filePath) {
+  const stat = await fs.promises.stat(filePath);
+  const known = fileHashes.get(filePath);
+  if (known && known.size === stat.size && known.mtimeMs === stat.mtimeMs) return known.hash;
+
+  const hash = await new Promise((resolve, reject) => {
+    const sha = crypto.createHash('sha256');
+    fs.createReadStream(filePath)
+      .on('data', (chunk) => sha.update(chunk))
+      .on('end', () => resolve(sha.digest('hex')))
+      .on('error', reject);
+  });
+  fileHashes.set(filePath, { size: stat.size, mtimeMs: stat.mtimeMs, hash });
+  return hash;
+}
+
+export class ResultCache {
+  /**
+   * @param dir the directory holding the cached results
+   * @param maxBytes the most the cached results may take up together
+   */
+  constructor(dir, maxBytes) {
+    this.dir = dir;
+    this.maxBytes = maxBytes;
+    this.entries = null; // key -> { size, lastUsed }, loaded on first use
+    this.loading = null;
+  }
+
+  /**
+   * Computes the key of a processing request: a hash of the video's contents, the
+   * target color, the threshold and processorHash, the hashFile() of the JAR that
+   * runs the request. That is the JAR the processor was started from, which is not
+   * always the one on disk now.
+   */
+  async keyFor(videoPath, processorHash, targetColor, threshold) {
+    const video = await hashFile(videoPath);
+    const request = JSON.stringify([video, processorHash, String(targetColor).toUpperCase(), Number(threshold)]);
+    return crypto.createHash('sha256').update(request).digest('hex');
+  }
+
+  /**
+   * Copies the cached result for key to destination and marks it as just used.
+   * Resolves true on a hit, false on a miss.
+   */
+  async lookup(key, destination) {
+    await this.load();
+    const entry = this.entries.get(key);
+    if (!entry) return false;
+
+    const file = this.fileFor(key);
+    try {
+      await copyAtomically(file, destination);
+      const now = new Date();
+      await fs.promises.utimes(file, now, now);
+      entry.lastUsed = now.getTime();
+      return true;
+    } catch (err) {
+      // deleted behind our back: forget it and process the video again
+      this.entries.delete(key);
+      return false;
+    }
+  }
+
+  /**
+   * Adds a finished result to the cache under key, then evicts the least recently
+   * used results until the cache fits its limit again.
+   */
+  async store(key, source) {
+    await this.load();
+    const file = this.fileFor(key);
+    await copyAtomically(source, file);
+    const { size } = await fs.promises.stat(file);
+    this.entries.set(key, { size, lastUsed: Date.now() });
+    await this.evict();
+  }
+
+  fileFor(key) {
+    return path.join(this.dir, `${key}.csv`);
+  }
+
+  // reads what is already cached, once, with the files' mtimes as their last use
+  load() {
+    if (!this.loading) {
+      this.loading = (async () => {
+        await fs.promises.mkdir(this.dir, { recursive: true });
+        const entries = new Map();
+        for (const name of await fs.promises.readdir(this.dir)) {
+          if (!/^[0-9a-f]{64}\.csv$/.test(name)) continue;
+          const stat = await fs.promises.stat(path.join(this.dir, name));
+          entries.set(name.slice(0, 64), { size: stat.size, lastUsed: stat.mtimeMs });
+        }
+        this.entries = entries;
+        await this.evict();
+      })();
+      // a failed load is retried on the next request
+      this.loading.catch(() => { this.loading = null; });
+    }
+    return this.loading;
+  }
+
+  async evict() {
+    let total = 0;
+    for (const entry of this.entries.values()) total += entry.size;
+    if (total <= this.maxBytes) return;
+
+    const oldestFirst = [...this.entries].sort((a, b) => a[1].lastUsed - b[1].lastUsed);
+    for (const [key, entry] of oldestFirst) {
+      if (total <= this.maxBytes) break;
+      this.entries.delete(key);
+      total -= entry.size;
+      await fs.promises.rm(this.fileFor(key), { force: true });
+    }
+  }
+}
+
+/**
+ * Moves a finished file to destination, which readers never see half-written.
+ * A rename if both are on the same file system, otherwise a copy and a delete.
+ */
+export async function moveIntoPlace(source, destination) {
+  try {
+    await fs.promises.rename(source, destination);
+  } catch (err) {
+    if (err.code !== 'EXDEV') throw err;
+    await copyAtomically(source, destination);
+    await fs.promises.rm(source, { force: true });
+  }
+}
+
+// readers never see a half-written file; the temp file is a dotfile, which static
+// file serving skips, for the moment it exists next to destination
+async function copyAtomically(source, destination) {
+  const temp = path.join(path.dirname(destination), `.${path.basename(destination)}.${crypto.randomUUID()}.tmp`);
+  try {
+    await fs.promises.copyFile(source, temp);
+    await fs.promises.rename(temp, destination);
+  } catch (err) {
+    await fs.promises.rm(temp, { force: true });
+    throw err;
+  }
+}
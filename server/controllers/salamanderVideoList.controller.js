@@ -6,14 +6,17 @@
  * The functions in this file include:
  *  Get list of available videos
  *  Get video thumbnail
- *  Run java based video processing pipeline
- *  Get job status 
+ *  Run java based video processing pipeline (on the resident processor daemon,
+ *  or in a one-off java process if the daemon is unavailable)
+ *  Get job status (with live progress: frames, total frames, fps and ETA)
+ *  Reuse earlier results of the same video, color and threshold from the result cache
  * 
  * Authors: Xalli Bell and Emily Menken
  * 2025
 */
 
 import fs from 'fs';
+import os from 'os';
 import path from 'path';
 import { v4 as uuidv4 } from 'uuid';
 import dotenv from 'dotenv';
@@ -21,6 +24,9 @@ import * as data from '../db/salamanderData.js';
 import ffmpeg from 'fluent-ffmpeg';
 import ffmpegPath from 'ffmpeg-static';
 import { spawn } from 'child_process';
+import readline from 'readline';
+import { submitJob, isDaemonAvailable, parseProgress } from './processorDaemon.js';
+import { ResultCache, hashFile, moveIntoPlace } from './resultCache.js';
 
 // Load .env file
 dotenv.config();
@@ -43,6 +49,28 @@ try {
   console.error("Failed to create or access results directory:", err);
 }
 
+// ---------------------------
+// Work directory, outside the /results tree the server hosts: jobs write their
+// output here until it is finished, and the result cache keeps its files here
+// ---------------------------
+const WORK_DIR = process.env.RESULT_WORK_DIR || path.join(os.tmpdir(), 'centroid-finder');
+const JOBS_DIR = path.join(WORK_DIR, 'jobs');
+try {
+  fs.mkdirSync(JOBS_DIR, { recursive: true });
+} catch (err) {
+  console.error("Failed to create or access work directory:", err);
+}
+
+// ---------------------------
+// Result cache: earlier results of the same video, color and threshold,
+// under RESULT_CACHE_DIR (default WORK_DIR/cache), at most
+// RESULT_CACHE_MAX_BYTES (default 512 MB)
+// ---------------------------
+const RESULT_CACHE_MAX_BYTES = parseInt(process.env.RESULT_CACHE_MAX_BYTES) || 512 * 1024 * 1024;
+const resultCache = process.env.RESULT_CACHE === 'off'
+  ? null
+  : new ResultCache(process.env.RESULT_CACHE_DIR || path.join(WORK_DIR, 'cache'), RESULT_CACHE_MAX_BYTES);
+
 // ---------------------------
 // Java processor JAR path
 // ---------------------------
@@ -142,46 +170,15 @@ export const respondStartProcess = (req, res) => {
     }
 
     const jobId = uuidv4();
-    jobs.set(jobId, { status: 'processing', filename });
-
-    console.log('Running Java command with:');
-    console.log('JAR:', JAR_PATH);
-    console.log('Input:', inputPath);
-    console.log('Output:', outputCsv);
-    console.log('TargetColor:', targetColor);
-    console.log('Threshold:', threshold);
-
-    const javaProcess = spawn('java', ['-jar', JAR_PATH, inputPath, outputCsv, targetColor, threshold], {
-      shell: false
-    });
-
-    javaProcess.on('error', (err) => {
-      console.error('Failed to start Java process:', err);
-      const job = jobs.get(jobId);
-      if (job) job.status = 'error';
-    });
-
-    javaProcess.stdout.on('data', (data) => {
-      console.log(`[Java stdout] ${data.toString().trim()}`);
-    });
-
-    javaProcess.stderr.on('data', (data) => {
-      console.error(`[Java stderr] ${data.toString()}`);
-    });
-
-    javaProcess.on('exit', (code) => {
-      console.log(`Java process exited with code ${code}`);
-      const job = jobs.get(jobId);
-
-      if (!job) return;
-
-      if (code === 0 && fs.existsSync(outputCsv)) {
-        job.status = 'done';
-        job.result = `/results/${filename}.csv`;
-      } else {
-        job.status = 'error';
-      }
-    });
+    jobs.set(jobId, { status: 'processing', filename, startedAt: Date.now(), progress: null });
+
+    // hashing a long video for the cache takes a while, so it happens after the reply
+    runJob(jobId, { filename, inputPath, outputCsv, targetColor, threshold })
+      .catch((err) => {
+        console.error(`Processing ${filename} failed:`, err);
+        const job = jobs.get(jobId);
+        if (job && job.status === 'processing') job.status = 'error';
+      });
 
     res.status(202).json({ jobId });
   } catch (err) {
@@ -190,6 +187,123 @@ export const respondStartProcess = (req, res) => {
   }
 };
 
+// ---------------------------
+// Run a job: reuse a cached result if there is one, otherwise process the video
+// ---------------------------
+async function runJob(jobId, { filename, inputPath, outputCsv, targetColor, threshold }) {
+  // the processor the job is meant for; a daemon started from another JAR is replaced
+  const jarHash = await hashFile(JAR_PATH);
+
+  // the same video, color and threshold were processed before: reuse that result
+  let cacheKey = null;
+  if (resultCache) {
+    try {
+      cacheKey = await resultCache.keyFor(inputPath, jarHash, targetColor, threshold);
+      if (await resultCache.lookup(cacheKey, outputCsv)) {
+        console.log(`Result cache hit for ${filename} (${targetColor}, ${threshold})`);
+        Object.assign(jobs.get(jobId), { status: 'done', result: `/results/${filename}.csv`, cached: true });
+        return;
+      }
+    } catch (err) {
+      console.warn('Result cache unavailable:', err.message);
+    }
+  }
+
+  console.log('Running Java command with:');
+  console.log('JAR:', JAR_PATH);
+  console.log('Input:', inputPath);
+  console.log('Output:', outputCsv);
+  console.log('TargetColor:', targetColor);
+  console.log('Threshold:', threshold);
+
+  // written under a name of its own, outside the hosted results, so a concurrent job
+  // on the same video can't mix its output into this one's (or into the cache)
+  const jobOutput = path.join(JOBS_DIR, `${jobId}.csv`).replace(/\\/g, '/');
+  const jobInput = { inputPath, outputCsv: jobOutput, targetColor, threshold };
+  const updateProgress = (progress) => {
+    const job = jobs.get(jobId);
+    if (job) job.progress = { ...progress, updatedAt: Date.now() };
+  };
+  const finishJob = async (ok) => {
+    const job = jobs.get(jobId);
+    if (!job || job.status !== 'processing') return;
+
+    if (!ok || !fs.existsSync(jobOutput)) {
+      job.status = 'error';
+      await fs.promises.rm(jobOutput, { force: true });
+      return;
+    }
+
+    // a one-off process runs whatever JAR is on disk when it starts, so a result is
+    // only cached if the JAR wasn't rebuilt while the job ran
+    if (cacheKey && await hashFile(JAR_PATH).catch(() => null) === jarHash) {
+      await resultCache.store(cacheKey, jobOutput)
+        .catch((err) => console.warn('Could not cache result:', err.message));
+    }
+    try {
+      await moveIntoPlace(jobOutput, outputCsv);
+      job.status = 'done';
+      job.result = `/results/${filename}.csv`;
+    } catch (err) {
+      console.error('Could not move result into place:', err);
+      job.status = 'error';
+    }
+  };
+
+  // the resident processor skips JVM startup; a one-off process is the fallback
+  if (isDaemonAvailable()) {
+    submitJob(JAR_PATH, jarHash, jobInput, updateProgress)
+      .then(({ frames, millis }) => {
+        console.log(`Processor daemon finished ${filename}: ${frames} frames in ${millis} ms`);
+        finishJob(true);
+      })
+      .catch((err) => {
+        if (err.code === 'DAEMON_UNAVAILABLE') {
+          console.warn('Processor daemon unavailable, spawning java instead:', err.message);
+          spawnJob(jobInput, updateProgress, finishJob);
+        } else {
+          console.error(`Processing ${filename} failed:`, err.message);
+          finishJob(false);
+        }
+      });
+  } else {
+    spawnJob(jobInput, updateProgress, finishJob);
+  }
+}
+
+// ---------------------------
+// Run one job in its own java process
+// ---------------------------
+function spawnJob({ inputPath, outputCsv, targetColor, threshold }, updateProgress, finishJob) {
+  const javaProcess = spawn('java', ['-jar', JAR_PATH, inputPath, outputCsv, targetColor, threshold, '--progress'], {
+    shell: false
+  });
+
+  javaProcess.on('error', (err) => {
+    console.error('Failed to start Java process:', err);
+    finishJob(false);
+  });
+
+  javaProcess.stdout.on('data', (data) => {
+    console.log(`[Java stdout] ${data.toString().trim()}`);
+  });
+
+  // progress reports arrive on stderr as PROGRESS lines; anything else is logged
+  readline.createInterface({ input: javaProcess.stderr }).on('line', (line) => {
+    const [kind, ...fields] = line.split('\t');
+    if (kind === 'PROGRESS') {
+      updateProgress(parseProgress(fields));
+    } else {
+      console.error(`[Java stderr] ${line}`);
+    }
+  });
+
+  javaProcess.on('exit', (code) => {
+    console.log(`Java process exited with code ${code}`);
+    finishJob(code === 0);
+  });
+}
+
 // ---------------------------
 // GET /process/:jobId/status
 // ---------------------------